@@ -0,0 +1,67 @@
+package ua.com.foxminded.carrestservice.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import ua.com.foxminded.carrestservice.dto.CarDTO;
+import ua.com.foxminded.carrestservice.dto.ModelDTO;
+import ua.com.foxminded.carrestservice.models.Brand;
+import ua.com.foxminded.carrestservice.models.Car;
+import ua.com.foxminded.carrestservice.models.Category;
+import ua.com.foxminded.carrestservice.models.Model;
+import ua.com.foxminded.carrestservice.repositories.views.CarView;
+import ua.com.foxminded.carrestservice.repositories.views.ModelView;
+import ua.com.foxminded.carrestservice.utils.DTOconverters.CarDTOConverter;
+import ua.com.foxminded.carrestservice.utils.DTOconverters.ModelDTOConverter;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConverterBenchmark {
+    private Car car;
+    private Model model;
+    private CarView carView;
+    private ModelView modelView;
+
+    @Setup
+    public void setUp() {
+        Brand brand = new Brand("Audi");
+        brand.setId(1L);
+        model = new Model("R8", brand, 2020);
+        model.setId(2L);
+        for (String name : Set.of("Convertible", "Coupe", "Sedan")) {
+            Category category = new Category(name);
+            model.getCategories().add(category);
+        }
+        car = new Car(3L, "UN-1234", model);
+
+        Set<String> categories = model.getCategories().stream().map(Category::getName).collect(Collectors.toSet());
+        carView = new CarView(3L, "UN-1234", 2L, "R8", 2020, "Audi", categories);
+        modelView = new ModelView(2L, "R8", 2020, "Audi", categories);
+    }
+
+    @Benchmark
+    public CarDTO carToDTO() {
+        return CarDTOConverter.convertToDTO(car);
+    }
+
+    @Benchmark
+    public CarDTO carViewToDTO() {
+        return CarDTOConverter.convertToDTO(carView);
+    }
+
+    @Benchmark
+    public ModelDTO modelToDTO() {
+        return ModelDTOConverter.convertToDTO(model);
+    }
+
+    @Benchmark
+    public ModelDTO modelViewToDTO() {
+        return ModelDTOConverter.convertToDTO(modelView);
+    }
+}
@@ -0,0 +1,113 @@
+package ua.com.foxminded.carrestservice.benchmarks;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.hibernate.Hibernate;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ua.com.foxminded.carrestservice.CarRestServiceApplication;
+import ua.com.foxminded.carrestservice.benchmarks.scale.DatasetGenerator;
+import ua.com.foxminded.carrestservice.benchmarks.scale.ScaleOptions;
+import ua.com.foxminded.carrestservice.dto.CarDTO;
+import ua.com.foxminded.carrestservice.dto.ModelDTO;
+import ua.com.foxminded.carrestservice.models.Car;
+import ua.com.foxminded.carrestservice.models.Model;
+import ua.com.foxminded.carrestservice.repositories.CarRepository;
+import ua.com.foxminded.carrestservice.repositories.ModelRepository;
+import ua.com.foxminded.carrestservice.utils.DTOconverters.CarDTOConverter;
+import ua.com.foxminded.carrestservice.utils.DTOconverters.ModelDTOConverter;
+import ua.com.foxminded.carrestservice.utils.specifications.CarSpecification;
+import ua.com.foxminded.carrestservice.utils.specifications.ModelSpecification;
+import ua.com.foxminded.carrestservice.utils.specifications.SortCriteria;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReadPathBenchmark {
+    @Param({"20", "1000"})
+    private int size;
+
+    private EmbeddedPostgres postgres;
+    private ConfigurableApplicationContext context;
+    private CarRepository carRepository;
+    private ModelRepository modelRepository;
+    private TransactionTemplate transactionTemplate;
+    private CarSpecification carSpec;
+    private ModelSpecification modelSpec;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, SQLException {
+        postgres = EmbeddedPostgres.builder().start();
+        String jdbcUrl = postgres.getJdbcUrl("postgres", "postgres");
+        context = new SpringApplicationBuilder(CarRestServiceApplication.class)
+                .run("--spring.datasource.url=" + jdbcUrl,
+                        "--spring.datasource.username=postgres",
+                        "--spring.datasource.password=postgres",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.main.banner-mode=off",
+                        "--logging.level.root=WARN",
+                        "--server.port=0");
+        try (Connection connection = DriverManager.getConnection(jdbcUrl, "postgres", "postgres")) {
+            new DatasetGenerator(new ScaleOptions(new String[]{"--brands=50", "--models-per-brand=40", "--cars=200000"}))
+                    .generate(connection);
+        }
+
+        carRepository = context.getBean(CarRepository.class);
+        modelRepository = context.getBean(ModelRepository.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        transactionTemplate.setReadOnly(true);
+        carSpec = new CarSpecification(new SortCriteria("number", "ASC"));
+        modelSpec = new ModelSpecification(new SortCriteria("model", "ASC"));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        postgres.close();
+    }
+
+    @Benchmark
+    public List<CarDTO> carEntities() {
+        return transactionTemplate.execute(status -> {
+            List<Car> cars = carRepository.findSlice(carSpec, PageRequest.of(0, size)).getContent();
+            cars.forEach(car -> Hibernate.initialize(car.getModel().getCategories()));
+            return cars.stream().map(CarDTOConverter::convertToDTO).toList();
+        });
+    }
+
+    @Benchmark
+    public List<CarDTO> carViews() {
+        return transactionTemplate.execute(status -> carRepository.findAllViews(carSpec, PageRequest.of(0, size))
+                .map(CarDTOConverter::convertToDTO)
+                .getContent());
+    }
+
+    @Benchmark
+    public List<ModelDTO> modelEntities() {
+        return transactionTemplate.execute(status -> {
+            List<Model> models = modelRepository.findSlice(modelSpec, PageRequest.of(0, size)).getContent();
+            models.forEach(model -> Hibernate.initialize(model.getCategories()));
+            return models.stream().map(ModelDTOConverter::convertToDTO).toList();
+        });
+    }
+
+    @Benchmark
+    public List<ModelDTO> modelViews() {
+        return transactionTemplate.execute(status -> modelRepository.findAllViews(modelSpec, PageRequest.of(0, size))
+                .map(ModelDTOConverter::convertToDTO)
+                .getContent());
+    }
+}
@@ -0,0 +1,50 @@
+package ua.com.foxminded.carrestservice.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ua.com.foxminded.carrestservice.dto.CarDTO;
+import ua.com.foxminded.carrestservice.dto.ModelDTO;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+    @Param({"3", "100", "1000"})
+    private int size;
+
+    private ObjectWriter writer;
+    private List<CarDTO> cars;
+    private List<ModelDTO> models;
+
+    @Setup
+    public void setUp() {
+        writer = Jackson2ObjectMapperBuilder.json().build().writer();
+        cars = IntStream.range(0, size)
+                .mapToObj(i -> new CarDTO("UN-" + (1000 + i), "Audi", "R8", 2020, Set.of("Convertible", "Coupe")))
+                .collect(Collectors.toList());
+        models = IntStream.range(0, size)
+                .mapToObj(i -> new ModelDTO("Audi", "R" + i, 2020, Set.of("Convertible", "Coupe")))
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public byte[] carList() throws JsonProcessingException {
+        return writer.writeValueAsBytes(cars);
+    }
+
+    @Benchmark
+    public byte[] modelList() throws JsonProcessingException {
+        return writer.writeValueAsBytes(models);
+    }
+}
@@ -0,0 +1,80 @@
+package ua.com.foxminded.carrestservice.benchmarks;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import ua.com.foxminded.carrestservice.models.Brand;
+import ua.com.foxminded.carrestservice.models.Car;
+import ua.com.foxminded.carrestservice.models.Category;
+import ua.com.foxminded.carrestservice.models.Model;
+import ua.com.foxminded.carrestservice.utils.specifications.CarSpecification;
+import ua.com.foxminded.carrestservice.utils.specifications.KeysetCursor;
+import ua.com.foxminded.carrestservice.utils.specifications.SortCriteria;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpecificationBenchmark {
+    @Param({"brand", "number", "model", "year"})
+    private String sortKey;
+
+    private SessionFactory sessionFactory;
+    private CriteriaBuilder builder;
+    private CarSpecification firstPage;
+    private CarSpecification nextPage;
+
+    @Setup
+    public void setUp() {
+        StandardServiceRegistry registry = new StandardServiceRegistryBuilder()
+                .applySetting(AvailableSettings.DIALECT, PostgreSQLDialect.class.getName())
+                .applySetting(AvailableSettings.JAKARTA_HBM2DDL_DB_NAME, "PostgreSQL")
+                .applySetting(AvailableSettings.JAKARTA_HBM2DDL_DB_MAJOR_VERSION, "15")
+                .applySetting("hibernate.temp.use_jdbc_metadata_defaults", false)
+                .build();
+        sessionFactory = new MetadataSources(registry)
+                .addAnnotatedClasses(Brand.class, Category.class, Model.class, Car.class)
+                .buildMetadata()
+                .buildSessionFactory();
+        builder = sessionFactory.getCriteriaBuilder();
+
+        SortCriteria sortCriteria = new SortCriteria(sortKey, "ASC");
+        Comparable<?> value = sortKey.equals("year") ? 2020 : "UN-1234";
+        firstPage = new CarSpecification(sortCriteria);
+        nextPage = new CarSpecification(sortCriteria, new KeysetCursor(sortCriteria, value, 42L));
+    }
+
+    @TearDown
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public void firstPage(Blackhole blackhole) {
+        toPredicate(firstPage, blackhole);
+    }
+
+    @Benchmark
+    public void pageAfterCursor(Blackhole blackhole) {
+        toPredicate(nextPage, blackhole);
+    }
+
+    private void toPredicate(CarSpecification specification, Blackhole blackhole) {
+        CriteriaQuery<Car> query = builder.createQuery(Car.class);
+        Root<Car> root = query.from(Car.class);
+        blackhole.consume(specification.toPredicate(root, query, builder));
+        blackhole.consume(query);
+    }
+}
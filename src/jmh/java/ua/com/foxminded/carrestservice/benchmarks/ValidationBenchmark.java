@@ -0,0 +1,82 @@
+package ua.com.foxminded.carrestservice.benchmarks;
+
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+import ua.com.foxminded.carrestservice.dto.CarDTO;
+import ua.com.foxminded.carrestservice.dto.ModelDTO;
+import ua.com.foxminded.carrestservice.utils.ControllerUtils;
+import ua.com.foxminded.carrestservice.utils.exceptions.CarDataException;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidationBenchmark {
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private CarDTO validCar;
+    private CarDTO invalidCar;
+    private ModelDTO validModel;
+    private BindingResult validBinding;
+    private BindingResult invalidBinding;
+
+    @Setup
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+        validCar = new CarDTO("UN-1234", "Audi", "R8", 2020, Set.of("Coupe"));
+        invalidCar = new CarDTO("U", "", "R", 1800, null);
+        validModel = new ModelDTO("Audi", "R8", 2020, Set.of("Coupe", "Convertible"));
+
+        SpringValidatorAdapter adapter = new SpringValidatorAdapter(validator);
+        validBinding = new BeanPropertyBindingResult(validCar, "carDTO");
+        adapter.validate(validCar, validBinding);
+        invalidBinding = new BeanPropertyBindingResult(invalidCar, "carDTO");
+        adapter.validate(invalidCar, invalidBinding);
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public Object validateValidCar() {
+        return validator.validate(validCar);
+    }
+
+    @Benchmark
+    public Object validateInvalidCar() {
+        return validator.validate(invalidCar);
+    }
+
+    @Benchmark
+    public Object validateValidModel() {
+        return validator.validate(validModel);
+    }
+
+    @Benchmark
+    public void handleBindingErrorsWithoutErrors() {
+        ControllerUtils.handleBindingErrors(validBinding);
+    }
+
+    @Benchmark
+    public void handleBindingErrorsWithErrors(Blackhole blackhole) {
+        try {
+            ControllerUtils.handleBindingErrors(invalidBinding);
+        } catch (CarDataException e) {
+            blackhole.consume(e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package ua.com.foxminded.carrestservice.benchmarks.scale;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public record Catalog(List<String> brands,
+                      List<String> categories,
+                      List<ModelKey> models,
+                      List<String> carNumbers) {
+    private static final int CAR_NUMBER_SAMPLE_SIZE = 100_000;
+
+    public record ModelKey(String brand, String name, int productionYear) {
+    }
+
+    public String randomBrand(Random random) {
+        return brands.get(random.nextInt(brands.size()));
+    }
+
+    public String randomCategory(Random random) {
+        return categories.get(random.nextInt(categories.size()));
+    }
+
+    public ModelKey randomModel(Random random) {
+        return models.get(random.nextInt(models.size()));
+    }
+
+    public String randomCarNumber(Random random) {
+        return carNumbers.get(random.nextInt(carNumbers.size()));
+    }
+
+    public static Catalog load(Connection connection) throws SQLException {
+        List<String> brands = new ArrayList<>();
+        List<String> categories = new ArrayList<>();
+        List<ModelKey> models = new ArrayList<>();
+        List<String> carNumbers = new ArrayList<>();
+        try (Statement statement = connection.createStatement()) {
+            try (ResultSet rows = statement.executeQuery("SELECT name FROM brands")) {
+                while (rows.next()) {
+                    brands.add(rows.getString(1));
+                }
+            }
+            try (ResultSet rows = statement.executeQuery("SELECT name FROM categories")) {
+                while (rows.next()) {
+                    categories.add(rows.getString(1));
+                }
+            }
+            try (ResultSet rows = statement.executeQuery("""
+                    SELECT b.name, m.name, m.production_year
+                    FROM models m
+                    JOIN brands b ON b.brand_id = m.brand_ref""")) {
+                while (rows.next()) {
+                    models.add(new ModelKey(rows.getString(1), rows.getString(2), rows.getInt(3)));
+                }
+            }
+            try (ResultSet rows = statement.executeQuery("SELECT number FROM cars ORDER BY random() LIMIT " + CAR_NUMBER_SAMPLE_SIZE)) {
+                while (rows.next()) {
+                    carNumbers.add(rows.getString(1));
+                }
+            }
+        }
+        return new Catalog(brands, categories, models, carNumbers);
+    }
+}
@@ -0,0 +1,182 @@
+package ua.com.foxminded.carrestservice.benchmarks.scale;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class DatasetGenerator {
+    private static final int COPY_BUFFER_SIZE = 1 << 20;
+    private static final int CAR_NUMBER_SAMPLE_SIZE = 100_000;
+    private static final int FIRST_PRODUCTION_YEAR = 1990;
+    private static final int PRODUCTION_YEARS = 35;
+
+    private final int brands;
+    private final int modelsPerBrand;
+    private final int categories;
+    private final long cars;
+    private final double skew;
+    private final long seed;
+
+    public DatasetGenerator(ScaleOptions options) {
+        this.brands = options.getInt("brands", 100);
+        this.modelsPerBrand = options.getInt("models-per-brand", 40);
+        this.categories = options.getInt("categories", 12);
+        this.cars = options.getLong("cars", 1_000_000);
+        this.skew = options.getDouble("skew", 1.1);
+        this.seed = options.getLong("seed", 42);
+    }
+
+    public static void main(String[] args) throws SQLException {
+        ScaleOptions options = new ScaleOptions(args);
+        try (Connection connection = DriverManager.getConnection(
+                options.getString("jdbc-url", "jdbc:postgresql://localhost:5432/car_db"),
+                options.getString("user", "postgres"),
+                options.getString("password", "12345"))) {
+            new DatasetGenerator(options).generate(connection);
+        }
+    }
+
+    public Catalog generate(Connection connection) throws SQLException {
+        Random random = new Random(seed);
+        CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("TRUNCATE cars, category_model, models, categories, brands");
+        }
+
+        List<String> brandNames = new ArrayList<>(brands);
+        long started = System.nanoTime();
+        try (CopyWriter writer = new CopyWriter(copyManager, "COPY brands (brand_id, name) FROM STDIN")) {
+            for (int brand = 1; brand <= brands; brand++) {
+                String name = "Brand-" + brand;
+                brandNames.add(name);
+                writer.row(brand, name);
+            }
+        }
+        report("brands", brands, started);
+
+        List<String> categoryNames = new ArrayList<>(categories);
+        started = System.nanoTime();
+        try (CopyWriter writer = new CopyWriter(copyManager, "COPY categories (category_id, name) FROM STDIN")) {
+            for (int category = 1; category <= categories; category++) {
+                String name = "Category-" + category;
+                categoryNames.add(name);
+                writer.row(category, name);
+            }
+        }
+        report("categories", categories, started);
+
+        int models = brands * modelsPerBrand;
+        List<Catalog.ModelKey> modelKeys = new ArrayList<>(models);
+        started = System.nanoTime();
+        try (CopyWriter writer = new CopyWriter(copyManager,
+                "COPY models (model_id, name, production_year, brand_ref) FROM STDIN")) {
+            for (int model = 1; model <= models; model++) {
+                int brand = (model - 1) / modelsPerBrand + 1;
+                String name = "Model-" + model;
+                int productionYear = FIRST_PRODUCTION_YEAR + random.nextInt(PRODUCTION_YEARS);
+                modelKeys.add(new Catalog.ModelKey(brandNames.get(brand - 1), name, productionYear));
+                writer.row(model, name, productionYear, brand);
+            }
+        }
+        report("models", models, started);
+
+        long links = 0;
+        started = System.nanoTime();
+        try (CopyWriter writer = new CopyWriter(copyManager, "COPY category_model (category_ref, model_ref) FROM STDIN")) {
+            for (int model = 1; model <= models; model++) {
+                int first = random.nextInt(categories);
+                int count = 1 + random.nextInt(Math.min(3, categories));
+                for (int i = 0; i < count; i++) {
+                    writer.row((first + i) % categories + 1, model);
+                    links++;
+                }
+            }
+        }
+        report("category_model", links, started);
+
+        ZipfSampler popularity = new ZipfSampler(models, skew, random);
+        long sampleStep = Math.max(1, cars / CAR_NUMBER_SAMPLE_SIZE);
+        List<String> carNumbers = new ArrayList<>();
+        started = System.nanoTime();
+        try (CopyWriter writer = new CopyWriter(copyManager, "COPY cars (car_id, number, model_ref) FROM STDIN")) {
+            for (long car = 1; car <= cars; car++) {
+                String number = "GN-" + car;
+                if (car % sampleStep == 0) {
+                    carNumbers.add(number);
+                }
+                writer.row(car, number, popularity.next(random) + 1);
+            }
+        }
+        report("cars", cars, started);
+
+        started = System.nanoTime();
+        try (Statement statement = connection.createStatement()) {
+            resetSequence(statement, "brands_brand_id_seq", "brand_id", "brands");
+            resetSequence(statement, "categories_category_id_seq", "category_id", "categories");
+            resetSequence(statement, "models_model_id_seq", "model_id", "models");
+            resetSequence(statement, "cars_car_id_seq", "car_id", "cars");
+            statement.execute("ANALYZE");
+        }
+        System.out.printf("analyze: %.1f s%n", (System.nanoTime() - started) / 1e9);
+
+        return new Catalog(brandNames, categoryNames, modelKeys, carNumbers);
+    }
+
+    private static void resetSequence(Statement statement, String sequence, String column, String table) throws SQLException {
+        statement.execute("SELECT setval('" + sequence + "', (SELECT COALESCE(MAX(" + column + "), 0) FROM " + table + ") + 50, false)");
+    }
+
+    private static void report(String table, long rows, long startedNanos) {
+        double seconds = (System.nanoTime() - startedNanos) / 1e9;
+        System.out.printf("%s: %,d rows in %.1f s (%,.0f rows/s)%n", table, rows, seconds, rows / Math.max(seconds, 1e-9));
+    }
+
+    private static class CopyWriter implements AutoCloseable {
+        private final CopyIn copyIn;
+        private final StringBuilder buffer = new StringBuilder(COPY_BUFFER_SIZE + 1024);
+
+        CopyWriter(CopyManager copyManager, String sql) throws SQLException {
+            this.copyIn = copyManager.copyIn(sql);
+        }
+
+        void row(Object... values) throws SQLException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    buffer.append('\t');
+                }
+                buffer.append(values[i]);
+            }
+            buffer.append('\n');
+            if (buffer.length() >= COPY_BUFFER_SIZE) {
+                flush();
+            }
+        }
+
+        private void flush() throws SQLException {
+            byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+            copyIn.writeToCopy(bytes, 0, bytes.length);
+            buffer.setLength(0);
+        }
+
+        @Override
+        public void close() throws SQLException {
+            try {
+                flush();
+                copyIn.endCopy();
+            } finally {
+                if (copyIn.isActive()) {
+                    copyIn.cancelCopy();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package ua.com.foxminded.carrestservice.benchmarks.scale;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import ua.com.foxminded.carrestservice.CarRestServiceApplication;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+public class ScaleBenchmark {
+    private static final String BEARER_TOKEN = "scale-benchmark";
+
+    public static void main(String[] args) throws Exception {
+        ScaleOptions options = new ScaleOptions(args);
+        EmbeddedPostgres postgres = null;
+        String jdbcUrl = options.getString("jdbc-url", null);
+        String user = options.getString("user", "postgres");
+        String password = options.getString("password", "postgres");
+        if (jdbcUrl == null) {
+            postgres = EmbeddedPostgres.builder()
+                    .setServerConfig("max_wal_size", "4GB")
+                    .setServerConfig("shared_buffers", options.getString("shared-buffers", "512MB"))
+                    .start();
+            jdbcUrl = postgres.getJdbcUrl("postgres", "postgres");
+        }
+
+        try (ConfigurableApplicationContext context = startService(jdbcUrl, user, password, options)) {
+            Catalog catalog;
+            try (Connection connection = DriverManager.getConnection(jdbcUrl, user, password)) {
+                catalog = options.getBoolean("generate", true)
+                        ? new DatasetGenerator(options).generate(connection)
+                        : Catalog.load(connection);
+            }
+
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            ScenarioClient client = new ScenarioClient(URI.create("http://localhost:" + port), BEARER_TOKEN);
+            ScenarioRunner runner = new ScenarioRunner(client,
+                    options.getDuration("warmup", Duration.ofSeconds(5)),
+                    options.getDuration("duration", Duration.ofSeconds(15)),
+                    options.getLong("seed", 42));
+            Pattern filter = Pattern.compile(options.getString("scenarios", ".*"));
+
+            List<ScenarioResult> results = new ArrayList<>();
+            Scenarios scenarios = new Scenarios(catalog, options.getInt("threads", 8));
+            for (Scenario scenario : scenarios.all(options.getBoolean("export", true))) {
+                if (filter.matcher(scenario.name()).find()) {
+                    System.out.println("Running " + scenario.name());
+                    results.add(runner.run(scenario));
+                }
+            }
+
+            ScenarioResult.print(results);
+            ScenarioResult.writeCsv(results, Path.of(options.getString("report", "target/scale-benchmark.csv")));
+        } finally {
+            if (postgres != null) {
+                postgres.close();
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext startService(String jdbcUrl, String user, String password,
+                                                               ScaleOptions options) {
+        return new SpringApplicationBuilder(CarRestServiceApplication.class, BenchmarkSecurity.class)
+                .run("--spring.datasource.url=" + jdbcUrl,
+                        "--spring.datasource.username=" + user,
+                        "--spring.datasource.password=" + password,
+                        "--spring.datasource.hikari.maximum-pool-size=" + options.getInt("pool-size", 10),
+                        "--spring.jpa.show-sql=false",
+                        "--spring.jpa.properties.hibernate.format_sql=false",
+                        "--spring.main.banner-mode=off",
+                        "--logging.level.root=WARN",
+                        "--server.port=0");
+    }
+
+    static class BenchmarkSecurity {
+        @Bean
+        @Primary
+        JwtDecoder benchmarkJwtDecoder() {
+            return token -> {
+                if (!BEARER_TOKEN.equals(token)) {
+                    throw new BadJwtException("Unknown benchmark token");
+                }
+                Instant now = Instant.now();
+                return Jwt.withTokenValue(token)
+                        .header("alg", "none")
+                        .subject("scale-benchmark")
+                        .issuedAt(now)
+                        .expiresAt(now.plusSeconds(3600))
+                        .build();
+            };
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package ua.com.foxminded.carrestservice.benchmarks.scale;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+public class ScaleOptions {
+    private final Map<String, String> values = new HashMap<>();
+
+    public ScaleOptions(String[] args) {
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            int separator = arg.indexOf('=');
+            values.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+    }
+
+    public String getString(String name, String defaultValue) {
+        return values.getOrDefault(name, defaultValue);
+    }
+
+    public int getInt(String name, int defaultValue) {
+        return values.containsKey(name) ? Integer.parseInt(values.get(name)) : defaultValue;
+    }
+
+    public long getLong(String name, long defaultValue) {
+        return values.containsKey(name) ? Long.parseLong(values.get(name)) : defaultValue;
+    }
+
+    public double getDouble(String name, double defaultValue) {
+        return values.containsKey(name) ? Double.parseDouble(values.get(name)) : defaultValue;
+    }
+
+    public boolean getBoolean(String name, boolean defaultValue) {
+        return values.containsKey(name) ? Boolean.parseBoolean(values.get(name)) : defaultValue;
+    }
+
+    public Duration getDuration(String name, Duration defaultValue) {
+        return values.containsKey(name) ? Duration.ofSeconds(Long.parseLong(values.get(name))) : defaultValue;
+    }
+}
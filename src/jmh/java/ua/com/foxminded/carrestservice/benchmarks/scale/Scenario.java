@@ -0,0 +1,20 @@
+package ua.com.foxminded.carrestservice.benchmarks.scale;
+
+import java.util.Random;
+
+public record Scenario(String name, int threads, long maxOperations, Operation operation) {
+    public Scenario(String name, int threads, Operation operation) {
+        this(name, threads, 0, operation);
+    }
+
+    @FunctionalInterface
+    public interface Operation {
+        void execute(ScenarioClient client, Random random) throws Exception;
+    }
+
+    public static class ExhaustedException extends RuntimeException {
+        public ExhaustedException(String message) {
+            super(message);
+        }
+    }
+}
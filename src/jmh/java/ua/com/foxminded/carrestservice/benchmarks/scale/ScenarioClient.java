@@ -0,0 +1,77 @@
+package ua.com.foxminded.carrestservice.benchmarks.scale;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+
+public class ScenarioClient {
+    private static final Duration REQUEST_TIMEOUT = Duration.ofMinutes(30);
+
+    private final HttpClient httpClient;
+    private final URI baseUri;
+    private final String bearerToken;
+
+    public ScenarioClient(URI baseUri, String bearerToken) {
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        this.baseUri = baseUri;
+        this.bearerToken = bearerToken;
+    }
+
+    public HttpResponse<String> get(String path, int... expectedStatuses) throws IOException, InterruptedException {
+        return expect(httpClient.send(request(path).GET().build(), HttpResponse.BodyHandlers.ofString()), expectedStatuses);
+    }
+
+    public long download(String path) throws IOException, InterruptedException {
+        HttpResponse<InputStream> response = httpClient.send(request(path).GET().build(), HttpResponse.BodyHandlers.ofInputStream());
+        try (InputStream body = response.body()) {
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException(path + " returned " + response.statusCode());
+            }
+            byte[] buffer = new byte[1 << 16];
+            long bytes = 0;
+            for (int read = body.read(buffer); read >= 0; read = body.read(buffer)) {
+                bytes += read;
+            }
+            return bytes;
+        }
+    }
+
+    public HttpResponse<String> send(String method, String path, String contentType, String body, int... expectedStatuses)
+            throws IOException, InterruptedException {
+        HttpRequest.Builder request = authorized(path)
+                .method(method, body == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(body));
+        if (contentType != null) {
+            request.header("Content-Type", contentType);
+        }
+        return expect(httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString()), expectedStatuses);
+    }
+
+    public HttpResponse<String> sendJson(String method, String path, String json, int... expectedStatuses)
+            throws IOException, InterruptedException {
+        return send(method, path, "application/json", json, expectedStatuses);
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(baseUri.resolve(path)).timeout(REQUEST_TIMEOUT);
+    }
+
+    private HttpRequest.Builder authorized(String path) {
+        return request(path).header("Authorization", "Bearer " + bearerToken);
+    }
+
+    private static <T> HttpResponse<T> expect(HttpResponse<T> response, int... expectedStatuses) {
+        if (Arrays.stream(expectedStatuses).noneMatch(status -> status == response.statusCode())) {
+            throw new IllegalStateException(response.request().method() + " " + response.uri().getPath()
+                    + " returned " + response.statusCode() + ": " + response.body());
+        }
+        return response;
+    }
+}
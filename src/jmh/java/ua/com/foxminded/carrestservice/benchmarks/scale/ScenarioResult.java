@@ -0,0 +1,56 @@
+package ua.com.foxminded.carrestservice.benchmarks.scale;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+public record ScenarioResult(String name, int threads, long operations, long errors, double seconds,
+                             Histogram latencyMicros, String firstError) {
+    private static final String ROW_FORMAT = "%-48s %7s %10s %8s %12s %10s %10s %10s %10s%n";
+
+    public double throughput() {
+        return operations / Math.max(seconds, 1e-9);
+    }
+
+    public static void print(List<ScenarioResult> results) {
+        System.out.printf(ROW_FORMAT, "scenario", "threads", "ops", "errors", "ops/s", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        for (ScenarioResult result : results) {
+            System.out.printf(ROW_FORMAT, result.name(), result.threads(), result.operations(), result.errors(),
+                    String.format("%.1f", result.throughput()),
+                    millis(result.latencyMicros().getValueAtPercentile(50)),
+                    millis(result.latencyMicros().getValueAtPercentile(99)),
+                    millis(result.latencyMicros().getValueAtPercentile(99.9)),
+                    millis(result.latencyMicros().getMaxValue()));
+        }
+        for (ScenarioResult result : results) {
+            if (result.firstError() != null) {
+                System.out.println(result.name() + " first error: " + result.firstError());
+            }
+        }
+    }
+
+    public static void writeCsv(List<ScenarioResult> results, Path path) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(path))) {
+            writer.println("scenario,threads,operations,errors,seconds,ops_per_second,p50_ms,p99_ms,p999_ms,max_ms");
+            for (ScenarioResult result : results) {
+                writer.printf("\"%s\",%d,%d,%d,%.3f,%.3f,%s,%s,%s,%s%n", result.name(), result.threads(), result.operations(),
+                        result.errors(), result.seconds(), result.throughput(),
+                        millis(result.latencyMicros().getValueAtPercentile(50)),
+                        millis(result.latencyMicros().getValueAtPercentile(99)),
+                        millis(result.latencyMicros().getValueAtPercentile(99.9)),
+                        millis(result.latencyMicros().getMaxValue()));
+            }
+        }
+    }
+
+    private static String millis(long micros) {
+        return String.format("%.2f", micros / 1000.0);
+    }
+}
@@ -0,0 +1,81 @@
+package ua.com.foxminded.carrestservice.benchmarks.scale;
+
+import org.HdrHistogram.Histogram;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class ScenarioRunner {
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(30);
+
+    private final ScenarioClient client;
+    private final Duration warmup;
+    private final Duration measurement;
+    private final long seed;
+
+    public ScenarioRunner(ScenarioClient client, Duration warmup, Duration measurement, long seed) {
+        this.client = client;
+        this.warmup = warmup;
+        this.measurement = measurement;
+        this.seed = seed;
+    }
+
+    public ScenarioResult run(Scenario scenario) throws InterruptedException, ExecutionException {
+        if (scenario.maxOperations() == 0 && !warmup.isZero()) {
+            execute(scenario, warmup);
+        }
+        return execute(scenario, measurement);
+    }
+
+    private ScenarioResult execute(Scenario scenario, Duration duration) throws InterruptedException, ExecutionException {
+        ExecutorService executor = Executors.newFixedThreadPool(scenario.threads());
+        AtomicLong started = new AtomicLong();
+        AtomicLong errors = new AtomicLong();
+        AtomicReference<String> firstError = new AtomicReference<>();
+        long deadline = System.nanoTime() + duration.toNanos();
+        long begin = System.nanoTime();
+        try {
+            List<Future<Histogram>> workers = new ArrayList<>();
+            for (int thread = 0; thread < scenario.threads(); thread++) {
+                Random random = new Random(seed * 31 + thread);
+                workers.add(executor.submit(() -> {
+                    Histogram histogram = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+                    while (System.nanoTime() < deadline
+                            && (scenario.maxOperations() == 0 || started.incrementAndGet() <= scenario.maxOperations())) {
+                        long operationStart = System.nanoTime();
+                        try {
+                            scenario.operation().execute(client, random);
+                        } catch (Scenario.ExhaustedException e) {
+                            break;
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                            firstError.compareAndSet(null, e.getMessage());
+                        }
+                        long micros = (System.nanoTime() - operationStart) / 1000;
+                        histogram.recordValue(Math.min(micros, HIGHEST_TRACKABLE_MICROS));
+                    }
+                    return histogram;
+                }));
+            }
+
+            Histogram total = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+            for (Future<Histogram> worker : workers) {
+                total.add(worker.get());
+            }
+            double seconds = (System.nanoTime() - begin) / 1e9;
+            return new ScenarioResult(scenario.name(), scenario.threads(), total.getTotalCount(), errors.get(), seconds,
+                    total, firstError.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package ua.com.foxminded.carrestservice.benchmarks.scale;
+
+import ua.com.foxminded.carrestservice.utils.specifications.KeysetCursor;
+import ua.com.foxminded.carrestservice.utils.specifications.SortCriteria;
+
+import java.net.URLEncoder;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class Scenarios {
+    private static final String[] CAR_SORT_KEYS = {"brand", "number", "model", "year"};
+    private static final String[] MODEL_SORT_KEYS = {"model", "year"};
+    private static final String[] DIRECTIONS = {"ASC", "DESC"};
+    private static final Pattern JOB_STATUS = Pattern.compile("\"status\"\\s*:\\s*\"(\\w+)\"");
+    private static final int BATCH_SIZE = 100;
+    private static final int IMPORT_ROWS = 1000;
+
+    private final Catalog catalog;
+    private final int threads;
+    private final AtomicLong sequence = new AtomicLong();
+    private final Queue<String> createdCars = new ConcurrentLinkedQueue<>();
+    private final Queue<String> createdBrands = new ConcurrentLinkedQueue<>();
+    private final Queue<String> createdCategories = new ConcurrentLinkedQueue<>();
+    private final Queue<Catalog.ModelKey> createdModels = new ConcurrentLinkedQueue<>();
+
+    public Scenarios(Catalog catalog, int threads) {
+        this.catalog = catalog;
+        this.threads = threads;
+    }
+
+    public List<Scenario> all(boolean includeExport) {
+        List<Scenario> scenarios = new ArrayList<>();
+        scenarios.add(new Scenario("GET /cars", threads, (client, random) ->
+                client.get("/api/v1/cars?filter=" + pick(CAR_SORT_KEYS, random) + "&sortDirection=" + pick(DIRECTIONS, random)
+                        + "&page=" + random.nextInt(5), 200, 404)));
+        scenarios.add(new Scenario("GET /cars?after=cursor", threads, (client, random) -> {
+            SortCriteria sortCriteria = new SortCriteria("number", pick(DIRECTIONS, random));
+            String cursor = new KeysetCursor(sortCriteria, catalog.randomCarNumber(random), 0L).encode();
+            client.get("/api/v1/cars?filter=number&sortDirection=" + sortCriteria.getDirection() + "&after=" + cursor, 200, 404);
+        }));
+        scenarios.add(new Scenario("GET /cars?includeTotal=true", threads, (client, random) ->
+                client.get("/api/v1/cars?includeTotal=true", 200)));
+        scenarios.add(new Scenario("GET /cars/{number}", threads, (client, random) ->
+                client.get("/api/v1/cars/" + encode(catalog.randomCarNumber(random)), 200)));
+        scenarios.add(new Scenario("GET /models", threads, (client, random) ->
+                client.get("/api/v1/models?filter=" + pick(MODEL_SORT_KEYS, random) + "&sortDirection=" + pick(DIRECTIONS, random)
+                        + "&page=" + random.nextInt(5), 200, 404)));
+        scenarios.add(new Scenario("GET /models/{brand}/{model}/{year}", threads, (client, random) ->
+                client.get(modelPath(catalog.randomModel(random)), 200)));
+        scenarios.add(new Scenario("GET /brands", threads, (client, random) ->
+                client.get("/api/v1/brands?sortDirection=" + pick(DIRECTIONS, random) + "&page=" + random.nextInt(5), 200, 404)));
+        scenarios.add(new Scenario("GET /brands/{name}", threads, (client, random) ->
+                client.get("/api/v1/brands/" + encode(catalog.randomBrand(random)), 200)));
+        scenarios.add(new Scenario("GET /categories", threads, (client, random) ->
+                client.get("/api/v1/categories?sortDirection=" + pick(DIRECTIONS, random) + "&page=" + random.nextInt(3), 200, 404)));
+        scenarios.add(new Scenario("GET /categories/{name}", threads, (client, random) ->
+                client.get("/api/v1/categories/" + encode(catalog.randomCategory(random)), 200)));
+        if (includeExport) {
+            scenarios.add(new Scenario("GET /cars/export", 1, 1, (client, random) -> client.download("/api/v1/cars/export?format=csv")));
+        }
+
+        scenarios.add(new Scenario("POST /cars", threads, (client, random) -> {
+            String number = "SB-" + sequence.incrementAndGet();
+            client.sendJson("POST", "/api/v1/cars", carJson(number, catalog.randomModel(random)), 201);
+            createdCars.add(number);
+        }));
+        scenarios.add(new Scenario("PUT /cars/{number}", threads, (client, random) -> {
+            String number = take(createdCars);
+            String renamed = "SU-" + sequence.incrementAndGet();
+            client.sendJson("PUT", "/api/v1/cars/" + encode(number), carJson(renamed, catalog.randomModel(random)), 200);
+            createdCars.add(renamed);
+        }));
+        scenarios.add(new Scenario("DELETE /cars/{number}", threads, (client, random) ->
+                client.send("DELETE", "/api/v1/cars/" + encode(take(createdCars)), null, null, 204)));
+        scenarios.add(new Scenario("POST /cars/batch", threads, (client, random) -> {
+            StringBuilder batch = new StringBuilder("[");
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                batch.append(i == 0 ? "" : ",").append(carJson("SX-" + sequence.incrementAndGet(), catalog.randomModel(random)));
+            }
+            client.sendJson("POST", "/api/v1/cars/batch", batch.append(']').toString(), 200);
+        }));
+
+        scenarios.add(new Scenario("POST /brands", threads, (client, random) -> {
+            String name = "SBrand-" + sequence.incrementAndGet();
+            client.sendJson("POST", "/api/v1/brands", "{\"brandName\":\"" + name + "\"}", 201);
+            createdBrands.add(name);
+        }));
+        scenarios.add(new Scenario("PUT /brands/{name}", threads, (client, random) -> {
+            String name = take(createdBrands);
+            String renamed = "SBrand-" + sequence.incrementAndGet();
+            client.sendJson("PUT", "/api/v1/brands/" + encode(name), "{\"brandName\":\"" + renamed + "\"}", 200);
+            createdBrands.add(renamed);
+        }));
+        scenarios.add(new Scenario("DELETE /brands/{name}", threads, (client, random) ->
+                client.send("DELETE", "/api/v1/brands/" + encode(take(createdBrands)), null, null, 202)));
+
+        scenarios.add(new Scenario("POST /categories", threads, (client, random) -> {
+            String name = "SCategory-" + sequence.incrementAndGet();
+            client.sendJson("POST", "/api/v1/categories", "{\"categoryName\":\"" + name + "\"}", 201);
+            createdCategories.add(name);
+        }));
+        scenarios.add(new Scenario("PUT /categories/{name}", threads, (client, random) -> {
+            String name = take(createdCategories);
+            String renamed = "SCategory-" + sequence.incrementAndGet();
+            client.sendJson("PUT", "/api/v1/categories/" + encode(name), "{\"categoryName\":\"" + renamed + "\"}", 200);
+            createdCategories.add(renamed);
+        }));
+        scenarios.add(new Scenario("DELETE /categories/{name}", threads, (client, random) ->
+                client.send("DELETE", "/api/v1/categories/" + encode(take(createdCategories)), null, null, 204)));
+
+        scenarios.add(new Scenario("POST /models", threads, (client, random) -> {
+            Catalog.ModelKey model = new Catalog.ModelKey(catalog.randomBrand(random), "SModel-" + sequence.incrementAndGet(), 2000);
+            client.sendJson("POST", "/api/v1/models", modelJson(model, catalog.randomCategory(random)), 201);
+            createdModels.add(model);
+        }));
+        scenarios.add(new Scenario("PUT /models/{brand}/{model}/{year}", threads, (client, random) -> {
+            Catalog.ModelKey model = take(createdModels);
+            Catalog.ModelKey renamed = new Catalog.ModelKey(model.brand(), "SModel-" + sequence.incrementAndGet(), 2001);
+            client.sendJson("PUT", modelPath(model), modelJson(renamed, catalog.randomCategory(random)), 200);
+            createdModels.add(renamed);
+        }));
+        scenarios.add(new Scenario("DELETE /models/{brand}/{model}/{year}", threads, (client, random) ->
+                client.send("DELETE", modelPath(take(createdModels)), null, null, 202)));
+
+        scenarios.add(new Scenario("POST /imports/cars + GET /jobs/{id}", Math.min(threads, 2), (client, random) -> {
+            StringBuilder csv = new StringBuilder("number,brandName,modelName,productionYear,categories\n");
+            for (int i = 0; i < IMPORT_ROWS; i++) {
+                Catalog.ModelKey model = catalog.randomModel(random);
+                csv.append("SI-").append(sequence.incrementAndGet()).append(',').append(model.brand()).append(',')
+                        .append(model.name()).append(',').append(model.productionYear()).append(",\n");
+            }
+            HttpResponse<String> accepted = client.send("POST", "/api/v1/imports/cars", "text/csv", csv.toString(), 202);
+            String job = accepted.headers().firstValue("Location").orElseThrow();
+            awaitJob(client, job);
+            client.get(job + "/report", 200);
+        }));
+        return scenarios;
+    }
+
+    private static void awaitJob(ScenarioClient client, String job) throws Exception {
+        while (true) {
+            Matcher status = JOB_STATUS.matcher(client.get(job, 200).body());
+            if (status.find() && (status.group(1).equals("COMPLETED") || status.group(1).equals("FAILED"))) {
+                if (status.group(1).equals("FAILED")) {
+                    throw new IllegalStateException("Import job " + job + " failed");
+                }
+                return;
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    private static <T> T take(Queue<T> queue) {
+        T value = queue.poll();
+        if (value == null) {
+            throw new Scenario.ExhaustedException("No resources left to modify");
+        }
+        return value;
+    }
+
+    private static String pick(String[] values, Random random) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static String modelPath(Catalog.ModelKey model) {
+        return "/api/v1/models/" + encode(model.brand()) + "/" + encode(model.name()) + "/" + model.productionYear();
+    }
+
+    private static String carJson(String number, Catalog.ModelKey model) {
+        return "{\"number\":\"" + number + "\",\"brandName\":\"" + model.brand() + "\",\"modelName\":\"" + model.name()
+                + "\",\"productionYear\":" + model.productionYear() + ",\"categories\":[]}";
+    }
+
+    private static String modelJson(Catalog.ModelKey model, String category) {
+        return "{\"brandName\":\"" + model.brand() + "\",\"modelName\":\"" + model.name()
+                + "\",\"productionYear\":" + model.productionYear() + ",\"categories\":[\"" + category + "\"]}";
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8).replace("+", "%20");
+    }
+}
@@ -0,0 +1,40 @@
+package ua.com.foxminded.carrestservice.benchmarks.scale;
+
+import java.util.Arrays;
+import java.util.Random;
+
+public class ZipfSampler {
+    private final double[] cumulative;
+    private final int[] rankToItem;
+
+    public ZipfSampler(int items, double exponent, Random random) {
+        cumulative = new double[items];
+        double total = 0;
+        for (int rank = 0; rank < items; rank++) {
+            total += 1.0 / Math.pow(rank + 1, exponent);
+            cumulative[rank] = total;
+        }
+        for (int rank = 0; rank < items; rank++) {
+            cumulative[rank] /= total;
+        }
+
+        rankToItem = new int[items];
+        for (int i = 0; i < items; i++) {
+            rankToItem[i] = i;
+        }
+        for (int i = items - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = rankToItem[i];
+            rankToItem[i] = rankToItem[j];
+            rankToItem[j] = swap;
+        }
+    }
+
+    public int next(Random random) {
+        int rank = Arrays.binarySearch(cumulative, random.nextDouble());
+        if (rank < 0) {
+            rank = Math.min(-rank - 1, cumulative.length - 1);
+        }
+        return rankToItem[rank];
+    }
+}
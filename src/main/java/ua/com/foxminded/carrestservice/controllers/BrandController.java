@@ -9,24 +9,50 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import ua.com.foxminded.carrestservice.dto.BrandDTO;
+import ua.com.foxminded.carrestservice.dto.JobDTO;
+import ua.com.foxminded.carrestservice.dto.ModelDTO;
 import ua.com.foxminded.carrestservice.models.Brand;
+import ua.com.foxminded.carrestservice.repositories.views.BrandView;
+import ua.com.foxminded.carrestservice.repositories.views.ModelView;
 import ua.com.foxminded.carrestservice.services.BrandService;
+import ua.com.foxminded.carrestservice.services.CatalogVersionService;
+import ua.com.foxminded.carrestservice.services.ModelService;
+import ua.com.foxminded.carrestservice.services.PurgeService;
 import ua.com.foxminded.carrestservice.utils.DTOconverters.BrandDTOConverter;
+import ua.com.foxminded.carrestservice.utils.DTOconverters.ModelDTOConverter;
+import ua.com.foxminded.carrestservice.utils.cache.ResponseCache;
 import ua.com.foxminded.carrestservice.utils.exceptions.BrandNotFoundException;
 import ua.com.foxminded.carrestservice.utils.exceptions.CarDataException;
+import ua.com.foxminded.carrestservice.utils.exceptions.ModelNotFoundException;
 import ua.com.foxminded.carrestservice.utils.specifications.BrandSpecification;
+import ua.com.foxminded.carrestservice.utils.specifications.KeysetCursor;
+import ua.com.foxminded.carrestservice.utils.specifications.ModelScope;
+import ua.com.foxminded.carrestservice.utils.specifications.ModelSpecification;
 import ua.com.foxminded.carrestservice.utils.specifications.SortCriteria;
+import ua.com.foxminded.carrestservice.utils.statements.SqlBudget;
 
 import java.net.URI;
+import java.time.Duration;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import static ua.com.foxminded.carrestservice.repositories.versions.CatalogTable.*;
+import static ua.com.foxminded.carrestservice.repositories.versions.CatalogVersions.eTagOf;
+import static ua.com.foxminded.carrestservice.utils.ControllerUtils.HAS_NEXT_HEADER;
+import static ua.com.foxminded.carrestservice.utils.ControllerUtils.accepted;
+import static ua.com.foxminded.carrestservice.utils.ControllerUtils.notModified;
+import static ua.com.foxminded.carrestservice.utils.ControllerUtils.referenceDataCacheControl;
+import static ua.com.foxminded.carrestservice.utils.ControllerUtils.sliceResponse;
 import static ua.com.foxminded.carrestservice.utils.DTOconverters.BrandDTOConverter.convertFromDTO;
 import static ua.com.foxminded.carrestservice.utils.DTOconverters.BrandDTOConverter.convertToDTO;
 
@@ -35,32 +61,101 @@ import static ua.com.foxminded.carrestservice.utils.DTOconverters.BrandDTOConver
 public class BrandController {
 
     private final BrandService brandService;
+    private final ModelService modelService;
+    private final PurgeService purgeService;
+    private final CatalogVersionService catalogVersionService;
+    private final ResponseCache responseCache;
+    private final CacheControl cacheControl;
     private final int PAGE_SIZE = 3;
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
 
-    public BrandController(BrandService brandService) {
+    public BrandController(BrandService brandService, ModelService modelService, PurgeService purgeService,
+                           CatalogVersionService catalogVersionService, ResponseCache responseCache,
+                           @Value("${car-service.http.reference-data-max-age}") Duration maxAge) {
         this.brandService = brandService;
+        this.modelService = modelService;
+        this.purgeService = purgeService;
+        this.catalogVersionService = catalogVersionService;
+        this.responseCache = responseCache;
+        this.cacheControl = referenceDataCacheControl(maxAge);
     }
 
     @Operation(summary = "Get all brands")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Found all brands",
+                    headers = {@Header(name = "X-Has-Next", description = "Whether a next page exists"),
+                            @Header(name = "X-Total-Count", description = "Total number of brands, only with includeTotal=true"),
+                            @Header(name = "X-Total-Count-Estimated", description = "Whether X-Total-Count is a planner estimate")},
                     content = {@Content(mediaType = "application/json",
                             array = @ArraySchema(schema = @Schema(implementation = BrandDTO.class)))}),
+            @ApiResponse(responseCode = "304", description = "Not modified since the ETag in If-None-Match",
+                    content = @Content),
             @ApiResponse(responseCode = "404", description = "Brands not found",
                     content = @Content(mediaType = "application/json"))})
     @GetMapping
-    public List<BrandDTO> getAllBrands(@RequestParam(defaultValue = "0") int page,
-                                       @RequestParam(defaultValue = "ASC") String sortDirection) {
-        Pageable pageable = PageRequest.of(page, PAGE_SIZE);
-        SortCriteria sortCriteria = new SortCriteria("none", sortDirection);
-        BrandSpecification brandSpec = new BrandSpecification(sortCriteria);
-        List<Brand> brands = brandService.findAll(brandSpec, pageable);
-
-        if (brands.isEmpty()) {
-            throw new BrandNotFoundException("Brands was not found!");
-        }
+    @SqlBudget(maxStatements = 5)
+    public ResponseEntity<byte[]> getAllBrands(@RequestParam(defaultValue = "0") int page,
+                                               @RequestParam(defaultValue = "ASC") String sortDirection,
+                                               @RequestParam(defaultValue = "false") boolean includeTotal,
+                                               WebRequest request) {
+        String eTag = catalogVersionService.findVersions().eTag(BRANDS);
+        return responseCache.get(request, eTag, cacheControl, () -> {
+            Pageable pageable = PageRequest.of(page, PAGE_SIZE);
+            SortCriteria sortCriteria = new SortCriteria("none", sortDirection);
+            BrandSpecification brandSpec = new BrandSpecification(sortCriteria);
+            Slice<BrandView> brands = brandService.findAllViews(brandSpec, pageable);
+
+            if (!brands.hasContent()) {
+                throw new BrandNotFoundException("Brands was not found!");
+            }
+
+            return sliceResponse(brands, includeTotal, brandService::countAllViews)
+                    .eTag(eTag)
+                    .cacheControl(cacheControl)
+                    .body(brands.stream().map(BrandDTOConverter::convertToDTO).collect(Collectors.toList()));
+        });
+    }
 
-        return brands.stream().map(BrandDTOConverter::convertToDTO).collect(Collectors.toList());
+    @Operation(summary = "Get models of the brand")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Found the models",
+                    headers = {@Header(name = "X-Next-Cursor", description = "Cursor to pass as 'after' to get the next page"),
+                            @Header(name = "X-Has-Next", description = "Whether a next page exists")},
+                    content = {@Content(mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = ModelDTO.class)))}),
+            @ApiResponse(responseCode = "304", description = "Not modified since the ETag in If-None-Match",
+                    content = @Content),
+            @ApiResponse(responseCode = "404", description = "Brand or its models not found",
+                    content = @Content(mediaType = "application/json"))})
+    @GetMapping("/{brandName}/models")
+    @SqlBudget(maxStatements = 4)
+    public ResponseEntity<byte[]> getBrandModels(@PathVariable("brandName") String brandName,
+                                                @RequestParam(defaultValue = "model") String filter,
+                                                @RequestParam(defaultValue = "ASC") String sortDirection,
+                                                @RequestParam(required = false) String after,
+                                                WebRequest request) {
+        Long brandId = brandService.findIdByName(brandName)
+                .orElseThrow(() -> new BrandNotFoundException("Brand was not found!"));
+        String eTag = catalogVersionService.findVersions().eTag(MODELS, BRANDS, CATEGORIES, CATEGORY_MODEL);
+        return responseCache.get(request, eTag, cacheControl, () -> {
+            SortCriteria sortCriteria = new SortCriteria(filter, sortDirection);
+            KeysetCursor cursor = after == null ? null : KeysetCursor.decode(after, sortCriteria);
+            ModelSpecification modelSpecification = new ModelSpecification(sortCriteria, cursor, ModelScope.ofBrand(brandId));
+            Slice<ModelView> models = modelService.findAllViews(modelSpecification, PageRequest.of(0, PAGE_SIZE));
+
+            if (!models.hasContent()) {
+                throw new ModelNotFoundException("Models was not found!");
+            }
+
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                    .header(HAS_NEXT_HEADER, String.valueOf(models.hasNext()))
+                    .eTag(eTag)
+                    .cacheControl(cacheControl);
+            if (models.hasNext()) {
+                response.header(NEXT_CURSOR_HEADER, modelSpecification.cursorAfter(models.getContent().get(models.getNumberOfElements() - 1)).encode());
+            }
+            return response.body(models.stream().map(ModelDTOConverter::convertToDTO).collect(Collectors.toList()));
+        });
     }
 
     @Operation(summary = "Get brand by its name")
@@ -68,28 +163,34 @@ public class BrandController {
             @ApiResponse(responseCode = "200", description = "Found the brand",
                     content = {@Content(mediaType = "application/json",
                             schema = @Schema(implementation = BrandDTO.class))}),
+            @ApiResponse(responseCode = "304", description = "Not modified since the ETag in If-None-Match",
+                    content = @Content),
             @ApiResponse(responseCode = "404", description = "Brands not found",
                     content = @Content(mediaType = "application/json"))})
     @GetMapping("/{brandName}")
-    public BrandDTO getOneBrand(@PathVariable("brandName") String brandName) {
-        return convertToDTO(brandService.findByName(brandName)
-                .orElseThrow(() -> new BrandNotFoundException("Brand was not found!")));
+    @SqlBudget(maxStatements = 3)
+    public ResponseEntity<BrandDTO> getOneBrand(@PathVariable("brandName") String brandName, WebRequest request) {
+        Brand brand = brandService.findByName(brandName)
+                .orElseThrow(() -> new BrandNotFoundException("Brand was not found!"));
+        String eTag = eTagOf(brand.getId(), brand.getVersion());
+        if (request.checkNotModified(eTag)) {
+            return notModified(eTag, cacheControl);
+        }
+
+        return ResponseEntity.ok().eTag(eTag).cacheControl(cacheControl).body(convertToDTO(brand));
     }
 
-    @Operation(summary = "Delete brand by name", security = @SecurityRequirement(name = "bearerAuth"))
+    @Operation(summary = "Purge brand with its models and cars", security = @SecurityRequirement(name = "bearerAuth"))
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "204", description = "Delete the brand",
-                    content = @Content),
-            @ApiResponse(responseCode = "400", description = "Brand was not deleted",
-                    content = @Content(mediaType = "text/plain")),
+            @ApiResponse(responseCode = "202", description = "Purge job was started, the brand is hidden until it completes",
+                    headers = @Header(name = "Location", description = "URI of the purge job"),
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = JobDTO.class))),
             @ApiResponse(responseCode = "404", description = "Brands not found",
                     content = @Content(mediaType = "application/json"))})
     @DeleteMapping("/{brandName}")
-    public ResponseEntity<?> deleteBrand(@PathVariable("brandName") String brandName) {
-        if (brandService.deleteByName(brandName) == 1) {
-            return ResponseEntity.noContent().build();
-        }
-        return ResponseEntity.badRequest().body(brandName + " was not deleted!");
+    @SqlBudget(maxStatements = 2)
+    public ResponseEntity<JobDTO> deleteBrand(@PathVariable("brandName") String brandName) {
+        return accepted(purgeService.purgeBrand(brandName));
     }
 
     @Operation(summary = "Add new brand", security = @SecurityRequirement(name = "bearerAuth"))
@@ -100,6 +201,7 @@ public class BrandController {
             @ApiResponse(responseCode = "400", description = "Invalid input parameters",
                     content = @Content(mediaType = "application/json"))})
     @PostMapping
+    @SqlBudget(maxStatements = 4)
     public ResponseEntity<?> addBrand(@RequestBody @Valid BrandDTO brandDTO, BindingResult bindingResult) {
         if (bindingResult.getFieldError("name") != null) {
             String errorMsg = bindingResult.getFieldError("name").getDefaultMessage();
@@ -121,6 +223,7 @@ public class BrandController {
             @ApiResponse(responseCode = "404", description = "Brands not found",
                     content = @Content(mediaType = "application/json"))})
     @PutMapping("/{brandName}")
+    @SqlBudget(maxStatements = 5)
     public ResponseEntity<?> updateBrand(@PathVariable("brandName") String brandName,
                                          @RequestBody @Valid BrandDTO brandDTO, BindingResult bindingResult) {
         if (bindingResult.hasFieldErrors("brandName")) {
@@ -1,5 +1,6 @@
 package ua.com.foxminded.carrestservice.controllers;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.headers.Header;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
@@ -9,24 +10,50 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.*;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ua.com.foxminded.carrestservice.dto.CarDTO;
+import ua.com.foxminded.carrestservice.dto.CarRegistrationResultDTO.Status;
+import ua.com.foxminded.carrestservice.dto.CarRegistrationResultDTO;
 import ua.com.foxminded.carrestservice.models.Car;
+import ua.com.foxminded.carrestservice.repositories.views.CarView;
 import ua.com.foxminded.carrestservice.services.CarService;
+import ua.com.foxminded.carrestservice.services.CatalogVersionService;
 import ua.com.foxminded.carrestservice.utils.DTOconverters.CarDTOConverter;
+import ua.com.foxminded.carrestservice.utils.cache.CarNearCache.CachedCar;
+import ua.com.foxminded.carrestservice.utils.cache.CarNearCache;
+import ua.com.foxminded.carrestservice.utils.cache.PlateSuggestIndex;
+import ua.com.foxminded.carrestservice.utils.cache.ResponseCache;
+import ua.com.foxminded.carrestservice.utils.exceptions.*;
+import ua.com.foxminded.carrestservice.utils.export.CarExportWriter;
+import ua.com.foxminded.carrestservice.utils.export.ExportFormat;
+import ua.com.foxminded.carrestservice.utils.filters.Filter;
+import ua.com.foxminded.carrestservice.utils.filters.FilterParams;
+import ua.com.foxminded.carrestservice.utils.filters.FilterTarget;
 import ua.com.foxminded.carrestservice.utils.specifications.CarSpecification;
+import ua.com.foxminded.carrestservice.utils.specifications.KeysetCursor;
 import ua.com.foxminded.carrestservice.utils.specifications.SortCriteria;
-import ua.com.foxminded.carrestservice.utils.exceptions.*;
+import ua.com.foxminded.carrestservice.utils.statements.SqlBudget;
 
 import java.net.URI;
-import java.util.List;
+import java.util.*;
 import java.util.stream.Collectors;
 
+import static ua.com.foxminded.carrestservice.repositories.versions.CatalogTable.*;
 import static ua.com.foxminded.carrestservice.utils.ControllerUtils.handleBindingErrors;
+import static ua.com.foxminded.carrestservice.utils.ControllerUtils.notModified;
+import static ua.com.foxminded.carrestservice.utils.ControllerUtils.sliceResponse;
 import static ua.com.foxminded.carrestservice.utils.DTOconverters.CarDTOConverter.*;
 
 @RestController
@@ -34,34 +61,112 @@ import static ua.com.foxminded.carrestservice.utils.DTOconverters.CarDTOConverte
 public class CarController {
 
     private final CarService carService;
+    private final CatalogVersionService catalogVersionService;
+    private final ResponseCache responseCache;
+    private final CarNearCache carNearCache;
+    private final PlateSuggestIndex plateSuggestIndex;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final int maxBatchSize;
     private final int PAGE_SIZE = 3;
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final CacheControl CACHE_CONTROL = CacheControl.noCache();
 
-    public CarController(CarService carService) {
+    public CarController(CarService carService, CatalogVersionService catalogVersionService, ResponseCache responseCache,
+                         CarNearCache carNearCache, PlateSuggestIndex plateSuggestIndex, Validator validator,
+                         ObjectMapper objectMapper, @Value("${car-service.batch.max-size}") int maxBatchSize) {
         this.carService = carService;
+        this.catalogVersionService = catalogVersionService;
+        this.responseCache = responseCache;
+        this.carNearCache = carNearCache;
+        this.plateSuggestIndex = plateSuggestIndex;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.maxBatchSize = maxBatchSize;
     }
 
     @Operation(summary = "Get all cars")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Found all cars",
+                    headers = {@Header(name = "X-Next-Cursor", description = "Cursor to pass as 'after' to get the next page"),
+                            @Header(name = "X-Has-Next", description = "Whether a next page exists"),
+                            @Header(name = "X-Total-Count", description = "Total number of cars, only with includeTotal=true and no filter"),
+                            @Header(name = "X-Total-Count-Estimated", description = "Whether X-Total-Count is a planner estimate")},
                     content = {@Content(mediaType = "application/json",
                             array = @ArraySchema(schema = @Schema(implementation = CarDTO.class)))}),
+            @ApiResponse(responseCode = "304", description = "Not modified since the ETag in If-None-Match",
+                    content = @Content),
+            @ApiResponse(responseCode = "400", description = "Invalid filter",
+                    content = @Content(mediaType = "application/json")),
             @ApiResponse(responseCode = "404", description = "Cars not found",
                     content = @Content(mediaType = "application/json"))})
     @GetMapping
-    public List<CarDTO> getCars(@RequestParam(defaultValue = "0") int page,
-                                @RequestParam(defaultValue = "brand") String filter,
-                                @RequestParam(defaultValue = "ASC") String sortDirection) {
+    @SqlBudget(maxStatements = 5)
+    public ResponseEntity<byte[]> getCars(@RequestParam(defaultValue = "0") int page,
+                                          @RequestParam(defaultValue = "brand") String filter,
+                                          @RequestParam(defaultValue = "ASC") String sortDirection,
+                                          @RequestParam(required = false) String after,
+                                          @RequestParam(defaultValue = "false") boolean includeTotal,
+                                          @ParameterObject FilterParams filterParams,
+                                          WebRequest request) {
+        Filter carFilter = Filter.parse(filterParams, FilterTarget.CARS);
+        String eTag = catalogVersionService.findVersions().eTag(CARS, MODELS, BRANDS, CATEGORIES, CATEGORY_MODEL);
+        return responseCache.get(request, eTag, CACHE_CONTROL, () -> {
+            SortCriteria sortCriteria = new SortCriteria(filter, sortDirection);
+            KeysetCursor cursor = after == null ? null : KeysetCursor.decode(after, sortCriteria);
+            Pageable pageable = PageRequest.of(cursor == null ? page : 0, PAGE_SIZE);
+            CarSpecification carSpec = new CarSpecification(sortCriteria, cursor, carFilter);
+            Slice<CarView> cars = carService.findAllViews(carSpec, pageable);
 
-        Pageable pageable = PageRequest.of(page, PAGE_SIZE);
-        SortCriteria sortCriteria = new SortCriteria(filter, sortDirection);
-        CarSpecification carSpec = new CarSpecification(sortCriteria);
-        List<Car> cars = carService.findAll(carSpec, pageable);
+            if (!cars.hasContent()) {
+                throw new CarNotFoundException("Cars was not found!");
+            }
 
-        if (cars.isEmpty()) {
-            throw new CarNotFoundException("Cars was not found!");
-        }
+            ResponseEntity.BodyBuilder response = sliceResponse(cars, includeTotal && carFilter.isEmpty(), carService::countAllViews)
+                    .eTag(eTag)
+                    .cacheControl(CACHE_CONTROL);
+            if (cars.hasNext()) {
+                response.header(NEXT_CURSOR_HEADER, carSpec.cursorAfter(cars.getContent().get(cars.getNumberOfElements() - 1)).encode());
+            }
+            return response.body(cars.stream().map(CarDTOConverter::convertToDTO).collect(Collectors.toList()));
+        });
+    }
+
+    @Operation(summary = "Export all cars")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Exported all cars",
+                    content = {@Content(mediaType = "application/x-ndjson",
+                            schema = @Schema(implementation = CarDTO.class)),
+                            @Content(mediaType = "text/csv")}),
+            @ApiResponse(responseCode = "400", description = "Unsupported export format",
+                    content = @Content(mediaType = "application/json"))})
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportCars(@RequestParam(defaultValue = "ndjson") String format) {
+        ExportFormat exportFormat = ExportFormat.of(format);
+        StreamingResponseBody body = out -> {
+            try (CarExportWriter writer = CarExportWriter.open(exportFormat, out, objectMapper)) {
+                carService.exportViews(car -> writer.writeUnchecked(convertToDTO(car)));
+            }
+        };
 
-        return cars.stream().map(CarDTOConverter::convertToDTO).collect(Collectors.toList());
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"cars." + exportFormat.getExtension() + "\"")
+                .body(body);
+    }
+
+    @Operation(summary = "Suggest car numbers starting with the prefix")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Found matching car numbers",
+                    content = {@Content(mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = String.class)))}),
+            @ApiResponse(responseCode = "400", description = "Invalid prefix or limit",
+                    content = @Content(mediaType = "application/json"))})
+    @GetMapping("/suggest")
+    @SqlBudget(maxStatements = 0)
+    public ResponseEntity<List<String>> suggestNumbers(@RequestParam String prefix,
+                                                       @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(plateSuggestIndex.suggest(prefix, limit));
     }
 
     @Operation(summary = "Get car by its number")
@@ -69,11 +174,23 @@ public class CarController {
             @ApiResponse(responseCode = "200", description = "Found the car",
                     content = {@Content(mediaType = "application/json",
                             schema = @Schema(implementation = CarDTO.class))}),
+            @ApiResponse(responseCode = "304", description = "Not modified since the ETag in If-None-Match",
+                    content = @Content),
             @ApiResponse(responseCode = "404", description = "Cars not found",
                     content = @Content(mediaType = "application/json"))})
     @GetMapping("/{number}")
-    public CarDTO getCarByNumber(@PathVariable("number") String number) {
-        return convertToDTO(carService.findByNumber(number));
+    @SqlBudget(maxStatements = 3)
+    public ResponseEntity<byte[]> getCarByNumber(@PathVariable("number") String number, WebRequest request) {
+        CachedCar car = carNearCache.find(number, catalogVersionService::findVersions, carService::findByNumber);
+        if (request.checkNotModified(car.eTag())) {
+            return notModified(car.eTag(), CACHE_CONTROL);
+        }
+
+        return ResponseEntity.ok()
+                .eTag(car.eTag())
+                .cacheControl(CACHE_CONTROL)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(car.body());
     }
 
     @Operation(summary = "Delete car by number", security = @SecurityRequirement(name = "bearerAuth"))
@@ -85,6 +202,7 @@ public class CarController {
             @ApiResponse(responseCode = "404", description = "Car not found",
                     content = @Content(mediaType = "application/json"))})
     @DeleteMapping("/{number}")
+    @SqlBudget(maxStatements = 3)
     public ResponseEntity<?> deleteCarByNumber(@PathVariable("number") String number) {
         if (carService.deleteByNumber(number) == 1) {
             return ResponseEntity.noContent().build();
@@ -101,6 +219,7 @@ public class CarController {
             @ApiResponse(responseCode = "400", description = "Invalid input parameters",
                     content = @Content(mediaType = "application/json"))})
     @PostMapping
+    @SqlBudget(maxStatements = 4)
     public ResponseEntity<?> registerCar(@RequestBody @Valid CarDTO carDTO, BindingResult bindingResult) {
         handleBindingErrors(bindingResult);
         Car car = convertFromDTO(carDTO);
@@ -114,6 +233,63 @@ public class CarController {
         return ResponseEntity.created(URI.create("/cars/" + car.getNumber())).build();
     }
 
+    @Operation(summary = "Add a batch of new cars", security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Result of the registration for every car of the batch",
+                    content = {@Content(mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = CarRegistrationResultDTO.class)))}),
+            @ApiResponse(responseCode = "400", description = "Batch is too large",
+                    content = @Content(mediaType = "application/json"))})
+    @PostMapping("/batch")
+    public ResponseEntity<List<CarRegistrationResultDTO>> registerCars(@RequestBody List<CarDTO> carDTOs) {
+        if (carDTOs.size() > maxBatchSize) {
+            throw new CarDataException("Batch should contain at most " + maxBatchSize + " cars!");
+        }
+
+        CarRegistrationResultDTO[] results = new CarRegistrationResultDTO[carDTOs.size()];
+        Map<Integer, Car> accepted = new LinkedHashMap<>();
+        Set<String> numbers = new HashSet<>();
+
+        for (int i = 0; i < carDTOs.size(); i++) {
+            CarDTO carDTO = carDTOs.get(i);
+            if (carDTO == null) {
+                results[i] = new CarRegistrationResultDTO(i, null, Status.INVALID, "Car should not be empty!");
+                continue;
+            }
+
+            String violations = validator.validate(carDTO).stream()
+                    .map(violation -> violation.getPropertyPath() + " - " + violation.getMessage() + ";")
+                    .sorted()
+                    .collect(Collectors.joining());
+            if (!violations.isEmpty()) {
+                results[i] = new CarRegistrationResultDTO(i, carDTO.getNumber(), Status.INVALID, violations);
+            } else if (!numbers.add(carDTO.getNumber())) {
+                results[i] = new CarRegistrationResultDTO(i, carDTO.getNumber(), Status.DUPLICATE_NUMBER,
+                        "Car with number " + carDTO.getNumber() + " is repeated in the batch!");
+            } else {
+                try {
+                    accepted.put(i, convertFromDTO(carDTO));
+                } catch (ModelNotFoundException e) {
+                    results[i] = new CarRegistrationResultDTO(i, carDTO.getNumber(), Status.UNKNOWN_MODEL, e.getMessage());
+                }
+            }
+        }
+
+        Set<String> existing;
+        try {
+            existing = carService.saveAllNew(new ArrayList<>(accepted.values()));
+        } catch (DataIntegrityViolationException e) {
+            throw new CarDataException("Cars of the batch were registered concurrently, please retry!");
+        }
+
+        accepted.forEach((i, car) -> results[i] = existing.contains(car.getNumber())
+                ? new CarRegistrationResultDTO(i, car.getNumber(), Status.DUPLICATE_NUMBER,
+                "Car with number " + car.getNumber() + " already exists!")
+                : new CarRegistrationResultDTO(i, car.getNumber(), Status.CREATED, null));
+
+        return ResponseEntity.ok(Arrays.asList(results));
+    }
+
     @Operation(summary = "Update car number", security = @SecurityRequirement(name = "bearerAuth"))
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Update the car",
@@ -125,6 +301,7 @@ public class CarController {
             @ApiResponse(responseCode = "404", description = "Cars not found",
                     content = @Content(mediaType = "application/json"))})
     @PutMapping("/{number}")
+    @SqlBudget(maxStatements = 3)
     public ResponseEntity<?> updateCar(@RequestBody @Valid CarDTO carDTO, BindingResult bindingResult, @PathVariable("number") String number) {
         if (bindingResult.hasFieldErrors("number")) {
             String errorMsg = bindingResult.getFieldError("number").getDefaultMessage();
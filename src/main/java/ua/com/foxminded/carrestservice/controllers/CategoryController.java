@@ -9,25 +9,49 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import ua.com.foxminded.carrestservice.dto.CarDTO;
 import ua.com.foxminded.carrestservice.dto.CategoryDTO;
+import ua.com.foxminded.carrestservice.dto.ModelDTO;
 import ua.com.foxminded.carrestservice.models.Category;
+import ua.com.foxminded.carrestservice.repositories.views.CategoryView;
+import ua.com.foxminded.carrestservice.repositories.views.ModelView;
+import ua.com.foxminded.carrestservice.services.CatalogVersionService;
 import ua.com.foxminded.carrestservice.services.CategoryService;
+import ua.com.foxminded.carrestservice.services.ModelService;
 import ua.com.foxminded.carrestservice.utils.DTOconverters.CategoryDTOConverter;
+import ua.com.foxminded.carrestservice.utils.DTOconverters.ModelDTOConverter;
+import ua.com.foxminded.carrestservice.utils.cache.ResponseCache;
 import ua.com.foxminded.carrestservice.utils.exceptions.CarDataException;
 import ua.com.foxminded.carrestservice.utils.exceptions.CategoryNotFoundException;
+import ua.com.foxminded.carrestservice.utils.exceptions.ModelNotFoundException;
 import ua.com.foxminded.carrestservice.utils.specifications.CategorySpecification;
+import ua.com.foxminded.carrestservice.utils.specifications.KeysetCursor;
+import ua.com.foxminded.carrestservice.utils.specifications.ModelScope;
+import ua.com.foxminded.carrestservice.utils.specifications.ModelSpecification;
 import ua.com.foxminded.carrestservice.utils.specifications.SortCriteria;
+import ua.com.foxminded.carrestservice.utils.statements.SqlBudget;
 
 import java.net.URI;
+import java.time.Duration;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
+import static ua.com.foxminded.carrestservice.repositories.versions.CatalogTable.*;
+import static ua.com.foxminded.carrestservice.repositories.versions.CatalogVersions.eTagOf;
+import static ua.com.foxminded.carrestservice.utils.ControllerUtils.HAS_NEXT_HEADER;
+import static ua.com.foxminded.carrestservice.utils.ControllerUtils.notModified;
+import static ua.com.foxminded.carrestservice.utils.ControllerUtils.referenceDataCacheControl;
+import static ua.com.foxminded.carrestservice.utils.ControllerUtils.sliceResponse;
 import static ua.com.foxminded.carrestservice.utils.DTOconverters.CategoryDTOConverter.convertFromDTO;
 import static ua.com.foxminded.carrestservice.utils.DTOconverters.CategoryDTOConverter.convertToDTO;
 
@@ -35,32 +59,99 @@ import static ua.com.foxminded.carrestservice.utils.DTOconverters.CategoryDTOCon
 @RequestMapping("/api/v1/categories")
 public class CategoryController {
     private final CategoryService categoryService;
+    private final ModelService modelService;
+    private final CatalogVersionService catalogVersionService;
+    private final ResponseCache responseCache;
+    private final CacheControl cacheControl;
     private final int PAGE_SIZE = 3;
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
 
-    public CategoryController(CategoryService categoryService) {
+    public CategoryController(CategoryService categoryService, ModelService modelService,
+                              CatalogVersionService catalogVersionService, ResponseCache responseCache,
+                              @Value("${car-service.http.reference-data-max-age}") Duration maxAge) {
         this.categoryService = categoryService;
+        this.modelService = modelService;
+        this.catalogVersionService = catalogVersionService;
+        this.responseCache = responseCache;
+        this.cacheControl = referenceDataCacheControl(maxAge);
     }
 
     @Operation(summary = "Get all categories")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Found all categories",
+                    headers = {@Header(name = "X-Has-Next", description = "Whether a next page exists"),
+                            @Header(name = "X-Total-Count", description = "Total number of categories, only with includeTotal=true"),
+                            @Header(name = "X-Total-Count-Estimated", description = "Whether X-Total-Count is a planner estimate")},
                     content = {@Content(mediaType = "application/json",
                             array = @ArraySchema(schema = @Schema(implementation = CategoryDTO.class)))}),
+            @ApiResponse(responseCode = "304", description = "Not modified since the ETag in If-None-Match",
+                    content = @Content),
             @ApiResponse(responseCode = "404", description = "Categories not found",
                     content = @Content(mediaType = "application/json"))})
     @GetMapping
-    public List<CategoryDTO> getAllCategories(@RequestParam(defaultValue = "ASC") String sortDirection,
-                                              @RequestParam(defaultValue = "0") int page) {
-        Pageable pageable = PageRequest.of(page, PAGE_SIZE);
-        SortCriteria sortCriteria = new SortCriteria("none", sortDirection);
-        CategorySpecification spec = new CategorySpecification(sortCriteria);
-
-        List<Category> categories = categoryService.findAll(spec, pageable);
-        if (categories.isEmpty()) {
-            throw new CategoryNotFoundException("Categories was not found!");
-        }
+    @SqlBudget(maxStatements = 5)
+    public ResponseEntity<byte[]> getAllCategories(@RequestParam(defaultValue = "ASC") String sortDirection,
+                                                   @RequestParam(defaultValue = "0") int page,
+                                                   @RequestParam(defaultValue = "false") boolean includeTotal,
+                                                   WebRequest request) {
+        String eTag = catalogVersionService.findVersions().eTag(CATEGORIES);
+        return responseCache.get(request, eTag, cacheControl, () -> {
+            Pageable pageable = PageRequest.of(page, PAGE_SIZE);
+            SortCriteria sortCriteria = new SortCriteria("none", sortDirection);
+            CategorySpecification spec = new CategorySpecification(sortCriteria);
+
+            Slice<CategoryView> categories = categoryService.findAllViews(spec, pageable);
+            if (!categories.hasContent()) {
+                throw new CategoryNotFoundException("Categories was not found!");
+            }
+
+            return sliceResponse(categories, includeTotal, categoryService::countAllViews)
+                    .eTag(eTag)
+                    .cacheControl(cacheControl)
+                    .body(categories.stream().map(CategoryDTOConverter::convertToDTO).collect(Collectors.toList()));
+        });
+    }
+
+    @Operation(summary = "Get models of the category")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Found the models",
+                    headers = {@Header(name = "X-Next-Cursor", description = "Cursor to pass as 'after' to get the next page"),
+                            @Header(name = "X-Has-Next", description = "Whether a next page exists")},
+                    content = {@Content(mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = ModelDTO.class)))}),
+            @ApiResponse(responseCode = "304", description = "Not modified since the ETag in If-None-Match",
+                    content = @Content),
+            @ApiResponse(responseCode = "404", description = "Category or its models not found",
+                    content = @Content(mediaType = "application/json"))})
+    @GetMapping("/{category}/models")
+    @SqlBudget(maxStatements = 4)
+    public ResponseEntity<byte[]> getCategoryModels(@PathVariable("category") String category,
+                                                   @RequestParam(defaultValue = "model") String filter,
+                                                   @RequestParam(defaultValue = "ASC") String sortDirection,
+                                                   @RequestParam(required = false) String after,
+                                                   WebRequest request) {
+        Long categoryId = categoryService.findIdsByNames(Set.of(category)).get(category)
+                .orElseThrow(() -> new CategoryNotFoundException("Category " + category + " was not found!"));
+        String eTag = catalogVersionService.findVersions().eTag(MODELS, BRANDS, CATEGORIES, CATEGORY_MODEL);
+        return responseCache.get(request, eTag, cacheControl, () -> {
+            SortCriteria sortCriteria = new SortCriteria(filter, sortDirection);
+            KeysetCursor cursor = after == null ? null : KeysetCursor.decode(after, sortCriteria);
+            ModelSpecification modelSpecification = new ModelSpecification(sortCriteria, cursor, ModelScope.ofCategory(categoryId));
+            Slice<ModelView> models = modelService.findAllViews(modelSpecification, PageRequest.of(0, PAGE_SIZE));
+
+            if (!models.hasContent()) {
+                throw new ModelNotFoundException("Models was not found!");
+            }
 
-        return categories.stream().map(CategoryDTOConverter::convertToDTO).collect(Collectors.toList());
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                    .header(HAS_NEXT_HEADER, String.valueOf(models.hasNext()))
+                    .eTag(eTag)
+                    .cacheControl(cacheControl);
+            if (models.hasNext()) {
+                response.header(NEXT_CURSOR_HEADER, modelSpecification.cursorAfter(models.getContent().get(models.getNumberOfElements() - 1)).encode());
+            }
+            return response.body(models.stream().map(ModelDTOConverter::convertToDTO).collect(Collectors.toList()));
+        });
     }
 
     @Operation(summary = "Get category by its name")
@@ -68,12 +159,21 @@ public class CategoryController {
             @ApiResponse(responseCode = "200", description = "Found the category",
                     content = {@Content(mediaType = "application/json",
                             schema = @Schema(implementation = CategoryDTO.class))}),
+            @ApiResponse(responseCode = "304", description = "Not modified since the ETag in If-None-Match",
+                    content = @Content),
             @ApiResponse(responseCode = "404", description = "Categories not found",
                     content = @Content(mediaType = "application/json"))})
     @GetMapping("/{category}")
-    public CategoryDTO getOneCategory(@PathVariable("category") String category) {
-        return convertToDTO(categoryService.findByName(category)
-                .orElseThrow(() -> new CategoryNotFoundException("Category " + category + " was not found!")));
+    @SqlBudget(maxStatements = 3)
+    public ResponseEntity<CategoryDTO> getOneCategory(@PathVariable("category") String category, WebRequest request) {
+        Category found = categoryService.findByName(category)
+                .orElseThrow(() -> new CategoryNotFoundException("Category " + category + " was not found!"));
+        String eTag = eTagOf(found.getId(), found.getVersion());
+        if (request.checkNotModified(eTag)) {
+            return notModified(eTag, cacheControl);
+        }
+
+        return ResponseEntity.ok().eTag(eTag).cacheControl(cacheControl).body(convertToDTO(found));
     }
 
     @Operation(summary = "Delete category by name", security = @SecurityRequirement(name = "bearerAuth"))
@@ -100,6 +200,7 @@ public class CategoryController {
             @ApiResponse(responseCode = "400", description = "Invalid input parameters",
                     content = @Content(mediaType = "application/json"))})
     @PostMapping
+    @SqlBudget(maxStatements = 4)
     public ResponseEntity<?> addCategory(@RequestBody @Valid CategoryDTO categoryDTO, BindingResult bindingResult) {
         Category category = convertFromDTO(categoryDTO);
         categoryService.save(category);
@@ -117,6 +218,7 @@ public class CategoryController {
             @ApiResponse(responseCode = "404", description = "Categories not found",
                     content = @Content(mediaType = "application/json"))})
     @PutMapping("/{category}")
+    @SqlBudget(maxStatements = 5)
     public ResponseEntity<?> updateCategory(@RequestBody @Valid CategoryDTO categoryDTO,
                                             BindingResult bindingResult,
                                             @PathVariable("category") String categoryName) {
@@ -0,0 +1,52 @@
+package ua.com.foxminded.carrestservice.controllers;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.headers.Header;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import ua.com.foxminded.carrestservice.dto.JobDTO;
+import ua.com.foxminded.carrestservice.services.ImportService;
+
+import java.io.InputStream;
+
+import static ua.com.foxminded.carrestservice.utils.ControllerUtils.accepted;
+
+@RestController
+@RequestMapping("/api/v1/imports")
+public class ImportController {
+
+    private final ImportService importService;
+
+    public ImportController(ImportService importService) {
+        this.importService = importService;
+    }
+
+    @Operation(summary = "Import cars from CSV (number,brandName,modelName,productionYear)",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Import job was started",
+                    headers = @Header(name = "Location", description = "URI of the import job"),
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = JobDTO.class)))})
+    @PostMapping(value = "/cars", consumes = "text/csv")
+    public ResponseEntity<JobDTO> importCars(InputStream csv) {
+        return accepted(importService.importCars(csv));
+    }
+
+    @Operation(summary = "Import models from CSV (brandName,modelName,productionYear,categories separated by ';')",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Import job was started",
+                    headers = @Header(name = "Location", description = "URI of the import job"),
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = JobDTO.class)))})
+    @PostMapping(value = "/models", consumes = "text/csv")
+    public ResponseEntity<JobDTO> importModels(InputStream csv) {
+        return accepted(importService.importModels(csv));
+    }
+}
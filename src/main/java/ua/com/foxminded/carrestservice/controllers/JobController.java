@@ -0,0 +1,63 @@
+package ua.com.foxminded.carrestservice.controllers;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import ua.com.foxminded.carrestservice.dto.JobDTO;
+import ua.com.foxminded.carrestservice.utils.jobs.JobRegistry;
+import ua.com.foxminded.carrestservice.utils.jobs.JobReportEntry;
+
+import java.util.UUID;
+
+import static ua.com.foxminded.carrestservice.utils.DTOconverters.JobDTOConverter.convertToDTO;
+
+@RestController
+@RequestMapping("/api/v1/jobs")
+public class JobController {
+
+    private final JobRegistry jobRegistry;
+
+    public JobController(JobRegistry jobRegistry) {
+        this.jobRegistry = jobRegistry;
+    }
+
+    @Operation(summary = "Get job status and progress")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Found the job",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = JobDTO.class))),
+            @ApiResponse(responseCode = "404", description = "Job not found",
+                    content = @Content(mediaType = "application/json"))})
+    @GetMapping("/{id}")
+    public JobDTO getJob(@PathVariable("id") UUID id) {
+        return convertToDTO(jobRegistry.find(id));
+    }
+
+    @Operation(summary = "Get rows rejected by the job as CSV (line,key,reason)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Found the job report",
+                    content = @Content(mediaType = "text/csv")),
+            @ApiResponse(responseCode = "404", description = "Job not found",
+                    content = @Content(mediaType = "application/json"))})
+    @GetMapping("/{id}/report")
+    public ResponseEntity<String> getJobReport(@PathVariable("id") UUID id) {
+        StringBuilder report = new StringBuilder("line,key,reason\n");
+        for (JobReportEntry entry : jobRegistry.find(id).getReport()) {
+            report.append(entry.line()).append(',')
+                    .append(quote(entry.key())).append(',')
+                    .append(quote(entry.reason())).append('\n');
+        }
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType("text/csv")).body(report.toString());
+    }
+
+    private static String quote(String value) {
+        return '"' + (value == null ? "" : value.replace("\"", "\"\"")) + '"';
+    }
+}
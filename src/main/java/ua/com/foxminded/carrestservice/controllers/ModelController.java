@@ -9,24 +9,58 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import jakarta.validation.Valid;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import ua.com.foxminded.carrestservice.dto.JobDTO;
 import ua.com.foxminded.carrestservice.dto.ModelDTO;
 import ua.com.foxminded.carrestservice.models.Model;
+import ua.com.foxminded.carrestservice.repositories.views.ModelView;
+import ua.com.foxminded.carrestservice.services.CatalogVersionService;
+import ua.com.foxminded.carrestservice.services.CategoryService;
 import ua.com.foxminded.carrestservice.services.ModelService;
+import ua.com.foxminded.carrestservice.services.PurgeService;
 import ua.com.foxminded.carrestservice.utils.DTOconverters.ModelDTOConverter;
+import ua.com.foxminded.carrestservice.utils.cache.CategoryBitmapIndex.Match;
+import ua.com.foxminded.carrestservice.utils.cache.CategoryBitmapIndex.ModelIdPage;
+import ua.com.foxminded.carrestservice.utils.cache.ModelNameIndex.NameMatches;
+import ua.com.foxminded.carrestservice.utils.cache.ResponseCache;
+import ua.com.foxminded.carrestservice.utils.exceptions.CategoryNotFoundException;
+import ua.com.foxminded.carrestservice.utils.exceptions.InvalidFilterException;
 import ua.com.foxminded.carrestservice.utils.exceptions.ModelNotFoundException;
+import ua.com.foxminded.carrestservice.utils.filters.Filter;
+import ua.com.foxminded.carrestservice.utils.filters.FilterParams;
+import ua.com.foxminded.carrestservice.utils.filters.FilterTarget;
+import ua.com.foxminded.carrestservice.utils.specifications.KeysetCursor;
+import ua.com.foxminded.carrestservice.utils.specifications.ModelScope;
 import ua.com.foxminded.carrestservice.utils.specifications.ModelSpecification;
 import ua.com.foxminded.carrestservice.utils.specifications.SortCriteria;
+import ua.com.foxminded.carrestservice.utils.statements.SqlBudget;
 
 import java.net.URI;
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import static ua.com.foxminded.carrestservice.repositories.versions.CatalogTable.*;
+import static ua.com.foxminded.carrestservice.utils.ControllerUtils.HAS_NEXT_HEADER;
+import static ua.com.foxminded.carrestservice.utils.ControllerUtils.TOTAL_COUNT_HEADER;
+import static ua.com.foxminded.carrestservice.utils.ControllerUtils.accepted;
 import static ua.com.foxminded.carrestservice.utils.ControllerUtils.handleBindingErrors;
+import static ua.com.foxminded.carrestservice.utils.ControllerUtils.notModified;
+import static ua.com.foxminded.carrestservice.utils.ControllerUtils.referenceDataCacheControl;
+import static ua.com.foxminded.carrestservice.utils.ControllerUtils.sliceResponse;
 import static ua.com.foxminded.carrestservice.utils.DTOconverters.ModelDTOConverter.convertFromDTO;
 import static ua.com.foxminded.carrestservice.utils.DTOconverters.ModelDTOConverter.convertToDTO;
 
@@ -35,34 +69,158 @@ import static ua.com.foxminded.carrestservice.utils.DTOconverters.ModelDTOConver
 public class ModelController {
 
     private final ModelService modelService;
+    private final CategoryService categoryService;
+    private final PurgeService purgeService;
+    private final CatalogVersionService catalogVersionService;
+    private final ResponseCache responseCache;
+    private final CacheControl cacheControl;
     private final int PAGE_SIZE = 3;
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final SortCriteria ID_ORDER = new SortCriteria("id", "ASC");
 
-    public ModelController(ModelService modelService) {
+    public ModelController(ModelService modelService, CategoryService categoryService, PurgeService purgeService,
+                           CatalogVersionService catalogVersionService, ResponseCache responseCache,
+                           @Value("${car-service.http.reference-data-max-age}") Duration maxAge) {
         this.modelService = modelService;
+        this.categoryService = categoryService;
+        this.purgeService = purgeService;
+        this.catalogVersionService = catalogVersionService;
+        this.responseCache = responseCache;
+        this.cacheControl = referenceDataCacheControl(maxAge);
     }
 
     @Operation(summary = "Get all models")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Found all models",
+                    headers = {@Header(name = "X-Next-Cursor", description = "Cursor to pass as 'after' to get the next page"),
+                            @Header(name = "X-Has-Next", description = "Whether a next page exists"),
+                            @Header(name = "X-Total-Count", description = "Total number of models, only with includeTotal=true and no filter"),
+                            @Header(name = "X-Total-Count-Estimated", description = "Whether X-Total-Count is a planner estimate")},
                     content = {@Content(mediaType = "application/json",
                             array = @ArraySchema(schema = @Schema(implementation = ModelDTO.class)))}),
+            @ApiResponse(responseCode = "304", description = "Not modified since the ETag in If-None-Match",
+                    content = @Content),
+            @ApiResponse(responseCode = "400", description = "Invalid filter",
+                    content = @Content(mediaType = "application/json")),
             @ApiResponse(responseCode = "404", description = "Models not found",
                     content = @Content(mediaType = "application/json"))})
     @GetMapping
-    public List<ModelDTO> getModels(@RequestParam(defaultValue = "0") int page,
-                                    @RequestParam(defaultValue = "model") String filter,
-                                    @RequestParam(defaultValue = "ASC") String sortDirection) {
+    @SqlBudget(maxStatements = 6)
+    public ResponseEntity<byte[]> getModels(@RequestParam(defaultValue = "0") int page,
+                                            @RequestParam(defaultValue = "model") String filter,
+                                            @RequestParam(defaultValue = "ASC") String sortDirection,
+                                            @RequestParam(required = false) String after,
+                                            @RequestParam(defaultValue = "false") boolean includeTotal,
+                                            @ParameterObject FilterParams filterParams,
+                                            WebRequest request) {
+        Filter modelFilter = Filter.parse(filterParams, FilterTarget.MODELS);
+        String eTag = catalogVersionService.findVersions().eTag(MODELS, BRANDS, CATEGORIES, CATEGORY_MODEL);
+        return responseCache.get(request, eTag, cacheControl, () -> {
+            SortCriteria sortCriteria = new SortCriteria(filter, sortDirection);
+            KeysetCursor cursor = after == null ? null : KeysetCursor.decode(after, sortCriteria);
+            Pageable pageable = PageRequest.of(cursor == null ? page : 0, PAGE_SIZE);
+            ModelSpecification modelSpecification = new ModelSpecification(sortCriteria, cursor, ModelScope.ALL, modelFilter);
+            Slice<ModelView> models = modelService.findAllViews(modelSpecification, pageable);
 
-        Pageable pageable = PageRequest.of(page, PAGE_SIZE);
-        SortCriteria sortCriteria = new SortCriteria(filter, sortDirection);
-        ModelSpecification modelSpecification = new ModelSpecification(sortCriteria);
-        List<Model> models = modelService.findAll(modelSpecification, pageable);
+            if (!models.hasContent()) {
+                throw new ModelNotFoundException("Models was not found!");
+            }
+
+            boolean total = includeTotal && modelFilter.isEmpty();
+            ResponseEntity.BodyBuilder response = sliceResponse(models, total, modelService::countAllViews)
+                    .eTag(eTag)
+                    .cacheControl(cacheControl);
+            if (models.hasNext()) {
+                response.header(NEXT_CURSOR_HEADER, modelSpecification.cursorAfter(models.getContent().get(models.getNumberOfElements() - 1)).encode());
+            }
+            return response.body(models.stream().map(ModelDTOConverter::convertToDTO).collect(Collectors.toList()));
+        });
+    }
 
-        if (models.isEmpty()) {
-            throw new ModelNotFoundException("Models was not found!");
+    @Operation(summary = "Get models by category membership")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Found the models in all 'all' categories, " +
+                    "at least one 'any' category and no 'none' category, ordered by id",
+                    headers = {@Header(name = "X-Next-Cursor", description = "Cursor to pass as 'after' to get the next page"),
+                            @Header(name = "X-Has-Next", description = "Whether a next page exists"),
+                            @Header(name = "X-Total-Count", description = "Number of matching models")},
+                    content = {@Content(mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = ModelDTO.class)))}),
+            @ApiResponse(responseCode = "304", description = "Not modified since the ETag in If-None-Match",
+                    content = @Content),
+            @ApiResponse(responseCode = "400", description = "No category given",
+                    content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "404", description = "Category or models not found",
+                    content = @Content(mediaType = "application/json"))})
+    @GetMapping("/by-categories")
+    @SqlBudget(maxStatements = 8)
+    public ResponseEntity<byte[]> getModelsByCategories(@RequestParam(defaultValue = "") List<String> all,
+                                                        @RequestParam(defaultValue = "") List<String> any,
+                                                        @RequestParam(defaultValue = "") List<String> none,
+                                                        @RequestParam(required = false) String after,
+                                                        WebRequest request) {
+        if (all.isEmpty() && any.isEmpty() && none.isEmpty()) {
+            throw new InvalidFilterException("At least one of all, any or none categories should be given");
         }
+        Map<String, Optional<Long>> categoryIds = categoryService.findIdsByNames(
+                Stream.of(all, any, none).flatMap(List::stream).collect(Collectors.toSet()));
+        Match match = new Match(idsOf(all, categoryIds), idsOf(any, categoryIds), idsOf(none, categoryIds));
+        String eTag = catalogVersionService.findVersions().eTag(MODELS, BRANDS, CATEGORIES, CATEGORY_MODEL);
+        Long afterId = after == null ? null : KeysetCursor.decode(after, ID_ORDER).getId();
+        return responseCache.get(request, eTag, cacheControl, () -> {
+            ModelIdPage page = modelService.findIdsByCategories(match, afterId, PAGE_SIZE);
+            if (page.ids().isEmpty()) {
+                throw new ModelNotFoundException("Models was not found!");
+            }
+            List<ModelView> models = modelService.findAllViewsByIds(page.ids());
 
-        return models.stream().map(ModelDTOConverter::convertToDTO).collect(Collectors.toList());
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                    .header(HAS_NEXT_HEADER, String.valueOf(page.hasNext()))
+                    .header(TOTAL_COUNT_HEADER, String.valueOf(page.total()));
+            if (page.upToDate()) {
+                response.eTag(eTag).cacheControl(cacheControl);
+            } else {
+                response.cacheControl(CacheControl.noStore());
+            }
+            if (page.hasNext()) {
+                Long lastId = page.ids().get(page.ids().size() - 1);
+                response.header(NEXT_CURSOR_HEADER, new KeysetCursor(ID_ORDER, lastId, lastId).encode());
+            }
+            return response.body(models.stream().map(ModelDTOConverter::convertToDTO).collect(Collectors.toList()));
+        });
+    }
+
+    @Operation(summary = "Search models by approximate brand and model name")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Found the models with names similar to q, best matches first",
+                    content = {@Content(mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = ModelDTO.class)))}),
+            @ApiResponse(responseCode = "304", description = "Not modified since the ETag in If-None-Match",
+                    content = @Content),
+            @ApiResponse(responseCode = "400", description = "Query is too short or limit is out of range",
+                    content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "404", description = "Models not found",
+                    content = @Content(mediaType = "application/json"))})
+    @GetMapping("/search")
+    @SqlBudget(maxStatements = 5)
+    public ResponseEntity<byte[]> searchModels(@RequestParam String q,
+                                               @RequestParam(defaultValue = "10") int limit,
+                                               WebRequest request) {
+        String eTag = catalogVersionService.findVersions().eTag(MODELS, BRANDS, CATEGORIES, CATEGORY_MODEL);
+        return responseCache.get(request, eTag, cacheControl, () -> {
+            NameMatches matches = modelService.findIdsByName(q, limit);
+            List<ModelView> models = modelService.findAllViewsByIds(matches.ids());
+            if (models.isEmpty()) {
+                throw new ModelNotFoundException("Models was not found!");
+            }
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (matches.upToDate()) {
+                response.eTag(eTag).cacheControl(cacheControl);
+            } else {
+                response.cacheControl(CacheControl.noStore());
+            }
+            return response.body(models.stream().map(ModelDTOConverter::convertToDTO).collect(Collectors.toList()));
+        });
     }
 
     @Operation(summary = "Get one model")
@@ -70,33 +228,40 @@ public class ModelController {
             @ApiResponse(responseCode = "200", description = "Found the model",
                     content = {@Content(mediaType = "application/json",
                             schema = @Schema(implementation = ModelDTO.class))}),
+            @ApiResponse(responseCode = "304", description = "Not modified since the ETag in If-None-Match",
+                    content = @Content),
             @ApiResponse(responseCode = "404", description = "Models not found",
                     content = @Content(mediaType = "application/json"))})
     @GetMapping("/{brand}/{model}/{year}")
-    public ModelDTO getOneModel(@PathVariable("brand") String brand,
-                                @PathVariable("model") String model,
-                                @PathVariable("year") int year) {
-        return convertToDTO(modelService.findByNameAndProductionYearAndBrandName(model, year, brand)
-                .orElseThrow(() -> new ModelNotFoundException("Model was not found.")));
+    @SqlBudget(maxStatements = 3)
+    public ResponseEntity<ModelDTO> getOneModel(@PathVariable("brand") String brand,
+                                                @PathVariable("model") String model,
+                                                @PathVariable("year") int year,
+                                                WebRequest request) {
+        Model found = modelService.findByNameAndProductionYearAndBrandName(model, year, brand)
+                .orElseThrow(() -> new ModelNotFoundException("Model was not found."));
+        String eTag = catalogVersionService.findVersions()
+                .eTag(found.getId(), found.getVersion(), BRANDS, CATEGORIES, CATEGORY_MODEL);
+        if (request.checkNotModified(eTag)) {
+            return notModified(eTag, cacheControl);
+        }
+
+        return ResponseEntity.ok().eTag(eTag).cacheControl(cacheControl).body(convertToDTO(found));
     }
 
-    @Operation(summary = "Delete model", security = @SecurityRequirement(name = "bearerAuth"))
+    @Operation(summary = "Purge model with its cars", security = @SecurityRequirement(name = "bearerAuth"))
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "204", description = "Delete the model",
-                    content = @Content),
-            @ApiResponse(responseCode = "400", description = "Model was not deleted",
-                    content = @Content(mediaType = "text/plain")),
+            @ApiResponse(responseCode = "202", description = "Purge job was started, the model is hidden until it completes",
+                    headers = @Header(name = "Location", description = "URI of the purge job"),
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = JobDTO.class))),
             @ApiResponse(responseCode = "404", description = "Model not found",
                     content = @Content(mediaType = "application/json"))})
     @DeleteMapping("/{brand}/{model}/{year}")
-    public ResponseEntity<?> deleteModel(@PathVariable("brand") String brand,
-                                         @PathVariable("model") String model,
-                                         @PathVariable("year") int year) {
-        if (modelService.delete(brand, year, model) == 1) {
-            return ResponseEntity.noContent().build();
-        }
-        String message = "Model was not found.";
-        return ResponseEntity.badRequest().body(message);
+    @SqlBudget(maxStatements = 2)
+    public ResponseEntity<JobDTO> deleteModel(@PathVariable("brand") String brand,
+                                              @PathVariable("model") String model,
+                                              @PathVariable("year") int year) {
+        return accepted(purgeService.purgeModel(brand, year, model));
     }
 
     @Operation(summary = "Add new model", security = @SecurityRequirement(name = "bearerAuth"))
@@ -107,6 +272,7 @@ public class ModelController {
             @ApiResponse(responseCode = "400", description = "Invalid input parameters",
                     content = @Content(mediaType = "application/json"))})
     @PostMapping
+    @SqlBudget(maxStatements = 6)
     public ResponseEntity<?> addModel(@RequestBody @Valid ModelDTO modelDTO, BindingResult bindingResult) {
         handleBindingErrors(bindingResult);
 
@@ -128,6 +294,7 @@ public class ModelController {
             @ApiResponse(responseCode = "404", description = "Models not found",
                     content = @Content(mediaType = "application/json"))})
     @PutMapping("/{brand}/{modelName}/{year}")
+    @SqlBudget(maxStatements = 7)
     public ResponseEntity<?> updateModel(@RequestBody @Valid ModelDTO modelDTO,
                                          BindingResult bindingResult,
                                          @PathVariable("brand") String brand,
@@ -142,4 +309,11 @@ public class ModelController {
         modelService.update(oldModel, updatedModel);
         return ResponseEntity.ok(updatedModel);
     }
-}
\ No newline at end of file
+
+    private static Set<Long> idsOf(List<String> names, Map<String, Optional<Long>> categoryIds) {
+        return names.stream()
+                .map(name -> categoryIds.get(name)
+                        .orElseThrow(() -> new CategoryNotFoundException("Category " + name + " was not found!")))
+                .collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,24 @@
+package ua.com.foxminded.carrestservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class CarRegistrationResultDTO {
+    private int index;
+    private String number;
+    private Status status;
+    private String message;
+
+    public enum Status {
+        CREATED,
+        INVALID,
+        DUPLICATE_NUMBER,
+        UNKNOWN_MODEL
+    }
+}
@@ -0,0 +1,27 @@
+package ua.com.foxminded.carrestservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class JobDTO {
+    private UUID id;
+    private String type;
+    private String status;
+    private String phase;
+    private long processed;
+    private long total;
+    private Map<String, Long> counters;
+    private String message;
+    private Instant createdAt;
+    private Instant finishedAt;
+}
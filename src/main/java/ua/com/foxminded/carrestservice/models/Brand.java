@@ -2,11 +2,16 @@ package ua.com.foxminded.carrestservice.models;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
 
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @NoArgsConstructor
 @Getter
 @Setter
@@ -15,16 +20,27 @@ import java.util.Set;
 @Table(name = "brands")
 public class Brand {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "brands_seq")
+    @SequenceGenerator(name = "brands_seq", sequenceName = "brands_brand_id_seq", allocationSize = 50)
     @Column(name = "brand_id")
     private Long id;
 
     @Column(nullable = false)
     private String name;
 
+    @EqualsAndHashCode.Exclude
+    @Column(nullable = false)
+    private boolean purging;
+
+    @Version
+    @EqualsAndHashCode.Exclude
+    @Column(nullable = false)
+    private Long version;
+
     @EqualsAndHashCode.Exclude
     @ToString.Exclude
-    @OneToMany(mappedBy = "brand", fetch = FetchType.LAZY, cascade = CascadeType.REMOVE)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @OneToMany(mappedBy = "brand", fetch = FetchType.LAZY)
     private Set<Model> models = new HashSet<>();
 
     public Brand(String name) {
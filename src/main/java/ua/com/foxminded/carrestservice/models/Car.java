@@ -5,22 +5,46 @@ import lombok.*;
 
 @Entity
 @NoArgsConstructor
-@AllArgsConstructor
 @Getter
 @Setter
 @ToString
 @EqualsAndHashCode
 @Table(name = "cars")
+@NamedEntityGraph(name = Car.WITH_MODEL_AND_BRAND,
+        attributeNodes = @NamedAttributeNode(value = "model", subgraph = "model"),
+        subgraphs = @NamedSubgraph(name = "model", attributeNodes = @NamedAttributeNode("brand")))
+@NamedEntityGraph(name = Car.WITH_DETAILS,
+        attributeNodes = @NamedAttributeNode(value = "model", subgraph = "model"),
+        subgraphs = @NamedSubgraph(name = "model", attributeNodes = {
+                @NamedAttributeNode("brand"),
+                @NamedAttributeNode("categories")
+        }))
 public class Car {
+    public static final String WITH_MODEL_AND_BRAND = "Car.withModelAndBrand";
+    public static final String WITH_DETAILS = "Car.withDetails";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cars_seq")
+    @SequenceGenerator(name = "cars_seq", sequenceName = "cars_car_id_seq", allocationSize = 50)
     @Column(name = "car_id")
     private Long id;
 
     @Column(unique = true, nullable = false)
     private String number;
 
-    @ManyToOne(cascade = {CascadeType.MERGE, CascadeType.PERSIST})
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "model_ref", nullable = false)
     private Model model;
+
+    @Version
+    @EqualsAndHashCode.Exclude
+    @Column(nullable = false)
+    private Long version;
+
+    public Car(Long id, String number, Model model) {
+        this.id = id;
+        this.number = number;
+        this.model = model;
+    }
 }
\ No newline at end of file
@@ -2,28 +2,34 @@ package ua.com.foxminded.carrestservice.models;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @NoArgsConstructor
 @Getter
 @Setter
 @ToString
-@EqualsAndHashCode
 @Table(name = "categories")
 public class Category {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "categories_seq")
+    @SequenceGenerator(name = "categories_seq", sequenceName = "categories_category_id_seq", allocationSize = 50)
     @Column(name = "category_id")
     private Long id;
 
     @Column(nullable = false)
     private String name;
 
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @ToString.Exclude
-    @EqualsAndHashCode.Exclude
     @ManyToMany(fetch = FetchType.LAZY, cascade = {CascadeType.MERGE, CascadeType.PERSIST, CascadeType.REMOVE})
     @JoinTable(name = "category_model",
             joinColumns = @JoinColumn(name = "category_ref"),
@@ -34,11 +40,19 @@ public class Category {
         this.name = name;
     }
 
-    public void addModel(Model model) {
-        models.add(model);
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Category category)) {
+            return false;
+        }
+        return id != null && id.equals(category.getId());
     }
 
-    public void removeModel(Model model){
-        models.remove(model);
+    @Override
+    public int hashCode() {
+        return Category.class.hashCode();
     }
 }
\ No newline at end of file
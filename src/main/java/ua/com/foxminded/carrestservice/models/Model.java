@@ -2,43 +2,66 @@ package ua.com.foxminded.carrestservice.models;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
 
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @NoArgsConstructor
 @Getter
 @Setter
 @ToString
-@EqualsAndHashCode
 @Table(name = "models", uniqueConstraints = {
         @UniqueConstraint(columnNames = {"name", "production_year", "brand_ref"})
 })
+@NamedEntityGraph(name = Model.WITH_BRAND, attributeNodes = @NamedAttributeNode("brand"))
+@NamedEntityGraph(name = Model.WITH_DETAILS, attributeNodes = {
+        @NamedAttributeNode("brand"),
+        @NamedAttributeNode("categories")
+})
 public class Model {
+    public static final String WITH_BRAND = "Model.withBrand";
+    public static final String WITH_DETAILS = "Model.withDetails";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "models_seq")
+    @SequenceGenerator(name = "models_seq", sequenceName = "models_model_id_seq", allocationSize = 50)
     @Column(name = "model_id")
     private Long id;
 
     @Column(nullable = false)
     private String name;
 
-    @ManyToOne(cascade = {CascadeType.MERGE, CascadeType.PERSIST})
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "brand_ref", nullable = false)
     private Brand brand;
 
     @Column(name = "production_year", nullable = false)
     private Integer productionYear;
 
-    @EqualsAndHashCode.Exclude
+    @Column(nullable = false)
+    private boolean purging;
+
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @ToString.Exclude
+    @BatchSize(size = 50)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @ManyToMany(mappedBy = "models", fetch = FetchType.LAZY)
     private Set<Category> categories = new HashSet<>();
 
-    @EqualsAndHashCode.Exclude
     @ToString.Exclude
-    @OneToMany(mappedBy = "model", fetch = FetchType.LAZY, cascade = CascadeType.REMOVE)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @OneToMany(mappedBy = "model", fetch = FetchType.LAZY)
     private Set<Car> cars = new HashSet<>();
 
     public Model(String name, Brand brand, Integer productionYear) {
@@ -46,4 +69,20 @@ public class Model {
         this.brand = brand;
         this.productionYear = productionYear;
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Model model)) {
+            return false;
+        }
+        return id != null && id.equals(model.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Model.class.hashCode();
+    }
 }
\ No newline at end of file
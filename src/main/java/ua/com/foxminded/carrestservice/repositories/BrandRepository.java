@@ -1,15 +1,39 @@
 package ua.com.foxminded.carrestservice.repositories;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import ua.com.foxminded.carrestservice.models.Brand;
+import ua.com.foxminded.carrestservice.repositories.views.BrandViewRepository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface BrandRepository extends JpaRepository<Brand, Long>, JpaSpecificationExecutor<Brand> {
+public interface BrandRepository extends JpaRepository<Brand, Long>, JpaSpecificationExecutor<Brand>, BrandViewRepository {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("select b from Brand b where b.name = :name and b.purging = false")
     Optional<Brand> findByName(String name);
 
-    Integer deleteByName(String name);
+    @Query("select b.id from Brand b where b.name = :name and b.purging = false")
+    Optional<Long> findIdByName(String name);
+
+    @Query("select b.id from Brand b where b.purging = true")
+    List<Long> findPurgingIds();
+
+    @Transactional
+    @Modifying
+    @Query("update Brand b set b.purging = true, b.version = b.version + 1 where b.id = :id and b.purging = false")
+    int markPurging(Long id);
+
+    @Transactional
+    @Modifying
+    @Query("delete from Brand b where b.id = :id and b.purging = true")
+    int deletePurged(Long id);
 }
\ No newline at end of file
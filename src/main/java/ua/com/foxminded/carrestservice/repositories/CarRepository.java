@@ -1,20 +1,70 @@
 package ua.com.foxminded.carrestservice.repositories;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import ua.com.foxminded.carrestservice.models.Car;
 import ua.com.foxminded.carrestservice.models.Model;
+import ua.com.foxminded.carrestservice.repositories.views.CarViewRepository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Repository
-public interface CarRepository extends JpaRepository<Car, Long>, JpaSpecificationExecutor<Car> {
+public interface CarRepository extends JpaRepository<Car, Long>, JpaSpecificationExecutor<Car>, CarViewRepository {
+    @EntityGraph(Car.WITH_DETAILS)
+    @Query("select c from Car c where c.number = :number and c.model.purging = false and c.model.brand.purging = false")
     Optional<Car> findByNumber(String number);
 
+    @EntityGraph(Car.WITH_MODEL_AND_BRAND)
     List<Car> findByModel(Model model, Pageable pageable);
 
+    @Transactional
+    @Modifying
+    @Query("delete from Car c where c.number = :number")
     Integer deleteByNumber(String number);
-}
\ No newline at end of file
+
+    long countByModelBrandId(Long brandId);
+
+    long countByModelId(Long modelId);
+
+    @Transactional
+    @Modifying
+    @Query(value = """
+            DELETE FROM cars
+            WHERE car_id IN (SELECT c.car_id
+                             FROM cars c
+                                      JOIN models m ON m.model_id = c.model_ref
+                             WHERE m.brand_ref = :brandId
+                             LIMIT :chunkSize)""", nativeQuery = true)
+    int deleteChunkByBrandId(Long brandId, int chunkSize);
+
+    @Transactional
+    @Modifying
+    @Query(value = """
+            DELETE FROM cars
+            WHERE car_id IN (SELECT car_id
+                             FROM cars
+                             WHERE model_ref = :modelId
+                             LIMIT :chunkSize)""", nativeQuery = true)
+    int deleteChunkByModelId(Long modelId, int chunkSize);
+
+    @Query("select c.number from Car c where c.number in :numbers")
+    Set<String> findExistingNumbers(Collection<String> numbers);
+
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "5000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("select c.number from Car c")
+    Stream<String> streamAllNumbers();
+}
@@ -0,0 +1,45 @@
+package ua.com.foxminded.carrestservice.repositories;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.stereotype.Repository;
+
+import java.util.stream.Stream;
+
+@Repository
+public class CategoryMembershipRepository {
+    private static final String MODEL_IDS_SQL = """
+            SELECT m.model_id
+            FROM models m
+            JOIN brands b ON b.brand_id = m.brand_ref
+            WHERE NOT m.purging
+              AND NOT b.purging""";
+    private static final String LINKS_SQL = "SELECT category_ref, model_ref FROM category_model";
+
+    private final EntityManager entityManager;
+
+    public CategoryMembershipRepository(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    public Stream<Long> streamModelIds(int fetchSize) {
+        @SuppressWarnings("unchecked")
+        Stream<Number> rows = entityManager.createNativeQuery(MODEL_IDS_SQL)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+        return rows.map(Number::longValue);
+    }
+
+    public Stream<CategoryLink> streamLinks(int fetchSize) {
+        @SuppressWarnings("unchecked")
+        Stream<Object[]> rows = entityManager.createNativeQuery(LINKS_SQL)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+        return rows.map(row -> new CategoryLink(((Number) row[0]).longValue(), ((Number) row[1]).longValue()));
+    }
+
+    public record CategoryLink(long categoryId, long modelId) {
+    }
+}
@@ -1,15 +1,28 @@
 package ua.com.foxminded.carrestservice.repositories;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import ua.com.foxminded.carrestservice.models.Category;
+import ua.com.foxminded.carrestservice.repositories.views.CategoryView;
+import ua.com.foxminded.carrestservice.repositories.views.CategoryViewRepository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface CategoryRepository extends JpaRepository<Category, Long>, JpaSpecificationExecutor<Category> {
+public interface CategoryRepository extends JpaRepository<Category, Long>, JpaSpecificationExecutor<Category>, CategoryViewRepository {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Category> findByName(String name);
 
+    @Query("select new ua.com.foxminded.carrestservice.repositories.views.CategoryView(c.id, c.name) " +
+            "from Category c where c.name in :names")
+    List<CategoryView> findByNameIn(Collection<String> names);
+
     Integer deleteByName(String name);
 }
\ No newline at end of file
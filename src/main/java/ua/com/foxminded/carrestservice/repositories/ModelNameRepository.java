@@ -0,0 +1,35 @@
+package ua.com.foxminded.carrestservice.repositories;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.stereotype.Repository;
+
+import java.util.stream.Stream;
+
+@Repository
+public class ModelNameRepository {
+    private static final String NAMES_SQL = """
+            SELECT m.model_id, b.name, m.name
+            FROM models m
+                     JOIN brands b ON b.brand_id = m.brand_ref
+            WHERE NOT m.purging
+              AND NOT b.purging""";
+
+    private final EntityManager entityManager;
+
+    public ModelNameRepository(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    public Stream<ModelName> streamNames(int fetchSize) {
+        @SuppressWarnings("unchecked")
+        Stream<Object[]> rows = entityManager.createNativeQuery(NAMES_SQL)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+        return rows.map(row -> new ModelName(((Number) row[0]).longValue(), (String) row[1], (String) row[2]));
+    }
+
+    public record ModelName(long modelId, String brandName, String modelName) {
+    }
+}
@@ -1,28 +1,78 @@
 package ua.com.foxminded.carrestservice.repositories;
 
-import org.springframework.data.domain.Pageable;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
-import ua.com.foxminded.carrestservice.models.Brand;
-import ua.com.foxminded.carrestservice.models.Category;
+import org.springframework.transaction.annotation.Transactional;
 import ua.com.foxminded.carrestservice.models.Model;
+import ua.com.foxminded.carrestservice.repositories.views.ModelViewRepository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
 @Repository
-public interface ModelRepository extends JpaRepository<Model, Long>, JpaSpecificationExecutor<Model> {
-    List<Model> findByBrand(Brand brand, Pageable pageable);
+public interface ModelRepository extends JpaRepository<Model, Long>, JpaSpecificationExecutor<Model>, ModelViewRepository {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @EntityGraph(Model.WITH_DETAILS)
+    @Query("select m from Model m where m.name = :name and m.productionYear = :productionYear " +
+            "and m.brand.name = :brandName and m.purging = false and m.brand.purging = false")
+    Optional<Model> findByNameAndProductionYearAndBrandName(String name, Integer productionYear, String brandName);
 
-    List<Model> findByProductionYearBetween(Integer start, Integer end, Pageable pageable);
+    @Query("select m.id from Model m where m.name = :name and m.productionYear = :productionYear " +
+            "and m.brand.name = :brandName and m.purging = false and m.brand.purging = false")
+    Optional<Long> findIdByNameAndProductionYearAndBrandName(String name, Integer productionYear, String brandName);
 
-    List<Model> findByCategoriesIn(Set<Category> categories, Pageable pageable);
+    @Query("select m.id from Model m where m.purging = true")
+    List<Long> findPurgingIds();
 
-    Optional<Model> findByName(String name);
+    long countByBrandId(Long brandId);
 
-    Optional<Model> findByNameAndProductionYearAndBrandName(String name, Integer productionYear, String brandName);
+    @Query("select c.id from Model m join m.categories c where m.id = :modelId")
+    Set<Long> findCategoryIdsById(Long modelId);
+
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "category_model"))
+    @Query(value = """
+            INSERT INTO category_model (category_ref, model_ref)
+            SELECT c.category_id, :modelId
+            FROM categories c
+            WHERE c.category_id IN (:categoryIds)
+            ON CONFLICT DO NOTHING""", nativeQuery = true)
+    int insertCategoryLinks(Long modelId, Collection<Long> categoryIds);
+
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "category_model"))
+    @Query(value = "DELETE FROM category_model WHERE model_ref = :modelId AND category_ref IN (:categoryIds)",
+            nativeQuery = true)
+    int deleteCategoryLinks(Long modelId, Collection<Long> categoryIds);
+
+    @Transactional
+    @Modifying
+    @Query("update Model m set m.purging = true, m.version = m.version + 1 where m.id = :id and m.purging = false")
+    int markPurging(Long id);
+
+    @Transactional
+    @Modifying
+    @Query(value = """
+            DELETE FROM models
+            WHERE model_id IN (SELECT model_id
+                               FROM models
+                               WHERE brand_ref = :brandId
+                               LIMIT :chunkSize)""", nativeQuery = true)
+    int deleteChunkByBrandId(Long brandId, int chunkSize);
 
-    Integer deleteByBrandNameAndNameAndProductionYear(String brandName, String name, Integer productionYear);
-}
\ No newline at end of file
+    @Transactional
+    @Modifying
+    @Query("delete from Model m where m.id = :id and m.purging = true")
+    int deletePurged(Long id);
+}
@@ -0,0 +1,298 @@
+package ua.com.foxminded.carrestservice.repositories.imports;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import ua.com.foxminded.carrestservice.utils.jobs.Job;
+import ua.com.foxminded.carrestservice.utils.jobs.JobReportEntry;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.sql.SQLException;
+
+@Repository
+public class CsvImportRepository {
+    private static final int ID_ALLOCATION_SIZE = 50;
+
+    private static final String CREATE_CAR_STAGING = """
+            CREATE TEMP TABLE car_import (
+                line            bigint,
+                number          text,
+                brand_name      text,
+                model_name      text,
+                production_year text,
+                categories      text,
+                year            integer,
+                model_id        bigint,
+                reason          text
+            ) ON COMMIT DROP""";
+
+    private static final String COPY_CARS = """
+            COPY car_import (line, number, brand_name, model_name, production_year, categories)
+            FROM STDIN WITH (FORMAT csv)""";
+
+    private static final String VALIDATE_CARS = """
+            UPDATE car_import
+            SET year   = CASE WHEN production_year ~ '^[0-9]{4}$' THEN production_year::integer END,
+                reason = CASE
+                             WHEN length(number) NOT BETWEEN 4 AND 12 THEN 'Number should be between 4 and 12 characters!'
+                             WHEN brand_name = '' OR model_name = '' THEN 'Brand and model should not be empty!'
+                             WHEN production_year !~ '^[0-9]{4}$' THEN 'Year of production should be a number!'
+                             WHEN production_year::integer < 1886 THEN 'Year of production should not be less than 1886!'
+                    END""";
+
+    private static final String RESOLVE_CAR_MODELS = """
+            UPDATE car_import i
+            SET model_id = m.model_id
+            FROM models m
+                     JOIN brands b ON b.brand_id = m.brand_ref
+            WHERE i.reason IS NULL
+              AND b.name = i.brand_name
+              AND m.name = i.model_name
+              AND m.production_year = i.year
+              AND NOT m.purging
+              AND NOT b.purging""";
+
+    private static final String REJECT_UNKNOWN_CAR_MODELS = """
+            UPDATE car_import
+            SET reason = 'Model was not found.'
+            WHERE reason IS NULL
+              AND model_id IS NULL""";
+
+    private static final String REJECT_REPEATED_CARS = """
+            UPDATE car_import i
+            SET reason = 'Car with this number is repeated in the file!'
+            FROM (SELECT line, row_number() OVER (PARTITION BY number ORDER BY line) AS position
+                  FROM car_import
+                  WHERE reason IS NULL) r
+            WHERE r.line = i.line
+              AND r.position > 1""";
+
+    private static final String REJECT_EXISTING_CARS = """
+            UPDATE car_import i
+            SET reason = 'Car with this number already exists!'
+            FROM cars c
+            WHERE i.reason IS NULL
+              AND c.number = i.number""";
+
+    private static final String INSERT_CARS = """
+            WITH accepted AS (SELECT number, model_id, row_number() OVER (ORDER BY line) - 1 AS position
+                              FROM car_import
+                              WHERE reason IS NULL),
+                 blocks AS (SELECT row_number() OVER () - 1 AS block, hi
+                            FROM (SELECT nextval('cars_car_id_seq') AS hi
+                                  FROM generate_series(1, (SELECT (count(*) + %1$d - 1) / %1$d FROM accepted))) s),
+                 inserted AS (INSERT INTO cars (car_id, number, model_ref)
+                     SELECT b.hi - %1$d + 1 + a.position %% %1$d, a.number, a.model_id
+                     FROM accepted a
+                              JOIN blocks b ON b.block = a.position / %1$d
+                     ON CONFLICT (number) DO NOTHING
+                     RETURNING number)
+            UPDATE car_import i
+            SET reason = 'Car with this number already exists!'
+            WHERE i.reason IS NULL
+              AND NOT EXISTS (SELECT 1 FROM inserted WHERE inserted.number = i.number)"""
+            .formatted(ID_ALLOCATION_SIZE);
+
+    private static final String CREATE_MODEL_STAGING = """
+            CREATE TEMP TABLE model_import (
+                line            bigint,
+                brand_name      text,
+                model_name      text,
+                production_year text,
+                categories      text,
+                year            integer,
+                brand_id        bigint,
+                model_id        bigint,
+                created         boolean NOT NULL DEFAULT false,
+                reason          text
+            ) ON COMMIT DROP;
+            CREATE TEMP TABLE model_import_category (
+                line bigint,
+                name text
+            ) ON COMMIT DROP""";
+
+    private static final String COPY_MODELS = """
+            COPY model_import (line, brand_name, model_name, production_year, categories)
+            FROM STDIN WITH (FORMAT csv)""";
+
+    private static final String VALIDATE_MODELS = """
+            UPDATE model_import
+            SET year   = CASE WHEN production_year ~ '^[0-9]{4}$' THEN production_year::integer END,
+                reason = CASE
+                             WHEN length(brand_name) NOT BETWEEN 2 AND 32 THEN 'Brand should be between 2 and 32 characters!'
+                             WHEN length(model_name) NOT BETWEEN 2 AND 32 THEN 'Model should be between 2 and 32 characters!'
+                             WHEN production_year !~ '^[0-9]{4}$' THEN 'Year of production should be a number!'
+                             WHEN production_year::integer < 1886 THEN 'Year of production should not be less than 1886!'
+                    END""";
+
+    private static final String RESOLVE_MODEL_BRANDS = """
+            UPDATE model_import i
+            SET brand_id = b.brand_id
+            FROM brands b
+            WHERE i.reason IS NULL
+              AND b.name = i.brand_name""";
+
+    private static final String REJECT_UNKNOWN_MODEL_BRANDS = """
+            UPDATE model_import
+            SET reason = 'Brand was not found!'
+            WHERE reason IS NULL
+              AND brand_id IS NULL""";
+
+    private static final String SPLIT_MODEL_CATEGORIES = """
+            INSERT INTO model_import_category (line, name)
+            SELECT DISTINCT i.line, trim(c.name)
+            FROM model_import i,
+                 unnest(string_to_array(i.categories, ';')) AS c(name)
+            WHERE i.reason IS NULL
+              AND trim(c.name) <> ''""";
+
+    private static final String REJECT_UNKNOWN_MODEL_CATEGORIES = """
+            UPDATE model_import i
+            SET reason = 'Category ' || u.name || ' was not found!'
+            FROM (SELECT ic.line, min(ic.name) AS name
+                  FROM model_import_category ic
+                  WHERE NOT EXISTS (SELECT 1 FROM categories c WHERE c.name = ic.name)
+                  GROUP BY ic.line) u
+            WHERE u.line = i.line
+              AND i.reason IS NULL""";
+
+    private static final String REJECT_REPEATED_MODELS = """
+            UPDATE model_import i
+            SET reason = 'Model is repeated in the file!'
+            FROM (SELECT line,
+                         row_number() OVER (PARTITION BY brand_id, model_name, year ORDER BY line) AS position
+                  FROM model_import
+                  WHERE reason IS NULL) r
+            WHERE r.line = i.line
+              AND r.position > 1""";
+
+    private static final String RESOLVE_EXISTING_MODELS = """
+            UPDATE model_import i
+            SET model_id = m.model_id
+            FROM models m
+            WHERE i.reason IS NULL
+              AND i.model_id IS NULL
+              AND m.brand_ref = i.brand_id
+              AND m.name = i.model_name
+              AND m.production_year = i.year""";
+
+    private static final String INSERT_MODELS = """
+            WITH accepted AS (SELECT brand_id, model_name, year, row_number() OVER (ORDER BY line) - 1 AS position
+                              FROM model_import
+                              WHERE reason IS NULL
+                                AND model_id IS NULL),
+                 blocks AS (SELECT row_number() OVER () - 1 AS block, hi
+                            FROM (SELECT nextval('models_model_id_seq') AS hi
+                                  FROM generate_series(1, (SELECT (count(*) + %1$d - 1) / %1$d FROM accepted))) s),
+                 inserted AS (INSERT INTO models (model_id, name, production_year, brand_ref)
+                     SELECT b.hi - %1$d + 1 + a.position %% %1$d, a.model_name, a.year, a.brand_id
+                     FROM accepted a
+                              JOIN blocks b ON b.block = a.position / %1$d
+                     ON CONFLICT (name, production_year, brand_ref) DO NOTHING
+                     RETURNING model_id, name, production_year, brand_ref)
+            UPDATE model_import i
+            SET model_id = ins.model_id,
+                created  = true
+            FROM inserted ins
+            WHERE i.reason IS NULL
+              AND i.model_id IS NULL
+              AND ins.brand_ref = i.brand_id
+              AND ins.name = i.model_name
+              AND ins.production_year = i.year"""
+            .formatted(ID_ALLOCATION_SIZE);
+
+    private static final String REJECT_UNRESOLVED_MODELS = """
+            UPDATE model_import
+            SET reason = 'Model could not be registered, please retry!'
+            WHERE reason IS NULL
+              AND model_id IS NULL""";
+
+    private static final String INSERT_MODEL_CATEGORIES = """
+            INSERT INTO category_model (category_ref, model_ref)
+            SELECT DISTINCT c.category_id, i.model_id
+            FROM model_import i
+                     JOIN model_import_category ic ON ic.line = i.line
+                     JOIN categories c ON c.name = ic.name
+            WHERE i.reason IS NULL
+            ON CONFLICT DO NOTHING""";
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+
+    public CsvImportRepository(DataSource dataSource, JdbcTemplate jdbcTemplate) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Transactional
+    public void importCars(Path file, Job job) {
+        jdbcTemplate.execute(CREATE_CAR_STAGING);
+        long staged = stage(COPY_CARS, file, "number", 4, 5, job);
+
+        job.startPhase("MERGING", staged);
+        jdbcTemplate.update(VALIDATE_CARS);
+        jdbcTemplate.update(RESOLVE_CAR_MODELS);
+        jdbcTemplate.update(REJECT_UNKNOWN_CAR_MODELS);
+        jdbcTemplate.update(REJECT_REPEATED_CARS);
+        jdbcTemplate.update(REJECT_EXISTING_CARS);
+        jdbcTemplate.update(INSERT_CARS);
+
+        long rejected = report("SELECT line, number, reason FROM car_import WHERE reason IS NOT NULL ORDER BY line", job);
+        job.count("created", staged - rejected);
+        job.progress(staged);
+    }
+
+    @Transactional
+    public void importModels(Path file, Job job) {
+        jdbcTemplate.execute(CREATE_MODEL_STAGING);
+        long staged = stage(COPY_MODELS, file, "brandName", 3, 4, job);
+
+        job.startPhase("MERGING", staged);
+        jdbcTemplate.update(VALIDATE_MODELS);
+        jdbcTemplate.update(RESOLVE_MODEL_BRANDS);
+        jdbcTemplate.update(REJECT_UNKNOWN_MODEL_BRANDS);
+        jdbcTemplate.update(SPLIT_MODEL_CATEGORIES);
+        jdbcTemplate.update(REJECT_UNKNOWN_MODEL_CATEGORIES);
+        jdbcTemplate.update(REJECT_REPEATED_MODELS);
+        jdbcTemplate.update(RESOLVE_EXISTING_MODELS);
+        jdbcTemplate.update(INSERT_MODELS);
+        jdbcTemplate.update(RESOLVE_EXISTING_MODELS);
+        jdbcTemplate.update(REJECT_UNRESOLVED_MODELS);
+        job.count("categoryLinks", jdbcTemplate.update(INSERT_MODEL_CATEGORIES));
+
+        long rejected = report("""
+                SELECT line, brand_name || ' ' || model_name || ' ' || production_year, reason
+                FROM model_import
+                WHERE reason IS NOT NULL
+                ORDER BY line""", job);
+        Long created = jdbcTemplate.queryForObject("SELECT count(*) FROM model_import WHERE created", Long.class);
+        job.count("created", created);
+        job.count("merged", staged - rejected - created);
+        job.progress(staged);
+    }
+
+    private long stage(String copySql, Path file, String headerColumn, int minColumns, int maxColumns, Job job) {
+        try {
+            return CsvStaging.copy(DataSourceUtils.getConnection(dataSource), copySql, file, headerColumn,
+                    minColumns, maxColumns, job);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not stage the import file", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private long report(String sql, Job job) {
+        long[] rejected = new long[1];
+        jdbcTemplate.query(sql, row -> {
+            rejected[0]++;
+            job.report(new JobReportEntry(row.getLong(1), row.getString(2), row.getString(3)));
+        });
+        job.count("rejected", rejected[0]);
+        return rejected[0];
+    }
+}
@@ -0,0 +1,131 @@
+package ua.com.foxminded.carrestservice.repositories.imports;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import ua.com.foxminded.carrestservice.utils.jobs.Job;
+import ua.com.foxminded.carrestservice.utils.jobs.JobReportEntry;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+class CsvStaging {
+    private static final int PROGRESS_INTERVAL = 1000;
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    private CsvStaging() {
+    }
+
+    static long copy(Connection connection, String copySql, Path file, String headerColumn,
+                     int minColumns, int maxColumns, Job job) throws SQLException, IOException {
+        CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(copySql);
+        StringBuilder buffer = new StringBuilder(COPY_BUFFER_SIZE + 1024);
+        long staged = 0;
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+             BufferedReader reader = new BufferedReader(Channels.newReader(channel, StandardCharsets.UTF_8))) {
+            job.startPhase("STAGING", channel.size());
+            long lineNumber = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+
+                List<String> fields = parse(line);
+                if (lineNumber == 1 && fields != null && fields.get(0).trim().equalsIgnoreCase(headerColumn)) {
+                    continue;
+                }
+                if (fields == null || fields.size() < minColumns || fields.size() > maxColumns) {
+                    job.report(new JobReportEntry(lineNumber, line,
+                            "Row should have " + minColumns + " to " + maxColumns + " columns!"));
+                    job.count("rejected", 1);
+                    continue;
+                }
+
+                buffer.append(lineNumber);
+                for (int i = 0; i < maxColumns; i++) {
+                    buffer.append(',');
+                    appendQuoted(buffer, i < fields.size() ? fields.get(i).trim() : "");
+                }
+                buffer.append('\n');
+                staged++;
+
+                if (buffer.length() >= COPY_BUFFER_SIZE) {
+                    write(copyIn, buffer);
+                }
+                if (lineNumber % PROGRESS_INTERVAL == 0) {
+                    job.progress(channel.position());
+                }
+            }
+            write(copyIn, buffer);
+            copyIn.endCopy();
+            job.progress(channel.size());
+        } finally {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+        return staged;
+    }
+
+    private static void write(CopyIn copyIn, StringBuilder buffer) throws SQLException {
+        byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        buffer.setLength(0);
+    }
+
+    private static void appendQuoted(StringBuilder buffer, String value) {
+        buffer.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                buffer.append('"');
+            }
+            buffer.append(c);
+        }
+        buffer.append('"');
+    }
+
+    private static List<String> parse(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+
+        if (quoted) {
+            return null;
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
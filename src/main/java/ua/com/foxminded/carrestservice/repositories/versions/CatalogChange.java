@@ -0,0 +1,6 @@
+package ua.com.foxminded.carrestservice.repositories.versions;
+
+import java.util.Set;
+
+public record CatalogChange(long xactId, Set<CatalogTable> tables) {
+}
@@ -0,0 +1,50 @@
+package ua.com.foxminded.carrestservice.repositories.versions;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+public class CatalogChangeCompactor {
+    private final CatalogVersionRepository versionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration interval;
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+
+    public CatalogChangeCompactor(CatalogVersionRepository versionRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${car-service.catalog-versions.compaction-interval}") Duration interval) {
+        this.versionRepository = versionRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.interval = interval;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        executor.scheduleWithFixedDelay(this::compact, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    void compact() {
+        try {
+            transactionTemplate.execute(status -> versionRepository.compactChanges());
+        } catch (RuntimeException e) {
+            log.warn("Catalog changes could not be compacted", e);
+        }
+    }
+}
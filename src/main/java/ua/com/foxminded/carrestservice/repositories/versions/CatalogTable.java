@@ -0,0 +1,28 @@
+package ua.com.foxminded.carrestservice.repositories.versions;
+
+public enum CatalogTable {
+    BRANDS("brands"),
+    CATEGORIES("categories"),
+    MODELS("models"),
+    CATEGORY_MODEL("category_model"),
+    CARS("cars");
+
+    private final String tableName;
+
+    CatalogTable(String tableName) {
+        this.tableName = tableName;
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    public static CatalogTable ofTableName(String tableName) {
+        for (CatalogTable table : values()) {
+            if (table.tableName.equals(tableName)) {
+                return table;
+            }
+        }
+        throw new IllegalArgumentException("Unknown catalog table: " + tableName);
+    }
+}
@@ -0,0 +1,78 @@
+package ua.com.foxminded.carrestservice.repositories.versions;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import org.springframework.stereotype.Repository;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Repository
+public class CatalogVersionRepository {
+    private static final String VERSIONS_SQL = "SELECT table_name, version FROM catalog_versions";
+    private static final String COMPACT_CHANGES_SQL = """
+            WITH deleted AS (
+                DELETE FROM catalog_changes
+                WHERE table_name IN (SELECT table_name FROM catalog_changes GROUP BY table_name HAVING count(*) > 1)
+                RETURNING table_name, weight)
+            INSERT INTO catalog_changes (table_name, weight)
+            SELECT table_name, sum(weight)
+            FROM deleted
+            GROUP BY table_name""";
+    private static final String CURRENT_CHANGE_SQL = """
+            SELECT CAST(x.xact_id AS text), c.table_name
+            FROM (SELECT pg_current_xact_id() AS xact_id) x
+                     LEFT JOIN catalog_changes c ON c.table_name IN (:tables) AND c.xact_id = x.xact_id""";
+    private static final String SNAPSHOT_SQL = "SELECT CAST(pg_current_snapshot() AS text)";
+    private static final List<String> TABLE_NAMES = Arrays.stream(CatalogTable.values())
+            .map(CatalogTable::getTableName)
+            .toList();
+
+    private final EntityManager entityManager;
+
+    public CatalogVersionRepository(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    public CatalogVersions findVersions() {
+        @SuppressWarnings("unchecked")
+        List<Tuple> rows = entityManager.createNativeQuery(VERSIONS_SQL, Tuple.class).getResultList();
+        return toVersions(rows);
+    }
+
+    public CatalogChange findCurrentChange() {
+        entityManager.flush();
+        @SuppressWarnings("unchecked")
+        List<Tuple> rows = entityManager.createNativeQuery(CURRENT_CHANGE_SQL, Tuple.class)
+                .setParameter("tables", TABLE_NAMES)
+                .getResultList();
+        Set<CatalogTable> tables = EnumSet.noneOf(CatalogTable.class);
+        for (Tuple row : rows) {
+            String tableName = row.get(1, String.class);
+            if (tableName != null) {
+                tables.add(CatalogTable.ofTableName(tableName));
+            }
+        }
+        return new CatalogChange(Long.parseLong(rows.get(0).get(0, String.class)), Set.copyOf(tables));
+    }
+
+    public TransactionSnapshot findTransactionSnapshot() {
+        return TransactionSnapshot.parse((String) entityManager.createNativeQuery(SNAPSHOT_SQL).getSingleResult());
+    }
+
+    public int compactChanges() {
+        return entityManager.createNativeQuery(COMPACT_CHANGES_SQL).executeUpdate();
+    }
+
+    private static CatalogVersions toVersions(List<Tuple> rows) {
+        Map<CatalogTable, Long> versions = new EnumMap<>(CatalogTable.class);
+        for (Tuple row : rows) {
+            versions.put(CatalogTable.ofTableName(row.get(0, String.class)), row.get(1, Number.class).longValue());
+        }
+        return new CatalogVersions(versions);
+    }
+}
@@ -0,0 +1,29 @@
+package ua.com.foxminded.carrestservice.repositories.versions;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+public record CatalogVersions(Map<CatalogTable, Long> versions) {
+    public long versionOf(CatalogTable table) {
+        return versions.getOrDefault(table, 0L);
+    }
+
+    public String eTag(CatalogTable... tables) {
+        return "\"" + join(tables) + "\"";
+    }
+
+    public String eTag(Long id, Long version, CatalogTable... tables) {
+        return "\"" + id + "." + version + "-" + join(tables) + "\"";
+    }
+
+    public static String eTagOf(Long id, Long version) {
+        return "\"" + id + "." + version + "\"";
+    }
+
+    private String join(CatalogTable... tables) {
+        return Arrays.stream(tables)
+                .map(table -> String.valueOf(versionOf(table)))
+                .collect(Collectors.joining("."));
+    }
+}
@@ -0,0 +1,19 @@
+package ua.com.foxminded.carrestservice.repositories.versions;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+public record TransactionSnapshot(long xmin, long xmax, Set<Long> inProgress) {
+    public boolean includes(long xactId) {
+        return xactId < xmin || (xactId < xmax && !inProgress.contains(xactId));
+    }
+
+    public static TransactionSnapshot parse(String snapshot) {
+        String[] parts = snapshot.split(":", -1);
+        Set<Long> inProgress = parts[2].isEmpty() ? Set.of() : Arrays.stream(parts[2].split(","))
+                .map(Long::valueOf)
+                .collect(Collectors.toUnmodifiableSet());
+        return new TransactionSnapshot(Long.parseLong(parts[0]), Long.parseLong(parts[1]), inProgress);
+    }
+}
@@ -0,0 +1,4 @@
+package ua.com.foxminded.carrestservice.repositories.views;
+
+public record BrandView(Long id, String name) {
+}
@@ -0,0 +1,14 @@
+package ua.com.foxminded.carrestservice.repositories.views;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import ua.com.foxminded.carrestservice.models.Brand;
+
+public interface BrandViewRepository {
+    Slice<BrandView> findAllViews(Specification<Brand> spec, Pageable pageable);
+
+    Slice<Brand> findSlice(Specification<Brand> spec, Pageable pageable);
+
+    RowCount countViews();
+}
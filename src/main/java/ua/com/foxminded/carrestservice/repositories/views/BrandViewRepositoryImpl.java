@@ -0,0 +1,36 @@
+package ua.com.foxminded.carrestservice.repositories.views;
+
+import jakarta.persistence.EntityManager;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import ua.com.foxminded.carrestservice.models.Brand;
+
+import java.util.List;
+
+public class BrandViewRepositoryImpl implements BrandViewRepository {
+    private final EntityManager entityManager;
+    private final TableRowCounter rowCounter;
+
+    public BrandViewRepositoryImpl(EntityManager entityManager, TableRowCounter rowCounter) {
+        this.entityManager = entityManager;
+        this.rowCounter = rowCounter;
+    }
+
+    @Override
+    public Slice<BrandView> findAllViews(Specification<Brand> spec, Pageable pageable) {
+        return ViewQueries.findTuples(entityManager, Brand.class, spec, pageable,
+                        root -> List.of(root.get("id"), root.get("name")))
+                .map(tuple -> new BrandView(tuple.get(0, Long.class), tuple.get(1, String.class)));
+    }
+
+    @Override
+    public Slice<Brand> findSlice(Specification<Brand> spec, Pageable pageable) {
+        return ViewQueries.findEntities(entityManager, Brand.class, spec, pageable, null);
+    }
+
+    @Override
+    public RowCount countViews() {
+        return rowCounter.count("brands");
+    }
+}
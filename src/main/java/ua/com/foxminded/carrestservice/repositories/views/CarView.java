@@ -0,0 +1,12 @@
+package ua.com.foxminded.carrestservice.repositories.views;
+
+import java.util.Set;
+
+public record CarView(Long id,
+                      String number,
+                      Long modelId,
+                      String modelName,
+                      Integer productionYear,
+                      String brandName,
+                      Set<String> categories) {
+}
@@ -0,0 +1,18 @@
+package ua.com.foxminded.carrestservice.repositories.views;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import ua.com.foxminded.carrestservice.models.Car;
+
+import java.util.stream.Stream;
+
+public interface CarViewRepository {
+    Slice<CarView> findAllViews(Specification<Car> spec, Pageable pageable);
+
+    Slice<Car> findSlice(Specification<Car> spec, Pageable pageable);
+
+    RowCount countViews();
+
+    Stream<CarView> streamAllViews(int fetchSize);
+}
@@ -0,0 +1,89 @@
+package ua.com.foxminded.carrestservice.repositories.views;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.Path;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import ua.com.foxminded.carrestservice.models.Car;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+public class CarViewRepositoryImpl implements CarViewRepository {
+    private static final String ALL_VIEWS_SQL = """
+            WITH model_categories AS (
+                SELECT cm.model_ref, array_agg(c.name ORDER BY c.name) AS names
+                FROM category_model cm
+                         JOIN categories c ON c.category_id = cm.category_ref
+                GROUP BY cm.model_ref)
+            SELECT car.car_id, car.number, m.model_id, m.name, m.production_year, b.name, mc.names
+            FROM cars car
+                     JOIN models m ON m.model_id = car.model_ref
+                     JOIN brands b ON b.brand_id = m.brand_ref
+                     LEFT JOIN model_categories mc ON mc.model_ref = m.model_id
+            WHERE NOT m.purging
+              AND NOT b.purging
+            ORDER BY car.car_id""";
+
+    private final EntityManager entityManager;
+    private final TableRowCounter rowCounter;
+
+    public CarViewRepositoryImpl(EntityManager entityManager, TableRowCounter rowCounter) {
+        this.entityManager = entityManager;
+        this.rowCounter = rowCounter;
+    }
+
+    @Override
+    public Slice<CarView> findAllViews(Specification<Car> spec, Pageable pageable) {
+        Slice<Tuple> tuples = ViewQueries.findTuples(entityManager, Car.class, spec, pageable, root -> {
+            Path<Object> model = root.get("model");
+            return List.of(root.get("id"), root.get("number"), model.get("id"), model.get("name"),
+                    model.get("productionYear"), model.get("brand").get("name"));
+        });
+
+        Map<Long, Set<String>> categories = ViewQueries.findCategoryNames(entityManager,
+                tuples.stream().map(tuple -> tuple.get(2, Long.class)).distinct().toList());
+
+        return tuples.map(tuple -> new CarView(
+                tuple.get(0, Long.class),
+                tuple.get(1, String.class),
+                tuple.get(2, Long.class),
+                tuple.get(3, String.class),
+                tuple.get(4, Integer.class),
+                tuple.get(5, String.class),
+                categories.getOrDefault(tuple.get(2, Long.class), Set.of())));
+    }
+
+    @Override
+    public Stream<CarView> streamAllViews(int fetchSize) {
+        @SuppressWarnings("unchecked")
+        Stream<Object[]> rows = entityManager.createNativeQuery(ALL_VIEWS_SQL)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+
+        return rows.map(row -> new CarView(
+                ((Number) row[0]).longValue(),
+                (String) row[1],
+                ((Number) row[2]).longValue(),
+                (String) row[3],
+                ((Number) row[4]).intValue(),
+                (String) row[5],
+                ViewQueries.toNames(row[6])));
+    }
+
+    @Override
+    public Slice<Car> findSlice(Specification<Car> spec, Pageable pageable) {
+        return ViewQueries.findEntities(entityManager, Car.class, spec, pageable, Car.WITH_MODEL_AND_BRAND);
+    }
+
+    @Override
+    public RowCount countViews() {
+        return rowCounter.count("cars");
+    }
+}
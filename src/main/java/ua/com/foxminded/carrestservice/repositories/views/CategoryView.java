@@ -0,0 +1,4 @@
+package ua.com.foxminded.carrestservice.repositories.views;
+
+public record CategoryView(Long id, String name) {
+}
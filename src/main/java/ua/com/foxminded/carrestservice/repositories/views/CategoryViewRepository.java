@@ -0,0 +1,14 @@
+package ua.com.foxminded.carrestservice.repositories.views;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import ua.com.foxminded.carrestservice.models.Category;
+
+public interface CategoryViewRepository {
+    Slice<CategoryView> findAllViews(Specification<Category> spec, Pageable pageable);
+
+    Slice<Category> findSlice(Specification<Category> spec, Pageable pageable);
+
+    RowCount countViews();
+}
@@ -0,0 +1,36 @@
+package ua.com.foxminded.carrestservice.repositories.views;
+
+import jakarta.persistence.EntityManager;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import ua.com.foxminded.carrestservice.models.Category;
+
+import java.util.List;
+
+public class CategoryViewRepositoryImpl implements CategoryViewRepository {
+    private final EntityManager entityManager;
+    private final TableRowCounter rowCounter;
+
+    public CategoryViewRepositoryImpl(EntityManager entityManager, TableRowCounter rowCounter) {
+        this.entityManager = entityManager;
+        this.rowCounter = rowCounter;
+    }
+
+    @Override
+    public Slice<CategoryView> findAllViews(Specification<Category> spec, Pageable pageable) {
+        return ViewQueries.findTuples(entityManager, Category.class, spec, pageable,
+                        root -> List.of(root.get("id"), root.get("name")))
+                .map(tuple -> new CategoryView(tuple.get(0, Long.class), tuple.get(1, String.class)));
+    }
+
+    @Override
+    public Slice<Category> findSlice(Specification<Category> spec, Pageable pageable) {
+        return ViewQueries.findEntities(entityManager, Category.class, spec, pageable, null);
+    }
+
+    @Override
+    public RowCount countViews() {
+        return rowCounter.count("categories");
+    }
+}
@@ -0,0 +1,10 @@
+package ua.com.foxminded.carrestservice.repositories.views;
+
+import java.util.Set;
+
+public record ModelView(Long id,
+                        String name,
+                        Integer productionYear,
+                        String brandName,
+                        Set<String> categories) {
+}
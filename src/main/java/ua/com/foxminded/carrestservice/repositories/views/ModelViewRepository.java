@@ -0,0 +1,14 @@
+package ua.com.foxminded.carrestservice.repositories.views;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import ua.com.foxminded.carrestservice.models.Model;
+
+public interface ModelViewRepository {
+    Slice<ModelView> findAllViews(Specification<Model> spec, Pageable pageable);
+
+    Slice<Model> findSlice(Specification<Model> spec, Pageable pageable);
+
+    RowCount countViews();
+}
@@ -0,0 +1,48 @@
+package ua.com.foxminded.carrestservice.repositories.views;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import ua.com.foxminded.carrestservice.models.Model;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class ModelViewRepositoryImpl implements ModelViewRepository {
+    private final EntityManager entityManager;
+    private final TableRowCounter rowCounter;
+
+    public ModelViewRepositoryImpl(EntityManager entityManager, TableRowCounter rowCounter) {
+        this.entityManager = entityManager;
+        this.rowCounter = rowCounter;
+    }
+
+    @Override
+    public Slice<ModelView> findAllViews(Specification<Model> spec, Pageable pageable) {
+        Slice<Tuple> tuples = ViewQueries.findTuples(entityManager, Model.class, spec, pageable, root ->
+                List.of(root.get("id"), root.get("name"), root.get("productionYear"), root.get("brand").get("name")));
+
+        Map<Long, Set<String>> categories = ViewQueries.findCategoryNames(entityManager,
+                tuples.stream().map(tuple -> tuple.get(0, Long.class)).toList());
+
+        return tuples.map(tuple -> new ModelView(
+                tuple.get(0, Long.class),
+                tuple.get(1, String.class),
+                tuple.get(2, Integer.class),
+                tuple.get(3, String.class),
+                categories.getOrDefault(tuple.get(0, Long.class), Set.of())));
+    }
+
+    @Override
+    public Slice<Model> findSlice(Specification<Model> spec, Pageable pageable) {
+        return ViewQueries.findEntities(entityManager, Model.class, spec, pageable, Model.WITH_BRAND);
+    }
+
+    @Override
+    public RowCount countViews() {
+        return rowCounter.count("models");
+    }
+}
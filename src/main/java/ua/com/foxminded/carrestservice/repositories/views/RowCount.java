@@ -0,0 +1,4 @@
+package ua.com.foxminded.carrestservice.repositories.views;
+
+public record RowCount(long value, boolean estimated) {
+}
@@ -0,0 +1,35 @@
+package ua.com.foxminded.carrestservice.repositories.views;
+
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+public class TableRowCounter {
+    private static final String ESTIMATE_SQL = "SELECT reltuples FROM pg_class WHERE oid = to_regclass(:table)";
+
+    private final EntityManager entityManager;
+    private final long exactCountThreshold;
+
+    public TableRowCounter(EntityManager entityManager,
+                           @Value("${car-service.listing.exact-count-threshold}") long exactCountThreshold) {
+        this.entityManager = entityManager;
+        this.exactCountThreshold = exactCountThreshold;
+    }
+
+    RowCount count(String table) {
+        @SuppressWarnings("unchecked")
+        List<Number> estimates = entityManager.createNativeQuery(ESTIMATE_SQL)
+                .setParameter("table", table)
+                .getResultList();
+        long estimate = estimates.isEmpty() ? -1 : estimates.get(0).longValue();
+        if (estimate >= exactCountThreshold) {
+            return new RowCount(estimate, true);
+        }
+
+        Number exact = (Number) entityManager.createNativeQuery("SELECT count(*) FROM " + table).getSingleResult();
+        return new RowCount(exact.longValue(), false);
+    }
+}
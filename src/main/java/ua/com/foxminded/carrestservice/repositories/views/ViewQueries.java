@@ -0,0 +1,105 @@
+package ua.com.foxminded.carrestservice.repositories.views;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.*;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.sql.Array;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.function.Function;
+
+class ViewQueries {
+    private static final String CATEGORY_NAMES_SQL = """
+            SELECT cm.model_ref, array_agg(c.name ORDER BY c.name)
+            FROM category_model cm
+                     JOIN categories c ON c.category_id = cm.category_ref
+            WHERE cm.model_ref IN (:modelIds)
+            GROUP BY cm.model_ref""";
+
+    private ViewQueries() {
+    }
+
+    static <T> Slice<Tuple> findTuples(EntityManager entityManager, Class<T> type, Specification<T> spec,
+                                       Pageable pageable, Function<Root<T>, List<Selection<?>>> selection) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = builder.createTupleQuery();
+        Root<T> root = query.from(type);
+
+        Predicate predicate = spec == null ? null : spec.toPredicate(root, query, builder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.multiselect(selection.apply(root));
+
+        return toSlice(entityManager.createQuery(query), pageable);
+    }
+
+    static <T> Slice<T> findEntities(EntityManager entityManager, Class<T> type, Specification<T> spec,
+                                     Pageable pageable, String entityGraph) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = builder.createQuery(type);
+        Root<T> root = query.from(type);
+
+        Predicate predicate = spec == null ? null : spec.toPredicate(root, query, builder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.select(root);
+
+        TypedQuery<T> typedQuery = entityManager.createQuery(query);
+        if (entityGraph != null) {
+            typedQuery.setHint(SpecHints.HINT_SPEC_LOAD_GRAPH, entityManager.getEntityGraph(entityGraph));
+        }
+        return toSlice(typedQuery, pageable);
+    }
+
+    private static <T> Slice<T> toSlice(TypedQuery<T> query, Pageable pageable) {
+        List<T> rows = query
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize() + 1)
+                .getResultList();
+
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? rows.subList(0, pageable.getPageSize()) : rows, pageable, hasNext);
+    }
+
+    static Map<Long, Set<String>> findCategoryNames(EntityManager entityManager, Collection<Long> modelIds) {
+        if (modelIds.isEmpty()) {
+            return Map.of();
+        }
+
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = entityManager.createNativeQuery(CATEGORY_NAMES_SQL)
+                .setParameter("modelIds", modelIds)
+                .getResultList();
+
+        Map<Long, Set<String>> categoryNames = new HashMap<>();
+        for (Object[] row : rows) {
+            categoryNames.put(((Number) row[0]).longValue(), toNames(row[1]));
+        }
+        return categoryNames;
+    }
+
+    static Set<String> toNames(Object array) {
+        if (array == null) {
+            return Set.of();
+        }
+        try {
+            Object[] names = array instanceof Array sqlArray ? (Object[]) sqlArray.getArray() : (Object[]) array;
+            Set<String> result = new LinkedHashSet<>();
+            for (Object name : names) {
+                result.add((String) name);
+            }
+            return result;
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not read category names", e);
+        }
+    }
+}
@@ -25,20 +25,24 @@ public class SecurityConfig {
         http
                 .csrf().disable()
                 .authorizeHttpRequests(requests -> {
-                    requests.requestMatchers(HttpMethod.GET, "/api/v1/**", "/openapi/**").permitAll();
+                    requests.requestMatchers(HttpMethod.GET, "/api/v1/**", "/openapi/**", "/actuator/health", "/actuator/prometheus")
+                            .permitAll();
                     requests.anyRequest().authenticated();
-                }).oauth2ResourceServer().jwt().decoder(jwtDecoder());
+                }).oauth2ResourceServer().jwt();
 
         return http.build();
     }
 
-    JwtDecoder jwtDecoder() {
-        OAuth2TokenValidator<Jwt> withAudience = new AudienceValidator(audience);
-        OAuth2TokenValidator<Jwt> withIssuer = JwtValidators.createDefaultWithIssuer(issuer);
-        OAuth2TokenValidator<Jwt> validator = new DelegatingOAuth2TokenValidator<>(withAudience, withIssuer);
+    @Bean
+    public JwtDecoder jwtDecoder() {
+        return new SupplierJwtDecoder(() -> {
+            OAuth2TokenValidator<Jwt> withAudience = new AudienceValidator(audience);
+            OAuth2TokenValidator<Jwt> withIssuer = JwtValidators.createDefaultWithIssuer(issuer);
+            OAuth2TokenValidator<Jwt> validator = new DelegatingOAuth2TokenValidator<>(withAudience, withIssuer);
 
-        NimbusJwtDecoder jwtDecoder = JwtDecoders.fromOidcIssuerLocation(issuer);
-        jwtDecoder.setJwtValidator(validator);
-        return jwtDecoder;
+            NimbusJwtDecoder jwtDecoder = JwtDecoders.fromOidcIssuerLocation(issuer);
+            jwtDecoder.setJwtValidator(validator);
+            return jwtDecoder;
+        });
     }
 }
\ No newline at end of file
@@ -1,22 +1,30 @@
 package ua.com.foxminded.carrestservice.services;
 
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.transaction.annotation.Transactional;
 import ua.com.foxminded.carrestservice.models.Brand;
+import ua.com.foxminded.carrestservice.repositories.views.BrandView;
+import ua.com.foxminded.carrestservice.repositories.views.RowCount;
 import ua.com.foxminded.carrestservice.utils.specifications.BrandSpecification;
 
 import java.util.List;
 import java.util.Optional;
 
 public interface BrandService {
-    @Transactional
+    @Transactional(readOnly = true)
     List<Brand> findAll(BrandSpecification spec, Pageable pageable);
 
-    @Transactional
+    @Transactional(readOnly = true)
+    Slice<BrandView> findAllViews(BrandSpecification spec, Pageable pageable);
+
+    @Transactional(readOnly = true)
+    RowCount countAllViews();
+
+    @Transactional(readOnly = true)
     Optional<Brand> findByName(String name);
 
-    @Transactional
-    Integer deleteByName(String brandName);
+    Optional<Long> findIdByName(String name);
 
     @Transactional
     void add(Brand brand);
@@ -1,25 +1,35 @@
 package ua.com.foxminded.carrestservice.services;
 
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.transaction.annotation.Transactional;
 import ua.com.foxminded.carrestservice.models.Car;
-import ua.com.foxminded.carrestservice.models.Model;
+import ua.com.foxminded.carrestservice.repositories.views.CarView;
+import ua.com.foxminded.carrestservice.repositories.views.RowCount;
 
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 
 public interface CarService {
-    @Transactional
-    List<Car> findAll(Specification<Car> specification, Pageable pageable);
+    @Transactional(readOnly = true)
+    Slice<CarView> findAllViews(Specification<Car> spec, Pageable pageable);
 
-    @Transactional
+    @Transactional(readOnly = true)
+    RowCount countAllViews();
+
+    @Transactional(readOnly = true)
+    void exportViews(Consumer<CarView> consumer);
+
+    @Transactional(readOnly = true)
     Car findByNumber(String number);
 
     @Transactional
-    List<Car> findByModel(Model model, Pageable pageable);
+    void save(Car car);
 
     @Transactional
-    void save(Car car);
+    Set<String> saveAllNew(List<Car> cars);
 
     @Transactional
     Integer deleteByNumber(String number);
@@ -0,0 +1,9 @@
+package ua.com.foxminded.carrestservice.services;
+
+import org.springframework.transaction.annotation.Transactional;
+import ua.com.foxminded.carrestservice.repositories.versions.CatalogVersions;
+
+public interface CatalogVersionService {
+    @Transactional(readOnly = true)
+    CatalogVersions findVersions();
+}
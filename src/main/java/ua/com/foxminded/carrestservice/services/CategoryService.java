@@ -1,24 +1,36 @@
 package ua.com.foxminded.carrestservice.services;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.transaction.annotation.Transactional;
 import ua.com.foxminded.carrestservice.models.Category;
+import ua.com.foxminded.carrestservice.repositories.views.CategoryView;
+import ua.com.foxminded.carrestservice.repositories.views.RowCount;
 import ua.com.foxminded.carrestservice.utils.specifications.CategorySpecification;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 public interface CategoryService {
-    @Transactional
+    @Transactional(readOnly = true)
     List<Category> findAll();
 
-    @Transactional
+    @Transactional(readOnly = true)
     Optional<Category> findByName(String name);
 
-    @Transactional
+    @Transactional(readOnly = true)
     List<Category> findAll(CategorySpecification spec, Pageable pageable);
 
+    @Transactional(readOnly = true)
+    Slice<CategoryView> findAllViews(CategorySpecification spec, Pageable pageable);
+
+    @Transactional(readOnly = true)
+    RowCount countAllViews();
+
+    Map<String, Optional<Long>> findIdsByNames(Set<String> names);
+
     @Transactional
     Integer delete(String name);
 
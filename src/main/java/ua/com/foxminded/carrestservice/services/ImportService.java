@@ -0,0 +1,11 @@
+package ua.com.foxminded.carrestservice.services;
+
+import ua.com.foxminded.carrestservice.utils.jobs.Job;
+
+import java.io.InputStream;
+
+public interface ImportService {
+    Job importCars(InputStream csv);
+
+    Job importModels(InputStream csv);
+}
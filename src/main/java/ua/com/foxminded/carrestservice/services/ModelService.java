@@ -1,36 +1,43 @@
 package ua.com.foxminded.carrestservice.services;
 
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.transaction.annotation.Transactional;
-import ua.com.foxminded.carrestservice.models.Brand;
-import ua.com.foxminded.carrestservice.models.Category;
 import ua.com.foxminded.carrestservice.models.Model;
+import ua.com.foxminded.carrestservice.repositories.views.ModelView;
+import ua.com.foxminded.carrestservice.repositories.views.RowCount;
+import ua.com.foxminded.carrestservice.utils.cache.CategoryBitmapIndex.Match;
+import ua.com.foxminded.carrestservice.utils.cache.CategoryBitmapIndex.ModelIdPage;
+import ua.com.foxminded.carrestservice.utils.cache.ModelNameIndex.NameMatches;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 public interface ModelService {
-    @Transactional
-    List<Model> findAll(Specification<Model> specification, Pageable pageable);
+    @Transactional(readOnly = true)
+    Slice<ModelView> findAllViews(Specification<Model> spec, Pageable pageable);
 
-    @Transactional
-    Optional<Model> findByName(String name);
+    @Transactional(readOnly = true)
+    ModelIdPage findIdsByCategories(Match match, Long after, int size);
 
-    @Transactional
-    Optional<Model> findByNameAndProductionYearAndBrandName(String name, Integer productionYear, String brandName);
+    @Transactional(readOnly = true)
+    NameMatches findIdsByName(String query, int limit);
 
-    @Transactional
-    List<Model> findByBrand(Brand brand, Pageable pageable);
+    @Transactional(readOnly = true)
+    List<ModelView> findAllViewsByIds(List<Long> ids);
 
-    @Transactional
-    List<Model> findByProductionYear(Integer start, Integer end, Pageable pageable);
+    @Transactional(readOnly = true)
+    RowCount countAllViews();
 
-    @Transactional
-    List<Model> findByCategories(Category category, Pageable pageable);
+    @Transactional(readOnly = true)
+    Optional<Model> findByNameAndProductionYearAndBrandName(String name, Integer productionYear, String brandName);
 
-    @Transactional
-    Integer delete(String brand, Integer year, String model);
+    Optional<Long> findIdByNameAndProductionYearAndBrandName(String name, Integer productionYear, String brandName);
+
+    @Transactional(readOnly = true)
+    Set<Long> findCategoryIds(Long modelId);
 
     @Transactional
     void save(Model model);
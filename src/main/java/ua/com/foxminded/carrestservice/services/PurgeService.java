@@ -0,0 +1,9 @@
+package ua.com.foxminded.carrestservice.services;
+
+import ua.com.foxminded.carrestservice.utils.jobs.Job;
+
+public interface PurgeService {
+    Job purgeBrand(String brandName);
+
+    Job purgeModel(String brand, Integer year, String model);
+}
@@ -1,51 +1,74 @@
 package ua.com.foxminded.carrestservice.services.impl;
 
+import io.micrometer.core.annotation.Timed;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ua.com.foxminded.carrestservice.models.Brand;
 import ua.com.foxminded.carrestservice.repositories.BrandRepository;
+import ua.com.foxminded.carrestservice.repositories.views.BrandView;
+import ua.com.foxminded.carrestservice.repositories.views.RowCount;
 import ua.com.foxminded.carrestservice.services.BrandService;
+import ua.com.foxminded.carrestservice.utils.cache.NaturalKeyCache;
 import ua.com.foxminded.carrestservice.utils.specifications.BrandSpecification;
 
 import java.util.List;
 import java.util.Optional;
 
 @Service
+@Timed(value = "service.invocations", histogram = true)
 public class BrandServiceImpl implements BrandService {
     private final BrandRepository repository;
+    private final NaturalKeyCache naturalKeyCache;
 
-    public BrandServiceImpl(BrandRepository repository) {
+    public BrandServiceImpl(BrandRepository repository, NaturalKeyCache naturalKeyCache) {
         this.repository = repository;
+        this.naturalKeyCache = naturalKeyCache;
     }
 
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
     public List<Brand> findAll(BrandSpecification spec, Pageable pageable) {
-        return repository.findAll(spec, pageable).getContent();
+        return repository.findSlice(spec, pageable).getContent();
     }
 
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
+    public Slice<BrandView> findAllViews(BrandSpecification spec, Pageable pageable) {
+        return repository.findAllViews(spec, pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public RowCount countAllViews() {
+        return repository.countViews();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public Optional<Brand> findByName(String name) {
         return repository.findByName(name);
     }
 
     @Override
-    @Transactional
-    public Integer deleteByName(String brandName) {
-        return repository.deleteByName(brandName);
+    public Optional<Long> findIdByName(String name) {
+        return naturalKeyCache.findBrandId(name);
     }
 
     @Override
     @Transactional
     public void add(Brand brand) {
+        naturalKeyCache.evictBrand(brand.getName());
         repository.save(brand);
     }
 
     @Override
     @Transactional
     public void update(Brand oldBrand, Brand newBrand) {
+        naturalKeyCache.evictBrand(oldBrand.getName());
+        naturalKeyCache.evictBrand(newBrand.getName());
+        naturalKeyCache.evictAllModels();
         oldBrand.setName(newBrand.getName());
         repository.save(oldBrand);
     }
@@ -1,53 +1,112 @@
 package ua.com.foxminded.carrestservice.services.impl;
 
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ua.com.foxminded.carrestservice.models.Car;
-import ua.com.foxminded.carrestservice.models.Model;
 import ua.com.foxminded.carrestservice.repositories.CarRepository;
+import ua.com.foxminded.carrestservice.repositories.ModelRepository;
+import ua.com.foxminded.carrestservice.repositories.views.CarView;
+import ua.com.foxminded.carrestservice.repositories.views.RowCount;
 import ua.com.foxminded.carrestservice.services.CarService;
+import ua.com.foxminded.carrestservice.utils.cache.CarNearCache;
+import ua.com.foxminded.carrestservice.utils.cache.PlateSuggestIndex;
 import ua.com.foxminded.carrestservice.utils.exceptions.CarNotFoundException;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
+@Timed(value = "service.invocations", histogram = true)
 public class CarServiceImpl implements CarService {
+    private static final int NUMBER_LOOKUP_CHUNK_SIZE = 1000;
     private final CarRepository repository;
+    private final ModelRepository modelRepository;
+    private final CarNearCache carNearCache;
+    private final PlateSuggestIndex plateSuggestIndex;
+    private final int exportFetchSize;
 
-    public CarServiceImpl(CarRepository repository) {
+    public CarServiceImpl(CarRepository repository, ModelRepository modelRepository, CarNearCache carNearCache,
+                          PlateSuggestIndex plateSuggestIndex, @Value("${car-service.export.fetch-size}") int exportFetchSize) {
         this.repository = repository;
+        this.modelRepository = modelRepository;
+        this.carNearCache = carNearCache;
+        this.plateSuggestIndex = plateSuggestIndex;
+        this.exportFetchSize = exportFetchSize;
     }
 
     @Override
-    @Transactional
-    public List<Car> findAll(Specification<Car> specification, Pageable pageable) {
-        return repository.findAll(specification, pageable).getContent();
+    @Transactional(readOnly = true)
+    public Slice<CarView> findAllViews(Specification<Car> spec, Pageable pageable) {
+        return repository.findAllViews(spec, pageable);
     }
 
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
+    public RowCount countAllViews() {
+        return repository.countViews();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportViews(Consumer<CarView> consumer) {
+        try (Stream<CarView> views = repository.streamAllViews(exportFetchSize)) {
+            views.forEach(consumer);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public Car findByNumber(String number) {
         return repository.findByNumber(number).orElseThrow(() -> new CarNotFoundException("Car with number '" + number + "' was not found"));
     }
 
     @Override
     @Transactional
-    public List<Car> findByModel(Model model, Pageable pageable) {
-        return repository.findByModel(model, pageable);
+    public void save(Car car) {
+        attachModel(car);
+        repository.save(car);
+        carNearCache.evict(car.getNumber());
+        plateSuggestIndex.recordNumbers(List.of(car.getNumber()), List.of());
     }
 
     @Override
     @Transactional
-    public void save(Car car) {
-        repository.save(car);
+    public Set<String> saveAllNew(List<Car> cars) {
+        Set<String> existing = new HashSet<>();
+        for (int from = 0; from < cars.size(); from += NUMBER_LOOKUP_CHUNK_SIZE) {
+            List<String> numbers = cars.subList(from, Math.min(from + NUMBER_LOOKUP_CHUNK_SIZE, cars.size())).stream()
+                    .map(Car::getNumber)
+                    .collect(Collectors.toList());
+            existing.addAll(repository.findExistingNumbers(numbers));
+        }
+
+        List<Car> created = cars.stream()
+                .filter(car -> !existing.contains(car.getNumber()))
+                .map(this::attachModel)
+                .collect(Collectors.toList());
+        repository.saveAll(created);
+        List<String> createdNumbers = created.stream().map(Car::getNumber).collect(Collectors.toList());
+        carNearCache.evictAll(createdNumbers);
+        plateSuggestIndex.recordNumbers(createdNumbers, List.of());
+        return existing;
     }
 
     @Override
     @Transactional
     public Integer deleteByNumber(String number) {
-        return repository.deleteByNumber(number);
+        carNearCache.evict(number);
+        Integer deleted = repository.deleteByNumber(number);
+        plateSuggestIndex.recordNumbers(List.of(), deleted == 1 ? List.of(number) : List.of());
+        return deleted;
     }
 
     @Override
@@ -57,5 +116,13 @@ public class CarServiceImpl implements CarService {
                 .orElseThrow(() -> new CarNotFoundException("Car with number '" + oldNumber + "' was not found"));
         car.setNumber(newNumber);
         repository.save(car);
+        carNearCache.evict(oldNumber);
+        carNearCache.evict(newNumber);
+        plateSuggestIndex.recordNumbers(List.of(newNumber), List.of(oldNumber));
+    }
+
+    private Car attachModel(Car car) {
+        car.setModel(modelRepository.getReferenceById(car.getModel().getId()));
+        return car;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,24 @@
+package ua.com.foxminded.carrestservice.services.impl;
+
+import io.micrometer.core.annotation.Timed;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ua.com.foxminded.carrestservice.repositories.versions.CatalogVersionRepository;
+import ua.com.foxminded.carrestservice.repositories.versions.CatalogVersions;
+import ua.com.foxminded.carrestservice.services.CatalogVersionService;
+
+@Service
+@Timed(value = "service.invocations", histogram = true)
+public class CatalogVersionServiceImpl implements CatalogVersionService {
+    private final CatalogVersionRepository repository;
+
+    public CatalogVersionServiceImpl(CatalogVersionRepository repository) {
+        this.repository = repository;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CatalogVersions findVersions() {
+        return repository.findVersions();
+    }
+}
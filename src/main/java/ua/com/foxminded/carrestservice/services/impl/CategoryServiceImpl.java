@@ -1,59 +1,97 @@
 package ua.com.foxminded.carrestservice.services.impl;
 
-import org.springframework.data.domain.Page;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ua.com.foxminded.carrestservice.models.Brand;
 import ua.com.foxminded.carrestservice.models.Category;
 import ua.com.foxminded.carrestservice.repositories.CategoryRepository;
+import ua.com.foxminded.carrestservice.repositories.views.CategoryView;
+import ua.com.foxminded.carrestservice.repositories.views.RowCount;
 import ua.com.foxminded.carrestservice.services.CategoryService;
+import ua.com.foxminded.carrestservice.utils.cache.CategoryBitmapIndex;
+import ua.com.foxminded.carrestservice.utils.cache.NaturalKeyCache;
 import ua.com.foxminded.carrestservice.utils.specifications.CategorySpecification;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
+@Timed(value = "service.invocations", histogram = true)
 public class CategoryServiceImpl implements CategoryService {
     private final CategoryRepository repository;
+    private final NaturalKeyCache naturalKeyCache;
+    private final CategoryBitmapIndex categoryIndex;
 
-    public CategoryServiceImpl(CategoryRepository repository) {
+    public CategoryServiceImpl(CategoryRepository repository, NaturalKeyCache naturalKeyCache,
+                               CategoryBitmapIndex categoryIndex) {
         this.repository = repository;
+        this.naturalKeyCache = naturalKeyCache;
+        this.categoryIndex = categoryIndex;
     }
 
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
     public List<Category> findAll() {
         return repository.findAll();
     }
 
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
     public Optional<Category> findByName(String name) {
         return repository.findByName(name);
     }
 
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
     public List<Category> findAll(CategorySpecification spec, Pageable pageable) {
-        return repository.findAll(spec, pageable).getContent();
+        return repository.findSlice(spec, pageable).getContent();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<CategoryView> findAllViews(CategorySpecification spec, Pageable pageable) {
+        return repository.findAllViews(spec, pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public RowCount countAllViews() {
+        return repository.countViews();
+    }
+
+    @Override
+    public Map<String, Optional<Long>> findIdsByNames(Set<String> names) {
+        return naturalKeyCache.findCategoryIds(names);
     }
 
     @Override
     @Transactional
     public Integer delete(String name) {
-        return repository.deleteByName(name);
+        Optional<Long> categoryId = naturalKeyCache.findCategoryIds(Set.of(name)).get(name);
+        naturalKeyCache.evictCategory(name);
+        naturalKeyCache.evictAllModels();
+        Integer deleted = repository.deleteByName(name);
+        categoryId.ifPresent(categoryIndex::recordCategoryDelete);
+        return deleted;
     }
 
     @Override
     @Transactional
     public void save(Category category) {
+        naturalKeyCache.evictCategory(category.getName());
         repository.save(category);
     }
 
     @Override
     @Transactional
     public void update(Category oldCategory, Category newCategory) {
+        naturalKeyCache.evictCategory(oldCategory.getName());
+        naturalKeyCache.evictCategory(newCategory.getName());
         oldCategory.setName(newCategory.getName());
         repository.save(oldCategory);
     }
@@ -0,0 +1,89 @@
+package ua.com.foxminded.carrestservice.services.impl;
+
+import io.micrometer.core.annotation.Timed;
+import org.springframework.stereotype.Service;
+import ua.com.foxminded.carrestservice.repositories.imports.CsvImportRepository;
+import ua.com.foxminded.carrestservice.services.ImportService;
+import ua.com.foxminded.carrestservice.utils.cache.CarNearCache;
+import ua.com.foxminded.carrestservice.utils.cache.NaturalKeyCache;
+import ua.com.foxminded.carrestservice.utils.cache.PlateSuggestIndex;
+import ua.com.foxminded.carrestservice.utils.cache.SecondLevelCache;
+import ua.com.foxminded.carrestservice.utils.jobs.Job;
+import ua.com.foxminded.carrestservice.utils.jobs.JobRegistry;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.function.BiConsumer;
+
+@Service
+@Timed(value = "service.invocations", histogram = true)
+public class ImportServiceImpl implements ImportService {
+    private final CsvImportRepository importRepository;
+    private final JobRegistry jobRegistry;
+    private final NaturalKeyCache naturalKeyCache;
+    private final SecondLevelCache secondLevelCache;
+    private final CarNearCache carNearCache;
+    private final PlateSuggestIndex plateSuggestIndex;
+
+    public ImportServiceImpl(CsvImportRepository importRepository, JobRegistry jobRegistry, NaturalKeyCache naturalKeyCache,
+                             SecondLevelCache secondLevelCache, CarNearCache carNearCache,
+                             PlateSuggestIndex plateSuggestIndex) {
+        this.importRepository = importRepository;
+        this.jobRegistry = jobRegistry;
+        this.naturalKeyCache = naturalKeyCache;
+        this.secondLevelCache = secondLevelCache;
+        this.carNearCache = carNearCache;
+        this.plateSuggestIndex = plateSuggestIndex;
+    }
+
+    @Override
+    public Job importCars(InputStream csv) {
+        return submit("car-import", csv, (file, job) -> {
+            importRepository.importCars(file, job);
+            carNearCache.evictAll();
+            plateSuggestIndex.requestRefresh();
+        });
+    }
+
+    @Override
+    public Job importModels(InputStream csv) {
+        return submit("model-import", csv, (file, job) -> {
+            importRepository.importModels(file, job);
+            naturalKeyCache.evictAllModels();
+            secondLevelCache.evictModels();
+        });
+    }
+
+    private Job submit(String type, InputStream csv, BiConsumer<Path, Job> task) {
+        Path file = spool(csv);
+        return jobRegistry.submit(type, job -> {
+            try {
+                task.accept(file, job);
+            } finally {
+                delete(file);
+            }
+        });
+    }
+
+    private static Path spool(InputStream csv) {
+        try {
+            Path file = Files.createTempFile("car-service-import-", ".csv");
+            Files.copy(csv, file, StandardCopyOption.REPLACE_EXISTING);
+            return file;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -1,95 +1,171 @@
 package ua.com.foxminded.carrestservice.services.impl;
 
+import io.micrometer.core.annotation.Timed;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import ua.com.foxminded.carrestservice.models.Brand;
 import ua.com.foxminded.carrestservice.models.Category;
 import ua.com.foxminded.carrestservice.models.Model;
+import ua.com.foxminded.carrestservice.repositories.BrandRepository;
 import ua.com.foxminded.carrestservice.repositories.ModelRepository;
+import ua.com.foxminded.carrestservice.repositories.versions.CatalogVersionRepository;
+import ua.com.foxminded.carrestservice.repositories.views.ModelView;
+import ua.com.foxminded.carrestservice.repositories.views.RowCount;
 import ua.com.foxminded.carrestservice.services.ModelService;
-
+import ua.com.foxminded.carrestservice.utils.cache.CategoryBitmapIndex.Match;
+import ua.com.foxminded.carrestservice.utils.cache.CategoryBitmapIndex.ModelIdPage;
+import ua.com.foxminded.carrestservice.utils.cache.CategoryBitmapIndex;
+import ua.com.foxminded.carrestservice.utils.cache.ModelNameIndex.NameMatches;
+import ua.com.foxminded.carrestservice.utils.cache.ModelNameIndex;
+import ua.com.foxminded.carrestservice.utils.cache.NaturalKeyCache;
+import ua.com.foxminded.carrestservice.utils.exceptions.ModelNotFoundException;
+import ua.com.foxminded.carrestservice.utils.specifications.ModelScope;
+import ua.com.foxminded.carrestservice.utils.specifications.ModelSpecification;
+import ua.com.foxminded.carrestservice.utils.specifications.SortCriteria;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
+@Timed(value = "service.invocations", histogram = true)
 public class ModelServiceImpl implements ModelService {
     private final ModelRepository modelRepository;
-
-    public ModelServiceImpl(ModelRepository modelRepository) {
+    private final BrandRepository brandRepository;
+    private final NaturalKeyCache naturalKeyCache;
+    private final CatalogVersionRepository versionRepository;
+    private final CategoryBitmapIndex categoryIndex;
+    private final ModelNameIndex nameIndex;
+
+    public ModelServiceImpl(ModelRepository modelRepository, BrandRepository brandRepository,
+                            NaturalKeyCache naturalKeyCache, CatalogVersionRepository versionRepository,
+                            CategoryBitmapIndex categoryIndex, ModelNameIndex nameIndex) {
         this.modelRepository = modelRepository;
+        this.brandRepository = brandRepository;
+        this.naturalKeyCache = naturalKeyCache;
+        this.versionRepository = versionRepository;
+        this.categoryIndex = categoryIndex;
+        this.nameIndex = nameIndex;
     }
 
     @Override
-    @Transactional
-    public List<Model> findAll(Specification<Model> specification, Pageable pageable) {
-        return modelRepository.findAll(specification, pageable).getContent();
+    @Transactional(readOnly = true)
+    public Slice<ModelView> findAllViews(Specification<Model> spec, Pageable pageable) {
+        return modelRepository.findAllViews(spec, pageable);
     }
 
     @Override
-    @Transactional
-    public Optional<Model> findByName(String name) {
-        return modelRepository.findByName(name);
+    @Transactional(readOnly = true)
+    public ModelIdPage findIdsByCategories(Match match, Long after, int size) {
+        return categoryIndex.findModelIds(versionRepository.findVersions(), match, after, size);
     }
 
     @Override
-    @Transactional
-    public Optional<Model> findByNameAndProductionYearAndBrandName(String name, Integer productionYear, String brandName) {
-        return modelRepository.findByNameAndProductionYearAndBrandName(name, productionYear, brandName);
+    @Transactional(readOnly = true)
+    public NameMatches findIdsByName(String query, int limit) {
+        return nameIndex.search(versionRepository.findVersions(), query, limit);
     }
 
     @Override
-    @Transactional
-    public List<Model> findByBrand(Brand brand, Pageable pageable) {
-        return modelRepository.findByBrand(brand, pageable);
+    @Transactional(readOnly = true)
+    public List<ModelView> findAllViewsByIds(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Integer> positions = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            positions.put(ids.get(i), i);
+        }
+        ModelSpecification spec = new ModelSpecification(new SortCriteria("model", "ASC"), null, ModelScope.ofModels(ids));
+        return modelRepository.findAllViews(spec, PageRequest.of(0, ids.size())).stream()
+                .sorted(Comparator.comparingInt(view -> positions.get(view.id())))
+                .toList();
     }
 
     @Override
-    @Transactional
-    public List<Model> findByProductionYear(Integer start, Integer end, Pageable pageable) {
-        return modelRepository.findByProductionYearBetween(start, end, pageable);
+    @Transactional(readOnly = true)
+    public RowCount countAllViews() {
+        return modelRepository.countViews();
     }
 
     @Override
-    @Transactional
-    public List<Model> findByCategories(Category category, Pageable pageable) {
-        return modelRepository.findByCategoriesIn(Set.of(category), pageable);
+    @Transactional(readOnly = true)
+    public Optional<Model> findByNameAndProductionYearAndBrandName(String name, Integer productionYear, String brandName) {
+        return modelRepository.findByNameAndProductionYearAndBrandName(name, productionYear, brandName);
     }
 
     @Override
-    @Transactional
-    public Integer delete(String brand, Integer year, String model) {
-        return modelRepository.deleteByBrandNameAndNameAndProductionYear(brand, model, year);
+    public Optional<Long> findIdByNameAndProductionYearAndBrandName(String name, Integer productionYear, String brandName) {
+        return naturalKeyCache.findModelId(brandName, name, productionYear);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Set<Long> findCategoryIds(Long modelId) {
+        return modelRepository.findCategoryIdsById(modelId);
     }
 
     @Override
     @Transactional
     public void save(Model model) {
-        for (Category category : model.getCategories()) {
-            category.addModel(model);
+        String brandName = model.getBrand().getName();
+        naturalKeyCache.evictModel(brandName, model.getName(), model.getProductionYear());
+        Set<Long> categoryIds = idsOf(model.getCategories());
+        model.setBrand(brandRepository.getReferenceById(model.getBrand().getId()));
+        model.setCategories(new HashSet<>());
+        modelRepository.saveAndFlush(model);
+
+        if (!categoryIds.isEmpty()) {
+            modelRepository.insertCategoryLinks(model.getId(), categoryIds);
         }
-        modelRepository.save(model);
+        recordModel(model, brandName, categoryIds);
     }
 
     @Override
     @Transactional
     public void update(Model oldModel, Model updatedModel) {
+        Model model = modelRepository.findById(oldModel.getId())
+                .orElseThrow(() -> new ModelNotFoundException("Model was not found."));
+        naturalKeyCache.evictModel(oldModel.getBrand().getName(), oldModel.getName(), oldModel.getProductionYear());
+
+        Set<Long> currentIds = modelRepository.findCategoryIdsById(model.getId());
+        Set<Long> categoryIds = idsOf(updatedModel.getCategories());
+        Set<Long> removedIds = difference(currentIds, categoryIds);
+        Set<Long> addedIds = difference(categoryIds, currentIds);
+
+        model.setBrand(brandRepository.getReferenceById(updatedModel.getBrand().getId()));
+        model.setName(updatedModel.getName());
+        model.setProductionYear(updatedModel.getProductionYear());
+        modelRepository.save(model);
 
-        for (Category category : oldModel.getCategories()) {
-            category.removeModel(oldModel);
+        if (!removedIds.isEmpty()) {
+            modelRepository.deleteCategoryLinks(model.getId(), removedIds);
+        }
+        if (!addedIds.isEmpty()) {
+            modelRepository.insertCategoryLinks(model.getId(), addedIds);
         }
+        recordModel(model, updatedModel.getBrand().getName(), categoryIds);
+        naturalKeyCache.evictModel(updatedModel.getBrand().getName(), updatedModel.getName(), updatedModel.getProductionYear());
+    }
 
-        oldModel.setCategories(updatedModel.getCategories());
-        oldModel.setBrand(updatedModel.getBrand());
-        oldModel.setName(updatedModel.getName());
-        oldModel.setProductionYear(updatedModel.getProductionYear());
+    private void recordModel(Model model, String brandName, Set<Long> categoryIds) {
+        categoryIndex.recordModel(model.getId(), categoryIds);
+        nameIndex.recordModel(model.getId(), brandName, model.getName());
+    }
 
-        for (Category category : updatedModel.getCategories()) {
-            category.addModel(oldModel);
-        }
+    private static Set<Long> idsOf(Set<Category> categories) {
+        return categories.stream().map(Category::getId).collect(Collectors.toSet());
+    }
 
-        modelRepository.save(oldModel);
+    private static Set<Long> difference(Set<Long> left, Set<Long> right) {
+        return left.stream().filter(id -> !right.contains(id)).collect(Collectors.toSet());
     }
-}
\ No newline at end of file
+}
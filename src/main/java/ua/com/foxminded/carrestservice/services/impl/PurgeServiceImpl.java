@@ -0,0 +1,110 @@
+package ua.com.foxminded.carrestservice.services.impl;
+
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import ua.com.foxminded.carrestservice.repositories.BrandRepository;
+import ua.com.foxminded.carrestservice.repositories.CarRepository;
+import ua.com.foxminded.carrestservice.repositories.ModelRepository;
+import ua.com.foxminded.carrestservice.services.PurgeService;
+import ua.com.foxminded.carrestservice.utils.cache.NaturalKeyCache;
+import ua.com.foxminded.carrestservice.utils.cache.PlateSuggestIndex;
+import ua.com.foxminded.carrestservice.utils.cache.SecondLevelCache;
+import ua.com.foxminded.carrestservice.utils.exceptions.BrandNotFoundException;
+import ua.com.foxminded.carrestservice.utils.exceptions.ModelNotFoundException;
+import ua.com.foxminded.carrestservice.utils.jobs.Job;
+import ua.com.foxminded.carrestservice.utils.jobs.JobRegistry;
+
+import java.util.function.IntSupplier;
+
+@Service
+@Timed(value = "service.invocations", histogram = true)
+public class PurgeServiceImpl implements PurgeService {
+    private final BrandRepository brandRepository;
+    private final ModelRepository modelRepository;
+    private final CarRepository carRepository;
+    private final JobRegistry jobRegistry;
+    private final NaturalKeyCache naturalKeyCache;
+    private final SecondLevelCache secondLevelCache;
+    private final PlateSuggestIndex plateSuggestIndex;
+    private final int chunkSize;
+
+    public PurgeServiceImpl(BrandRepository brandRepository, ModelRepository modelRepository, CarRepository carRepository,
+                            JobRegistry jobRegistry, NaturalKeyCache naturalKeyCache, SecondLevelCache secondLevelCache,
+                            PlateSuggestIndex plateSuggestIndex, @Value("${car-service.delete.chunk-size}") int chunkSize) {
+        this.brandRepository = brandRepository;
+        this.modelRepository = modelRepository;
+        this.carRepository = carRepository;
+        this.jobRegistry = jobRegistry;
+        this.naturalKeyCache = naturalKeyCache;
+        this.secondLevelCache = secondLevelCache;
+        this.plateSuggestIndex = plateSuggestIndex;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public Job purgeBrand(String brandName) {
+        Long brandId = brandRepository.findIdByName(brandName)
+                .filter(id -> brandRepository.markPurging(id) == 1)
+                .orElseThrow(() -> new BrandNotFoundException(brandName + " was not found!"));
+        naturalKeyCache.evictBrand(brandName);
+        naturalKeyCache.evictAllModels();
+        return submitBrandPurge(brandId);
+    }
+
+    @Override
+    public Job purgeModel(String brand, Integer year, String model) {
+        Long modelId = modelRepository.findIdByNameAndProductionYearAndBrandName(model, year, brand)
+                .filter(id -> modelRepository.markPurging(id) == 1)
+                .orElseThrow(() -> new ModelNotFoundException("Model was not found."));
+        naturalKeyCache.evictModel(brand, model, year);
+        return submitModelPurge(modelId);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumePurges() {
+        brandRepository.findPurgingIds().forEach(this::submitBrandPurge);
+        modelRepository.findPurgingIds().forEach(this::submitModelPurge);
+    }
+
+    private Job submitBrandPurge(Long brandId) {
+        return jobRegistry.submit("brand-purge", job -> {
+            job.startPhase("DELETING_CARS", carRepository.countByModelBrandId(brandId));
+            deleteInChunks(job, "cars", () -> carRepository.deleteChunkByBrandId(brandId, chunkSize));
+            plateSuggestIndex.requestRefresh();
+
+            job.startPhase("DELETING_MODELS", modelRepository.countByBrandId(brandId));
+            deleteInChunks(job, "models", () -> modelRepository.deleteChunkByBrandId(brandId, chunkSize));
+            secondLevelCache.evictModels();
+
+            job.startPhase("DELETING_BRAND", 1);
+            job.count("brands", brandRepository.deletePurged(brandId));
+            job.progress(1);
+        });
+    }
+
+    private Job submitModelPurge(Long modelId) {
+        return jobRegistry.submit("model-purge", job -> {
+            job.startPhase("DELETING_CARS", carRepository.countByModelId(modelId));
+            deleteInChunks(job, "cars", () -> carRepository.deleteChunkByModelId(modelId, chunkSize));
+            plateSuggestIndex.requestRefresh();
+
+            job.startPhase("DELETING_MODEL", 1);
+            job.count("models", modelRepository.deletePurged(modelId));
+            job.progress(1);
+        });
+    }
+
+    private void deleteInChunks(Job job, String counter, IntSupplier chunk) {
+        long processed = 0;
+        int deleted;
+        do {
+            deleted = chunk.getAsInt();
+            processed += deleted;
+            job.count(counter, deleted);
+            job.progress(processed);
+        } while (deleted == chunkSize);
+    }
+}
@@ -1,12 +1,27 @@
 package ua.com.foxminded.carrestservice.utils;
 
+import org.springframework.data.domain.Slice;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
+import ua.com.foxminded.carrestservice.dto.JobDTO;
+import ua.com.foxminded.carrestservice.repositories.views.RowCount;
+import ua.com.foxminded.carrestservice.utils.DTOconverters.JobDTOConverter;
 import ua.com.foxminded.carrestservice.utils.exceptions.CarDataException;
+import ua.com.foxminded.carrestservice.utils.jobs.Job;
 
+import java.net.URI;
+import java.time.Duration;
 import java.util.List;
+import java.util.function.Supplier;
 
 public class ControllerUtils {
+    public static final String HAS_NEXT_HEADER = "X-Has-Next";
+    public static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+    public static final String TOTAL_COUNT_ESTIMATED_HEADER = "X-Total-Count-Estimated";
+
     public static void handleBindingErrors(BindingResult bindingResult) {
         if (bindingResult.hasErrors()) {
             StringBuilder errorMessage = new StringBuilder();
@@ -18,4 +33,28 @@ public class ControllerUtils {
             throw new CarDataException(errorMessage.toString());
         }
     }
-}
\ No newline at end of file
+
+    public static ResponseEntity.BodyBuilder sliceResponse(Slice<?> slice, boolean includeTotal, Supplier<RowCount> total) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().header(HAS_NEXT_HEADER, String.valueOf(slice.hasNext()));
+        if (includeTotal) {
+            RowCount rowCount = total.get();
+            response.header(TOTAL_COUNT_HEADER, String.valueOf(rowCount.value()))
+                    .header(TOTAL_COUNT_ESTIMATED_HEADER, String.valueOf(rowCount.estimated()));
+        }
+        return response;
+    }
+
+    public static CacheControl referenceDataCacheControl(Duration maxAge) {
+        return CacheControl.maxAge(maxAge).cachePublic().mustRevalidate();
+    }
+
+    public static ResponseEntity<JobDTO> accepted(Job job) {
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/v1/jobs/" + job.getId()))
+                .body(JobDTOConverter.convertToDTO(job));
+    }
+
+    public static <T> ResponseEntity<T> notModified(String eTag, CacheControl cacheControl) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(cacheControl).build();
+    }
+}
@@ -4,6 +4,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import ua.com.foxminded.carrestservice.dto.BrandDTO;
 import ua.com.foxminded.carrestservice.models.Brand;
+import ua.com.foxminded.carrestservice.repositories.views.BrandView;
 import ua.com.foxminded.carrestservice.services.BrandService;
 import ua.com.foxminded.carrestservice.utils.exceptions.CarDataException;
 
@@ -25,6 +26,10 @@ public class BrandDTOConverter {
         return brandDTO;
     }
 
+    public static BrandDTO convertToDTO(BrandView brand) {
+        return new BrandDTO(brand.name());
+    }
+
     public static Brand convertFromDTO(BrandDTO brandDTO) {
         String brandName = brandDTO.getBrandName();
         Optional<Brand> optBrand = brandService.findByName(brandName);
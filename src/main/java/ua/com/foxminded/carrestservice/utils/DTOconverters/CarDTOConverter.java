@@ -6,6 +6,7 @@ import ua.com.foxminded.carrestservice.dto.CarDTO;
 import ua.com.foxminded.carrestservice.models.Car;
 import ua.com.foxminded.carrestservice.models.Category;
 import ua.com.foxminded.carrestservice.models.Model;
+import ua.com.foxminded.carrestservice.repositories.views.CarView;
 import ua.com.foxminded.carrestservice.services.ModelService;
 import ua.com.foxminded.carrestservice.utils.exceptions.ModelNotFoundException;
 
@@ -35,10 +36,16 @@ public class CarDTOConverter {
         return carDTO;
     }
 
+    public static CarDTO convertToDTO(CarView car) {
+        return new CarDTO(car.number(), car.brandName(), car.modelName(), car.productionYear(), car.categories());
+    }
+
     public static Car convertFromDTO(CarDTO carDTO) {
-        Model model = modelService
-                .findByNameAndProductionYearAndBrandName(carDTO.getModelName(), carDTO.getProductionYear(), carDTO.getBrandName())
+        Long modelId = modelService
+                .findIdByNameAndProductionYearAndBrandName(carDTO.getModelName(), carDTO.getProductionYear(), carDTO.getBrandName())
                 .orElseThrow(() -> new ModelNotFoundException("Model was not found."));
+        Model model = new Model();
+        model.setId(modelId);
 
         Car car = new Car();
         car.setModel(model);
@@ -5,6 +5,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import ua.com.foxminded.carrestservice.dto.CategoryDTO;
 import ua.com.foxminded.carrestservice.models.Category;
+import ua.com.foxminded.carrestservice.repositories.views.CategoryView;
 import ua.com.foxminded.carrestservice.services.CategoryService;
 import ua.com.foxminded.carrestservice.utils.exceptions.CarDataException;
 
@@ -23,6 +24,10 @@ public class CategoryDTOConverter {
         return new CategoryDTO(category.getName());
     }
 
+    public static CategoryDTO convertToDTO(CategoryView category) {
+        return new CategoryDTO(category.name());
+    }
+
     public static Category convertFromDTO(CategoryDTO categoryDTO) {
         String categoryName = categoryDTO.getCategoryName();
         Optional<Category> optCategory = categoryService.findByName(categoryName);
@@ -0,0 +1,17 @@
+package ua.com.foxminded.carrestservice.utils.DTOconverters;
+
+import org.springframework.stereotype.Service;
+import ua.com.foxminded.carrestservice.dto.JobDTO;
+import ua.com.foxminded.carrestservice.utils.jobs.Job;
+
+import java.util.TreeMap;
+
+@Service
+public class JobDTOConverter {
+
+    public static JobDTO convertToDTO(Job job) {
+        return new JobDTO(job.getId(), job.getType(), job.getStatus().name(), job.getPhase(),
+                job.getProcessed(), job.getTotal(), new TreeMap<>(job.getCounters()),
+                job.getMessage(), job.getCreatedAt(), job.getFinishedAt());
+    }
+}
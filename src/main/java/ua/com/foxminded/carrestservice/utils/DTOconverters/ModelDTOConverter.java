@@ -6,6 +6,7 @@ import ua.com.foxminded.carrestservice.dto.ModelDTO;
 import ua.com.foxminded.carrestservice.models.Brand;
 import ua.com.foxminded.carrestservice.models.Category;
 import ua.com.foxminded.carrestservice.models.Model;
+import ua.com.foxminded.carrestservice.repositories.views.ModelView;
 import ua.com.foxminded.carrestservice.services.BrandService;
 import ua.com.foxminded.carrestservice.services.CategoryService;
 import ua.com.foxminded.carrestservice.services.ModelService;
@@ -41,16 +42,23 @@ public class ModelDTOConverter {
         return modelDTO;
     }
 
+    public static ModelDTO convertToDTO(ModelView model) {
+        return new ModelDTO(model.brandName(), model.name(), model.productionYear(), model.categories());
+    }
+
     public static Model convertFromDTO(ModelDTO modelDTO) {
-        Optional<Model> modelOpt = modelService
-                .findByNameAndProductionYearAndBrandName(modelDTO.getModelName(), modelDTO.getProductionYear(), modelDTO.getBrandName());
+        Optional<Long> modelId = modelService
+                .findIdByNameAndProductionYearAndBrandName(modelDTO.getModelName(), modelDTO.getProductionYear(), modelDTO.getBrandName());
         Set<Category> categories = getSetOfCategories(modelDTO.getCategories());
+        Set<Long> categoryIds = categories.stream().map(Category::getId).collect(Collectors.toSet());
 
-        if (modelOpt.isPresent() && modelOpt.get().getCategories().equals(categories)) {
+        if (modelId.isPresent() && modelService.findCategoryIds(modelId.get()).equals(categoryIds)) {
             throw new CarDataException("This model is already exists!");
         }
 
-        Brand brand = brandService.findByName(modelDTO.getBrandName()).orElseThrow(() -> new CarDataException("Brand was not found!"));
+        Long brandId = brandService.findIdByName(modelDTO.getBrandName()).orElseThrow(() -> new CarDataException("Brand was not found!"));
+        Brand brand = new Brand(modelDTO.getBrandName());
+        brand.setId(brandId);
 
         Model model = new Model();
         model.setName(modelDTO.getModelName());
@@ -69,9 +77,15 @@ public class ModelDTOConverter {
     }
 
     private static Set<Category> getSetOfCategories(Set<String> strCategories) {
-        return strCategories
+        return categoryService.findIdsByNames(strCategories)
+                .entrySet()
                 .stream()
-                .map(name -> categoryService.findByName(name).orElseThrow())
+                .map(entry -> {
+                    Category category = new Category(entry.getKey());
+                    category.setId(entry.getValue()
+                            .orElseThrow(() -> new CarDataException("Category " + entry.getKey() + " was not found!")));
+                    return category;
+                })
                 .collect(Collectors.toSet());
     }
 }
\ No newline at end of file
@@ -0,0 +1,118 @@
+package ua.com.foxminded.carrestservice.utils.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ua.com.foxminded.carrestservice.models.Car;
+import ua.com.foxminded.carrestservice.repositories.versions.CatalogTable;
+import ua.com.foxminded.carrestservice.repositories.versions.CatalogVersions;
+import ua.com.foxminded.carrestservice.utils.exceptions.CarNotFoundException;
+
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static ua.com.foxminded.carrestservice.repositories.versions.CatalogTable.*;
+import static ua.com.foxminded.carrestservice.utils.DTOconverters.CarDTOConverter.convertToDTO;
+
+@Component
+public class CarNearCache {
+    private static final CatalogTable[] DEPENDENCIES = {MODELS, BRANDS, CATEGORIES, CATEGORY_MODEL};
+    private static final int GENERATION_STRIPES = 1024;
+    private final Cache<String, CachedCar> cars;
+    private final Cache<String, String> missing;
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+    private final AtomicLong epoch = new AtomicLong();
+    private final ObjectMapper objectMapper;
+
+    public CarNearCache(ObjectMapper objectMapper,
+                        @Value("${car-service.cache.cars.maximum-size}") long maximumSize,
+                        @Value("${car-service.cache.cars.expire-after-write}") Duration ttl,
+                        @Value("${car-service.cache.cars.negative-maximum-size}") long negativeMaximumSize,
+                        @Value("${car-service.cache.cars.negative-expire-after-write}") Duration negativeTtl) {
+        this.objectMapper = objectMapper;
+        this.cars = Caffeine.newBuilder().maximumSize(maximumSize).expireAfterWrite(ttl).build();
+        this.missing = Caffeine.newBuilder().maximumSize(negativeMaximumSize).expireAfterWrite(negativeTtl).build();
+    }
+
+    public CachedCar find(String number, Supplier<CatalogVersions> versions, Function<String, Car> loader) {
+        String message = missing.getIfPresent(number);
+        if (message != null) {
+            throw new CarNotFoundException(message);
+        }
+
+        long generation = generationOf(number);
+        CatalogVersions current = versions.get();
+        String catalogTag = current.eTag(DEPENDENCIES);
+        CachedCar cached = cars.getIfPresent(number);
+        if (cached != null && cached.catalogTag().equals(catalogTag)) {
+            return cached;
+        }
+
+        Car car;
+        try {
+            car = loader.apply(number);
+        } catch (CarNotFoundException e) {
+            putIfUnchanged(missing, number, e.getMessage(), generation);
+            throw e;
+        }
+
+        CachedCar loaded = new CachedCar(current.eTag(car.getId(), car.getVersion(), DEPENDENCIES), catalogTag, serialize(car));
+        putIfUnchanged(cars, number, loaded, generation);
+        return loaded;
+    }
+
+    public void evict(String number) {
+        TransactionCallbacks.nowAndAfterCompletion(() -> {
+            generations.incrementAndGet(stripeOf(number));
+            cars.invalidate(number);
+            missing.invalidate(number);
+        });
+    }
+
+    public void evictAll(Collection<String> numbers) {
+        TransactionCallbacks.nowAndAfterCompletion(() -> {
+            numbers.forEach(number -> generations.incrementAndGet(stripeOf(number)));
+            cars.invalidateAll(numbers);
+            missing.invalidateAll(numbers);
+        });
+    }
+
+    public void evictAll() {
+        TransactionCallbacks.nowAndAfterCompletion(() -> {
+            epoch.incrementAndGet();
+            cars.invalidateAll();
+            missing.invalidateAll();
+        });
+    }
+
+    private <V> void putIfUnchanged(Cache<String, V> cache, String number, V value, long generation) {
+        cache.asMap().compute(number, (key, present) -> generationOf(number) == generation ? value : present);
+    }
+
+    private long generationOf(String number) {
+        return epoch.get() + generations.get(stripeOf(number));
+    }
+
+    private static int stripeOf(String number) {
+        return Math.floorMod(number.hashCode(), GENERATION_STRIPES);
+    }
+
+    private byte[] serialize(Car car) {
+        try {
+            return objectMapper.writeValueAsBytes(convertToDTO(car));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public record CachedCar(String eTag, String catalogTag, byte[] body) {
+    }
+}
@@ -0,0 +1,206 @@
+package ua.com.foxminded.carrestservice.utils.cache;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import jakarta.annotation.PreDestroy;
+import org.roaringbitmap.longlong.PeekableLongIterator;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import ua.com.foxminded.carrestservice.repositories.CategoryMembershipRepository.CategoryLink;
+import ua.com.foxminded.carrestservice.repositories.CategoryMembershipRepository;
+import ua.com.foxminded.carrestservice.repositories.versions.CatalogTable;
+import ua.com.foxminded.carrestservice.repositories.versions.CatalogVersionRepository;
+import ua.com.foxminded.carrestservice.repositories.versions.CatalogVersions;
+import ua.com.foxminded.carrestservice.utils.cache.VersionedSnapshot.Read;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static ua.com.foxminded.carrestservice.repositories.versions.CatalogTable.BRANDS;
+import static ua.com.foxminded.carrestservice.repositories.versions.CatalogTable.CATEGORY_MODEL;
+import static ua.com.foxminded.carrestservice.repositories.versions.CatalogTable.MODELS;
+
+@Component
+public class CategoryBitmapIndex {
+    public static final CatalogTable[] DEPENDENCIES = {BRANDS, MODELS, CATEGORY_MODEL};
+    private static final Roaring64Bitmap EMPTY = new Roaring64Bitmap();
+
+    private final CategoryMembershipRepository membershipRepository;
+    private final int fetchSize;
+    private final VersionedSnapshot<Snapshot> snapshot;
+
+    public CategoryBitmapIndex(CategoryMembershipRepository membershipRepository,
+                               CatalogVersionRepository versionRepository,
+                               PlatformTransactionManager transactionManager,
+                               MeterRegistry registry,
+                               @Value("${car-service.category-index.fetch-size}") int fetchSize,
+                               @Value("${car-service.category-index.refresh-interval}") Duration refreshInterval) {
+        this.membershipRepository = membershipRepository;
+        this.fetchSize = fetchSize;
+        Timer rebuildTimer = Timer.builder("category.index.rebuild")
+                .description("Time to rebuild the category bitmaps from category_model")
+                .register(registry);
+        this.snapshot = new VersionedSnapshot<>("Category index", DEPENDENCIES, new Snapshot(EMPTY, Map.of()),
+                this::load, versionRepository, transactionManager, rebuildTimer, refreshInterval);
+        Gauge.builder("category.index.memory", this, CategoryBitmapIndex::sizeInBytes)
+                .description("Heap used by the category bitmaps")
+                .baseUnit(BaseUnits.BYTES)
+                .register(registry);
+        Gauge.builder("category.index.models", this, CategoryBitmapIndex::modelCount)
+                .description("Models known to the category index")
+                .register(registry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        snapshot.start();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        snapshot.shutdown();
+    }
+
+    public ModelIdPage findModelIds(CatalogVersions versions, Match match, Long after, int size) {
+        Read<Snapshot> current = snapshot.read(versions);
+        Roaring64Bitmap matches = resolve(current.value(), match);
+        PeekableLongIterator iterator = matches.getLongIterator();
+        if (after != null) {
+            iterator.advanceIfNeeded(after + 1);
+        }
+        List<Long> ids = new ArrayList<>(size);
+        while (iterator.hasNext() && ids.size() < size) {
+            ids.add(iterator.next());
+        }
+        return new ModelIdPage(ids, iterator.hasNext(), matches.getLongCardinality(), current.upToDate());
+    }
+
+    public void recordModel(Long modelId, Set<Long> categoryIds) {
+        snapshot.record(current -> current.withModel(modelId, categoryIds));
+    }
+
+    public void recordCategoryDelete(Long categoryId) {
+        snapshot.record(current -> current.withoutCategory(categoryId));
+    }
+
+    void refresh() {
+        snapshot.refresh();
+    }
+
+    private Snapshot load() {
+        Roaring64Bitmap models = new Roaring64Bitmap();
+        try (Stream<Long> ids = membershipRepository.streamModelIds(fetchSize)) {
+            ids.forEach(models::addLong);
+        }
+        Map<Long, Roaring64Bitmap> categories = new HashMap<>();
+        try (Stream<CategoryLink> links = membershipRepository.streamLinks(fetchSize)) {
+            links.forEach(link -> categories.computeIfAbsent(link.categoryId(), id -> new Roaring64Bitmap())
+                    .addLong(link.modelId()));
+        }
+        models.runOptimize();
+        categories.values().forEach(Roaring64Bitmap::runOptimize);
+        return new Snapshot(models, Map.copyOf(categories));
+    }
+
+    private static Roaring64Bitmap resolve(Snapshot snapshot, Match match) {
+        Roaring64Bitmap result = null;
+        List<Roaring64Bitmap> all = match.all().stream()
+                .map(snapshot::bitmap)
+                .sorted(Comparator.comparingLong(Roaring64Bitmap::getLongCardinality))
+                .toList();
+        for (Roaring64Bitmap bitmap : all) {
+            result = intersect(result, bitmap);
+        }
+        if (!match.any().isEmpty()) {
+            Roaring64Bitmap union = new Roaring64Bitmap();
+            match.any().forEach(id -> union.or(snapshot.bitmap(id)));
+            result = intersect(result, union);
+        }
+        if (result == null) {
+            result = snapshot.models().clone();
+        } else {
+            result.and(snapshot.models());
+        }
+        for (Long id : match.none()) {
+            result.andNot(snapshot.bitmap(id));
+        }
+        return result;
+    }
+
+    private static Roaring64Bitmap intersect(Roaring64Bitmap result, Roaring64Bitmap bitmap) {
+        if (result == null) {
+            return bitmap.clone();
+        }
+        result.and(bitmap);
+        return result;
+    }
+
+    private double sizeInBytes() {
+        return snapshot.value().sizeInBytes();
+    }
+
+    private double modelCount() {
+        return snapshot.value().models().getLongCardinality();
+    }
+
+    public record Match(Set<Long> all, Set<Long> any, Set<Long> none) {
+    }
+
+    public record ModelIdPage(List<Long> ids, boolean hasNext, long total, boolean upToDate) {
+    }
+
+    private record Snapshot(Roaring64Bitmap models, Map<Long, Roaring64Bitmap> categories) {
+        Roaring64Bitmap bitmap(Long categoryId) {
+            return categories.getOrDefault(categoryId, EMPTY);
+        }
+
+        long sizeInBytes() {
+            return models.getLongSizeInBytes() + categories.values().stream()
+                    .mapToLong(Roaring64Bitmap::getLongSizeInBytes)
+                    .sum();
+        }
+
+        Snapshot withModel(Long modelId, Set<Long> categoryIds) {
+            Roaring64Bitmap updatedModels = models;
+            if (!models.contains(modelId)) {
+                updatedModels = models.clone();
+                updatedModels.addLong(modelId);
+            }
+            Map<Long, Roaring64Bitmap> updated = new HashMap<>(categories);
+            for (Map.Entry<Long, Roaring64Bitmap> category : categories.entrySet()) {
+                boolean member = categoryIds.contains(category.getKey());
+                if (member != category.getValue().contains(modelId)) {
+                    Roaring64Bitmap bitmap = category.getValue().clone();
+                    if (member) {
+                        bitmap.addLong(modelId);
+                    } else {
+                        bitmap.removeLong(modelId);
+                    }
+                    updated.put(category.getKey(), bitmap);
+                }
+            }
+            for (Long categoryId : categoryIds) {
+                updated.computeIfAbsent(categoryId, id -> Roaring64Bitmap.bitmapOf(modelId));
+            }
+            return new Snapshot(updatedModels, Map.copyOf(updated));
+        }
+
+        Snapshot withoutCategory(Long categoryId) {
+            Map<Long, Roaring64Bitmap> updated = new HashMap<>(categories);
+            updated.remove(categoryId);
+            return new Snapshot(models, Map.copyOf(updated));
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package ua.com.foxminded.carrestservice.utils.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+final class FrontCodedStrings {
+    private static final int BLOCK_SIZE = 16;
+    static final FrontCodedStrings EMPTY = of(List.of());
+
+    private final byte[] data;
+    private final int[] blocks;
+    private final int size;
+
+    private FrontCodedStrings(byte[] data, int[] blocks, int size) {
+        this.data = data;
+        this.blocks = blocks;
+        this.size = size;
+    }
+
+    static FrontCodedStrings of(List<String> sorted) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int[] blocks = new int[(sorted.size() + BLOCK_SIZE - 1) / BLOCK_SIZE];
+        byte[] previous = new byte[0];
+        for (int i = 0; i < sorted.size(); i++) {
+            byte[] current = sorted.get(i).getBytes(StandardCharsets.UTF_8);
+            if (i % BLOCK_SIZE == 0) {
+                blocks[i / BLOCK_SIZE] = out.size();
+                writeVarInt(out, current.length);
+                out.write(current, 0, current.length);
+            } else {
+                int shared = Arrays.mismatch(previous, current);
+                shared = shared < 0 ? current.length : shared;
+                writeVarInt(out, shared);
+                writeVarInt(out, current.length - shared);
+                out.write(current, shared, current.length - shared);
+            }
+            previous = current;
+        }
+        return new FrontCodedStrings(out.toByteArray(), blocks, sorted.size());
+    }
+
+    int size() {
+        return size;
+    }
+
+    long sizeInBytes() {
+        return data.length + (long) blocks.length * Integer.BYTES;
+    }
+
+    void forEach(Predicate<String> consumer) {
+        scan(0, value -> true, consumer);
+    }
+
+    void forEachFrom(String from, Function<String, String> sortKey, Predicate<String> consumer) {
+        int low = 0;
+        int high = blocks.length - 1;
+        int start = 0;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (sortKey.apply(head(middle)).compareTo(from) < 0) {
+                start = middle;
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        scan(start, value -> sortKey.apply(value).compareTo(from) >= 0, consumer);
+    }
+
+    private String head(int block) {
+        int[] position = {blocks[block]};
+        int length = readVarInt(position);
+        return new String(data, position[0], length, StandardCharsets.UTF_8);
+    }
+
+    private void scan(int block, Predicate<String> from, Predicate<String> consumer) {
+        if (size == 0) {
+            return;
+        }
+        int[] position = {blocks[block]};
+        byte[] buffer = new byte[64];
+        boolean started = false;
+        for (int i = block * BLOCK_SIZE; i < size; i++) {
+            int shared = i % BLOCK_SIZE == 0 ? 0 : readVarInt(position);
+            int suffix = readVarInt(position);
+            if (shared + suffix > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, shared + suffix));
+            }
+            System.arraycopy(data, position[0], buffer, shared, suffix);
+            position[0] += suffix;
+
+            String value = new String(buffer, 0, shared + suffix, StandardCharsets.UTF_8);
+            started = started || from.test(value);
+            if (started && !consumer.test(value)) {
+                return;
+            }
+        }
+    }
+
+    private static void writeVarInt(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private int readVarInt(int[] position) {
+        int value = 0;
+        int shift = 0;
+        byte current;
+        do {
+            current = data[position[0]++];
+            value |= (current & 0x7F) << shift;
+            shift += 7;
+        } while ((current & 0x80) != 0);
+        return value;
+    }
+}
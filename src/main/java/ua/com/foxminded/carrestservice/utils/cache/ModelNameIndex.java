@@ -0,0 +1,256 @@
+package ua.com.foxminded.carrestservice.utils.cache;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import ua.com.foxminded.carrestservice.repositories.ModelNameRepository.ModelName;
+import ua.com.foxminded.carrestservice.repositories.ModelNameRepository;
+import ua.com.foxminded.carrestservice.repositories.versions.CatalogTable;
+import ua.com.foxminded.carrestservice.repositories.versions.CatalogVersionRepository;
+import ua.com.foxminded.carrestservice.repositories.versions.CatalogVersions;
+import ua.com.foxminded.carrestservice.utils.cache.VersionedSnapshot.Read;
+import ua.com.foxminded.carrestservice.utils.exceptions.InvalidFilterException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static ua.com.foxminded.carrestservice.repositories.versions.CatalogTable.BRANDS;
+import static ua.com.foxminded.carrestservice.repositories.versions.CatalogTable.MODELS;
+
+@Component
+public class ModelNameIndex {
+    public static final CatalogTable[] DEPENDENCIES = {BRANDS, MODELS};
+    private static final int MIN_QUERY_LENGTH = 2;
+    private static final int[] NO_TERMS = new int[0];
+
+    private final ModelNameRepository nameRepository;
+    private final int fetchSize;
+    private final int compactionThreshold;
+    private final int maxLimit;
+    private final double minSimilarity;
+    private final VersionedSnapshot<Snapshot> snapshot;
+
+    public ModelNameIndex(ModelNameRepository nameRepository,
+                          CatalogVersionRepository versionRepository,
+                          PlatformTransactionManager transactionManager,
+                          MeterRegistry registry,
+                          @Value("${car-service.model-search.fetch-size}") int fetchSize,
+                          @Value("${car-service.model-search.compaction-threshold}") int compactionThreshold,
+                          @Value("${car-service.model-search.max-limit}") int maxLimit,
+                          @Value("${car-service.model-search.min-similarity}") double minSimilarity,
+                          @Value("${car-service.model-search.refresh-interval}") Duration refreshInterval) {
+        this.nameRepository = nameRepository;
+        this.fetchSize = fetchSize;
+        this.compactionThreshold = compactionThreshold;
+        this.maxLimit = maxLimit;
+        this.minSimilarity = minSimilarity;
+        Timer rebuildTimer = Timer.builder("model.search.rebuild")
+                .description("Time to rebuild the model name trigrams from models and brands")
+                .register(registry);
+        this.snapshot = new VersionedSnapshot<>("Model name index", DEPENDENCIES,
+                new Snapshot(Map.of(), Trigrams.of(List.of()), Map.of()),
+                this::load, versionRepository, transactionManager, rebuildTimer, refreshInterval);
+        Gauge.builder("model.search.models", this, ModelNameIndex::modelCount)
+                .description("Models known to the model name index")
+                .register(registry);
+        Gauge.builder("model.search.terms", this, ModelNameIndex::termCount)
+                .description("Distinct normalized names in the model name index")
+                .register(registry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        snapshot.start();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        snapshot.shutdown();
+    }
+
+    public NameMatches search(CatalogVersions versions, String query, int limit) {
+        String key = query == null ? "" : normalize(query);
+        if (key.length() < MIN_QUERY_LENGTH) {
+            throw new InvalidFilterException("q should contain at least " + MIN_QUERY_LENGTH + " letters or digits");
+        }
+        if (limit < 1 || limit > maxLimit) {
+            throw new InvalidFilterException("limit should be between 1 and " + maxLimit);
+        }
+
+        Read<Snapshot> read = snapshot.read(versions);
+        Snapshot current = read.value();
+        Set<String> grams = trigrams(key);
+        Map<Long, Double> scores = new HashMap<>();
+        current.base().score(grams, minSimilarity, (modelId, score) -> {
+            if (!current.overlay().containsKey(modelId)) {
+                scores.merge(modelId, score, Math::max);
+            }
+        });
+        for (ModelName model : current.overlay().values()) {
+            double score = keys(model).stream().mapToDouble(term -> similarity(grams, trigrams(term))).max().orElse(0);
+            if (score >= minSimilarity) {
+                scores.put(model.modelId(), score);
+            }
+        }
+        Comparator<Map.Entry<Long, Double>> ranking = Map.Entry.<Long, Double>comparingByValue().reversed()
+                .thenComparing(Map.Entry.comparingByKey());
+        PriorityQueue<Map.Entry<Long, Double>> best = new PriorityQueue<>(limit + 1, ranking.reversed());
+        for (Map.Entry<Long, Double> score : scores.entrySet()) {
+            best.add(score);
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+        return new NameMatches(best.stream().sorted(ranking).map(Map.Entry::getKey).toList(), read.upToDate());
+    }
+
+    public void recordModel(Long modelId, String brandName, String modelName) {
+        ModelName model = new ModelName(modelId, brandName, modelName);
+        snapshot.record(current -> apply(current, model));
+    }
+
+    void refresh() {
+        snapshot.refresh();
+    }
+
+    private Snapshot load() {
+        Map<Long, ModelName> models = new HashMap<>();
+        try (Stream<ModelName> names = nameRepository.streamNames(fetchSize)) {
+            names.forEach(name -> models.put(name.modelId(), name));
+        }
+        return new Snapshot(Map.copyOf(models), Trigrams.of(models.values()), Map.of());
+    }
+
+    private Snapshot apply(Snapshot current, ModelName model) {
+        Map<Long, ModelName> overlay = new HashMap<>(current.overlay());
+        overlay.put(model.modelId(), model);
+        Snapshot updated = new Snapshot(current.models(), current.base(), Map.copyOf(overlay));
+        return overlay.size() > compactionThreshold ? updated.compact() : updated;
+    }
+
+    private double modelCount() {
+        Snapshot current = snapshot.value();
+        return current.models().size() + current.overlay().keySet().stream()
+                .filter(id -> !current.models().containsKey(id))
+                .count();
+    }
+
+    private double termCount() {
+        return snapshot.value().base().terms().length;
+    }
+
+    static String normalize(String name) {
+        StringBuilder normalized = new StringBuilder(name.length());
+        name.toLowerCase(Locale.ROOT).codePoints()
+                .filter(Character::isLetterOrDigit)
+                .forEach(normalized::appendCodePoint);
+        return normalized.toString();
+    }
+
+    private static Set<String> keys(ModelName model) {
+        return new HashSet<>(List.of(normalize(model.modelName()), normalize(model.brandName() + model.modelName())));
+    }
+
+    private static Set<String> trigrams(String key) {
+        String padded = "  " + key + " ";
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + 3));
+        }
+        return grams;
+    }
+
+    private static double similarity(Set<String> query, Set<String> term) {
+        int shared = 0;
+        for (String gram : query) {
+            if (term.contains(gram)) {
+                shared++;
+            }
+        }
+        return 2.0 * shared / (query.size() + term.size());
+    }
+
+    public record NameMatches(List<Long> ids, boolean upToDate) {
+    }
+
+    private interface ScoreConsumer {
+        void accept(long modelId, double score);
+    }
+
+    private record Trigrams(String[] terms, int[] termGrams, long[][] termModels, Map<String, int[]> postings) {
+        static Trigrams of(Collection<ModelName> models) {
+            Map<String, List<Long>> termIds = new HashMap<>();
+            for (ModelName model : models) {
+                for (String key : keys(model)) {
+                    termIds.computeIfAbsent(key, term -> new ArrayList<>()).add(model.modelId());
+                }
+            }
+
+            String[] terms = termIds.keySet().toArray(String[]::new);
+            int[] termGrams = new int[terms.length];
+            long[][] termModels = new long[terms.length][];
+            Map<String, List<Integer>> postingLists = new HashMap<>();
+            for (int term = 0; term < terms.length; term++) {
+                Set<String> grams = trigrams(terms[term]);
+                termGrams[term] = grams.size();
+                termModels[term] = termIds.get(terms[term]).stream().mapToLong(Long::longValue).toArray();
+                for (String gram : grams) {
+                    postingLists.computeIfAbsent(gram, key -> new ArrayList<>()).add(term);
+                }
+            }
+            Map<String, int[]> postings = new HashMap<>();
+            postingLists.forEach((gram, list) -> postings.put(gram, list.stream().mapToInt(Integer::intValue).toArray()));
+            return new Trigrams(terms, termGrams, termModels, Map.copyOf(postings));
+        }
+
+        void score(Set<String> grams, double minSimilarity, ScoreConsumer consumer) {
+            int[] shared = new int[terms.length];
+            int[] touched = new int[16];
+            int touchedCount = 0;
+            for (String gram : grams) {
+                for (int term : postings.getOrDefault(gram, NO_TERMS)) {
+                    if (shared[term]++ == 0) {
+                        if (touchedCount == touched.length) {
+                            touched = Arrays.copyOf(touched, touchedCount * 2);
+                        }
+                        touched[touchedCount++] = term;
+                    }
+                }
+            }
+            for (int i = 0; i < touchedCount; i++) {
+                int term = touched[i];
+                double score = 2.0 * shared[term] / (grams.size() + termGrams[term]);
+                if (score >= minSimilarity) {
+                    for (long modelId : termModels[term]) {
+                        consumer.accept(modelId, score);
+                    }
+                }
+            }
+        }
+    }
+
+    private record Snapshot(Map<Long, ModelName> models, Trigrams base, Map<Long, ModelName> overlay) {
+        Snapshot compact() {
+            Map<Long, ModelName> merged = new HashMap<>(models);
+            merged.putAll(overlay);
+            return new Snapshot(Map.copyOf(merged), Trigrams.of(merged.values()), Map.of());
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package ua.com.foxminded.carrestservice.utils.cache;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ua.com.foxminded.carrestservice.repositories.BrandRepository;
+import ua.com.foxminded.carrestservice.repositories.CategoryRepository;
+import ua.com.foxminded.carrestservice.repositories.ModelRepository;
+import ua.com.foxminded.carrestservice.repositories.views.CategoryView;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Component
+public class NaturalKeyCache {
+    private final LoadingCache<String, Optional<Long>> brandIds;
+    private final LoadingCache<String, Optional<Long>> categoryIds;
+    private final LoadingCache<ModelKey, Optional<Long>> modelIds;
+
+    public NaturalKeyCache(BrandRepository brandRepository,
+                           CategoryRepository categoryRepository,
+                           ModelRepository modelRepository,
+                           @Value("${car-service.cache.natural-keys.maximum-size}") long maximumSize,
+                           @Value("${car-service.cache.natural-keys.expire-after-write}") Duration ttl,
+                           @Value("${car-service.cache.natural-keys.negative-expire-after-write}") Duration negativeTtl) {
+        this.brandIds = build(maximumSize, ttl, negativeTtl, brandRepository::findIdByName);
+        this.categoryIds = build(maximumSize, ttl, negativeTtl, new CacheLoader<>() {
+            @Override
+            public Optional<Long> load(String name) {
+                return loadAll(Set.of(name)).get(name);
+            }
+
+            @Override
+            public Map<String, Optional<Long>> loadAll(Set<? extends String> names) {
+                Map<String, Long> found = categoryRepository.findByNameIn(Set.copyOf(names)).stream()
+                        .collect(Collectors.toMap(CategoryView::name, CategoryView::id));
+                return names.stream().collect(Collectors.toMap(name -> name, name -> Optional.ofNullable(found.get(name))));
+            }
+        });
+        this.modelIds = build(maximumSize, ttl, negativeTtl, key -> modelRepository
+                .findIdByNameAndProductionYearAndBrandName(key.model(), key.productionYear(), key.brand()));
+    }
+
+    public Optional<Long> findBrandId(String name) {
+        return brandIds.get(name);
+    }
+
+    public Map<String, Optional<Long>> findCategoryIds(Collection<String> names) {
+        return categoryIds.getAll(names);
+    }
+
+    public Optional<Long> findModelId(String brand, String model, Integer productionYear) {
+        return modelIds.get(new ModelKey(brand, model, productionYear));
+    }
+
+    public void evictBrand(String name) {
+        TransactionCallbacks.nowAndAfterCompletion(() -> brandIds.invalidate(name));
+    }
+
+    public void evictCategory(String name) {
+        TransactionCallbacks.nowAndAfterCompletion(() -> categoryIds.invalidate(name));
+    }
+
+    public void evictModel(String brand, String model, Integer productionYear) {
+        TransactionCallbacks.nowAndAfterCompletion(() -> modelIds.invalidate(new ModelKey(brand, model, productionYear)));
+    }
+
+    public void evictAllModels() {
+        TransactionCallbacks.nowAndAfterCompletion(modelIds::invalidateAll);
+    }
+
+    private static <K> LoadingCache<K, Optional<Long>> build(long maximumSize, Duration ttl, Duration negativeTtl,
+                                                             CacheLoader<K, Optional<Long>> loader) {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new PositiveNegativeExpiry<K>(ttl, negativeTtl))
+                .build(loader);
+    }
+
+    private record ModelKey(String brand, String model, Integer productionYear) {
+    }
+
+    private record PositiveNegativeExpiry<K>(Duration ttl, Duration negativeTtl) implements Expiry<K, Optional<Long>> {
+        @Override
+        public long expireAfterCreate(K key, Optional<Long> value, long currentTime) {
+            return (value.isPresent() ? ttl : negativeTtl).toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(K key, Optional<Long> value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(K key, Optional<Long> value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package ua.com.foxminded.carrestservice.utils.cache;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import ua.com.foxminded.carrestservice.repositories.CarRepository;
+import ua.com.foxminded.carrestservice.repositories.versions.CatalogTable;
+import ua.com.foxminded.carrestservice.repositories.versions.CatalogVersionRepository;
+import ua.com.foxminded.carrestservice.utils.exceptions.InvalidFilterException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import static ua.com.foxminded.carrestservice.repositories.versions.CatalogTable.CARS;
+
+@Component
+public class PlateSuggestIndex {
+    public static final CatalogTable[] DEPENDENCIES = {CARS};
+    private static final char KEY_SEPARATOR = '\u0000';
+
+    private final CarRepository carRepository;
+    private final int compactionThreshold;
+    private final int maxLimit;
+    private final VersionedSnapshot<State> state;
+
+    public PlateSuggestIndex(CarRepository carRepository,
+                             CatalogVersionRepository versionRepository,
+                             PlatformTransactionManager transactionManager,
+                             MeterRegistry registry,
+                             @Value("${car-service.suggest.refresh-interval}") Duration refreshInterval,
+                             @Value("${car-service.suggest.compaction-threshold}") int compactionThreshold,
+                             @Value("${car-service.suggest.max-limit}") int maxLimit) {
+        this.carRepository = carRepository;
+        this.compactionThreshold = compactionThreshold;
+        this.maxLimit = maxLimit;
+        Timer rebuildTimer = Timer.builder("plate.suggest.rebuild")
+                .description("Time to rebuild the plate number suggestions from cars")
+                .register(registry);
+        this.state = new VersionedSnapshot<>("Plate number suggestions", DEPENDENCIES,
+                new State(FrontCodedStrings.EMPTY, new TreeMap<>(), Set.of()),
+                this::load, versionRepository, transactionManager, rebuildTimer, refreshInterval);
+        Gauge.builder("plate.suggest.memory", this, PlateSuggestIndex::sizeInBytes)
+                .description("Heap used by the front-coded plate numbers")
+                .baseUnit(BaseUnits.BYTES)
+                .register(registry);
+        Gauge.builder("plate.suggest.numbers", this, PlateSuggestIndex::numberCount)
+                .description("Plate numbers known to the suggestion index")
+                .register(registry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        state.start();
+    }
+
+    public void requestRefresh() {
+        state.requestRefresh();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        state.shutdown();
+    }
+
+    public List<String> suggest(String prefix, int limit) {
+        String normalized = prefix == null ? "" : normalize(prefix);
+        if (normalized.isEmpty()) {
+            throw new InvalidFilterException("prefix should contain at least one letter or digit");
+        }
+        if (limit < 1 || limit > maxLimit) {
+            throw new InvalidFilterException("limit should be between 1 and " + maxLimit);
+        }
+
+        State current = state.value();
+        List<String> matches = new ArrayList<>(limit);
+        current.base().forEachFrom(normalized, PlateSuggestIndex::sortKey, number -> {
+            if (!normalize(number).startsWith(normalized)) {
+                return false;
+            }
+            if (!current.removed().contains(number)) {
+                matches.add(number);
+            }
+            return matches.size() < limit;
+        });
+        for (Map.Entry<String, String> added : current.added().tailMap(normalized).entrySet()) {
+            if (!added.getKey().startsWith(normalized)) {
+                break;
+            }
+            matches.add(added.getValue());
+        }
+        return matches.stream()
+                .distinct()
+                .sorted(Comparator.comparing(PlateSuggestIndex::sortKey))
+                .limit(limit)
+                .toList();
+    }
+
+    public void recordNumbers(Collection<String> added, Collection<String> removed) {
+        List<String> addedNumbers = List.copyOf(added);
+        List<String> removedNumbers = List.copyOf(removed);
+        state.record(current -> apply(current, addedNumbers, removedNumbers));
+    }
+
+    void refresh() {
+        state.refresh();
+    }
+
+    private State load() {
+        List<String> numbers;
+        try (Stream<String> stream = carRepository.streamAllNumbers()) {
+            numbers = stream.map(PlateSuggestIndex::sortKey).sorted().map(PlateSuggestIndex::numberOf).toList();
+        }
+        return new State(FrontCodedStrings.of(numbers), new TreeMap<>(), Set.of());
+    }
+
+    private State apply(State current, List<String> added, List<String> removed) {
+        NavigableMap<String, String> updatedAdded = new TreeMap<>(current.added());
+        Set<String> updatedRemoved = new HashSet<>(current.removed());
+        for (String number : removed) {
+            if (updatedAdded.remove(sortKey(number)) == null) {
+                updatedRemoved.add(number);
+            }
+        }
+        for (String number : added) {
+            if (!updatedRemoved.remove(number)) {
+                updatedAdded.put(sortKey(number), number);
+            }
+        }
+
+        State updated = new State(current.base(), updatedAdded, Set.copyOf(updatedRemoved));
+        return updated.overlaySize() > compactionThreshold ? updated.compact() : updated;
+    }
+
+    private double sizeInBytes() {
+        return state.value().base().sizeInBytes();
+    }
+
+    private double numberCount() {
+        State current = state.value();
+        return current.base().size() + current.added().size() - current.removed().size();
+    }
+
+    static String normalize(String number) {
+        StringBuilder normalized = new StringBuilder(number.length());
+        number.codePoints()
+                .filter(Character::isLetterOrDigit)
+                .map(Character::toUpperCase)
+                .forEach(normalized::appendCodePoint);
+        return normalized.toString();
+    }
+
+    private static String sortKey(String number) {
+        return normalize(number) + KEY_SEPARATOR + number;
+    }
+
+    private static String numberOf(String sortKey) {
+        return sortKey.substring(sortKey.indexOf(KEY_SEPARATOR) + 1);
+    }
+
+    private record State(FrontCodedStrings base, NavigableMap<String, String> added, Set<String> removed) {
+        int overlaySize() {
+            return added.size() + removed.size();
+        }
+
+        State compact() {
+            List<String> numbers = new ArrayList<>(base.size() + added.size());
+            base.forEach(number -> {
+                if (!removed.contains(number)) {
+                    numbers.add(number);
+                }
+                return true;
+            });
+            numbers.addAll(added.values());
+            numbers.sort(Comparator.comparing(PlateSuggestIndex::sortKey));
+            return new State(FrontCodedStrings.of(numbers), new TreeMap<>(), Set.of());
+        }
+    }
+}
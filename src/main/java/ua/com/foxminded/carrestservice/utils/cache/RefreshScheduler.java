@@ -0,0 +1,38 @@
+package ua.com.foxminded.carrestservice.utils.cache;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+final class RefreshScheduler {
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+    private final AtomicBoolean started = new AtomicBoolean();
+    private final AtomicBoolean requested = new AtomicBoolean();
+    private final Runnable refresh;
+    private final Duration interval;
+
+    RefreshScheduler(Runnable refresh, Duration interval) {
+        this.refresh = refresh;
+        this.interval = interval;
+    }
+
+    void start() {
+        started.set(true);
+        executor.scheduleWithFixedDelay(refresh, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    void request() {
+        if (started.get() && requested.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                requested.set(false);
+                refresh.run();
+            });
+        }
+    }
+
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,149 @@
+package ua.com.foxminded.carrestservice.utils.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+
+import static ua.com.foxminded.carrestservice.utils.ControllerUtils.notModified;
+
+@Component
+public class ResponseCache {
+    private static final String GZIP = "gzip";
+    private static final String GZIP_ETAG_SUFFIX = "-gzip";
+    private static final String WEAK_PREFIX = "W/";
+    private static final String NO_STORE = "no-store";
+    private final Cache<Key, CachedResponse> responses;
+    private final ObjectMapper objectMapper;
+    private final long gzipMinSize;
+
+    public ResponseCache(ObjectMapper objectMapper,
+                         @Value("${car-service.cache.responses.maximum-weight}") DataSize maximumWeight,
+                         @Value("${car-service.cache.responses.expire-after-write}") Duration ttl,
+                         @Value("${car-service.cache.responses.gzip-min-size}") DataSize gzipMinSize) {
+        this.objectMapper = objectMapper;
+        this.gzipMinSize = gzipMinSize.toBytes();
+        this.responses = Caffeine.newBuilder()
+                .maximumWeight(maximumWeight.toBytes())
+                .weigher((Key key, CachedResponse response) -> response.body().length)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    public ResponseEntity<byte[]> get(WebRequest request, String eTag, CacheControl cacheControl,
+                                      Supplier<ResponseEntity<?>> response) {
+        String gzipETag = gzipETag(eTag);
+        if (presents(request, gzipETag)) {
+            return notModified(gzipETag, cacheControl);
+        }
+        if (presents(request, eTag)) {
+            return notModified(eTag, cacheControl);
+        }
+
+        Key key = new Key(request.getDescription(false), canonicalQuery(request.getParameterMap()), acceptsGzip(request));
+        CachedResponse cached = responses.getIfPresent(key);
+        if (cached == null || !cached.eTag().equals(eTag)) {
+            cached = render(response.get(), eTag, key.gzip());
+            if (isStorable(cached.headers())) {
+                responses.put(key, cached);
+            }
+        }
+        return new ResponseEntity<>(cached.body(), cached.headers(), cached.status());
+    }
+
+    public void evictAll() {
+        responses.invalidateAll();
+    }
+
+    private CachedResponse render(ResponseEntity<?> response, String eTag, boolean gzip) {
+        byte[] body = serialize(response.getBody());
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(response.getHeaders());
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setVary(List.of(HttpHeaders.ACCEPT_ENCODING));
+        if (gzip && body.length >= gzipMinSize) {
+            body = compress(body);
+            headers.set(HttpHeaders.CONTENT_ENCODING, GZIP);
+            if (headers.getETag() != null) {
+                headers.setETag(gzipETag(eTag));
+            }
+        }
+        return new CachedResponse(eTag, response.getStatusCode(), HttpHeaders.readOnlyHttpHeaders(headers), body);
+    }
+
+    private byte[] serialize(Object body) {
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] compress(byte[] body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static String gzipETag(String eTag) {
+        return eTag.substring(0, eTag.length() - 1) + GZIP_ETAG_SUFFIX + '"';
+    }
+
+    private static boolean isStorable(HttpHeaders headers) {
+        String cacheControl = headers.getCacheControl();
+        return cacheControl == null || !cacheControl.contains(NO_STORE);
+    }
+
+    private static boolean presents(WebRequest request, String eTag) {
+        String[] values = request.getHeaderValues(HttpHeaders.IF_NONE_MATCH);
+        if (values == null) {
+            return false;
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.put(HttpHeaders.IF_NONE_MATCH, List.of(values));
+        return headers.getIfNoneMatch().stream()
+                .map(tag -> tag.startsWith(WEAK_PREFIX) ? tag.substring(WEAK_PREFIX.length()) : tag)
+                .anyMatch(tag -> tag.equals("*") || tag.equals(eTag));
+    }
+
+    private static String canonicalQuery(Map<String, String[]> parameters) {
+        return new TreeMap<>(parameters).entrySet().stream()
+                .map(parameter -> parameter.getKey() + "=" + Arrays.toString(parameter.getValue()))
+                .collect(Collectors.joining("&"));
+    }
+
+    private static boolean acceptsGzip(WebRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        return acceptEncoding != null && acceptEncoding.contains(GZIP);
+    }
+
+    private record Key(String path, String query, boolean gzip) {
+    }
+
+    private record CachedResponse(String eTag, HttpStatusCode status, HttpHeaders headers, byte[] body) {
+    }
+}
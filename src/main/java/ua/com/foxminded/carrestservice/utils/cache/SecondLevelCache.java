@@ -0,0 +1,24 @@
+package ua.com.foxminded.carrestservice.utils.cache;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Component;
+import ua.com.foxminded.carrestservice.models.Model;
+
+@Component
+public class SecondLevelCache {
+    private final Cache cache;
+
+    public SecondLevelCache(EntityManagerFactory entityManagerFactory) {
+        this.cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+    }
+
+    public void evictModels() {
+        TransactionCallbacks.nowAndAfterCompletion(() -> {
+            cache.evictEntityData(Model.class);
+            cache.evictCollectionData(SecondLevelCacheConfig.MODEL_CATEGORIES_REGION);
+            cache.evictQueryRegions();
+        });
+    }
+}
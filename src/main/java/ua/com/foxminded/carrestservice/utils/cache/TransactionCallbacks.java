@@ -0,0 +1,66 @@
+package ua.com.foxminded.carrestservice.utils.cache;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+final class TransactionCallbacks {
+    private TransactionCallbacks() {
+    }
+
+    static <T> void afterCommit(Supplier<T> beforeCommit, Consumer<T> action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.accept(beforeCommit.get());
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private T value;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                value = beforeCommit.get();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    action.accept(value);
+                }
+            }
+        });
+    }
+
+    static <T> T oncePerTransaction(Object key, Supplier<T> supplier) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return supplier.get();
+        }
+        @SuppressWarnings("unchecked")
+        T bound = (T) TransactionSynchronizationManager.getResource(key);
+        if (bound != null) {
+            return bound;
+        }
+        T value = supplier.get();
+        TransactionSynchronizationManager.bindResource(key, value);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(key);
+            }
+        });
+        return value;
+    }
+
+    static void nowAndAfterCompletion(Runnable action) {
+        action.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    action.run();
+                }
+            });
+        }
+    }
+}
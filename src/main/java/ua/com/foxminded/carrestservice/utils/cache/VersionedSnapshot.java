@@ -0,0 +1,148 @@
+package ua.com.foxminded.carrestservice.utils.cache;
+
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import ua.com.foxminded.carrestservice.repositories.versions.CatalogChange;
+import ua.com.foxminded.carrestservice.repositories.versions.CatalogTable;
+import ua.com.foxminded.carrestservice.repositories.versions.CatalogVersionRepository;
+import ua.com.foxminded.carrestservice.repositories.versions.CatalogVersions;
+import ua.com.foxminded.carrestservice.repositories.versions.TransactionSnapshot;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+@Slf4j
+final class VersionedSnapshot<S> {
+    private static final Object CHANGE_KEY = new Object();
+
+    private final String name;
+    private final CatalogTable[] dependencies;
+    private final Supplier<S> loader;
+    private final CatalogVersionRepository versionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Timer rebuildTimer;
+    private final RefreshScheduler refreshScheduler;
+    private volatile Versioned<S> current;
+    private List<Delta<S>> pending;
+
+    VersionedSnapshot(String name, CatalogTable[] dependencies, S empty, Supplier<S> loader,
+                      CatalogVersionRepository versionRepository, PlatformTransactionManager transactionManager,
+                      Timer rebuildTimer, Duration refreshInterval) {
+        this.name = name;
+        this.dependencies = dependencies;
+        this.loader = loader;
+        this.versionRepository = versionRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.rebuildTimer = rebuildTimer;
+        this.refreshScheduler = new RefreshScheduler(this::refresh, refreshInterval);
+        this.current = new Versioned<>(null, null, empty);
+    }
+
+    void start() {
+        refreshScheduler.start();
+    }
+
+    void requestRefresh() {
+        refreshScheduler.request();
+    }
+
+    void shutdown() {
+        refreshScheduler.shutdown();
+    }
+
+    S value() {
+        return current.value();
+    }
+
+    Read<S> read(CatalogVersions versions) {
+        Versioned<S> snapshot = current;
+        boolean upToDate = snapshot.matches(versions, dependencies);
+        if (!upToDate) {
+            refreshScheduler.request();
+        }
+        return new Read<>(snapshot.value(), upToDate);
+    }
+
+    void record(UnaryOperator<S> change) {
+        TransactionCallbacks.afterCommit(
+                () -> TransactionCallbacks.oncePerTransaction(CHANGE_KEY, versionRepository::findCurrentChange),
+                catalogChange -> apply(new Delta<>(catalogChange, change)));
+    }
+
+    void refresh() {
+        try {
+            CatalogVersions versions = transactionTemplate.execute(status -> versionRepository.findVersions());
+            if (!current.matches(versions, dependencies)) {
+                rebuildTimer.record(this::rebuild);
+            }
+        } catch (RuntimeException e) {
+            log.warn("{} could not be refreshed", name, e);
+        }
+    }
+
+    private void rebuild() {
+        synchronized (this) {
+            pending = new ArrayList<>();
+        }
+        try {
+            Versioned<S> rebuilt = transactionTemplate.execute(status -> new Versioned<>(
+                    versionRepository.findVersions(), versionRepository.findTransactionSnapshot(), loader.get()));
+            synchronized (this) {
+                for (Delta<S> delta : pending) {
+                    rebuilt = rebuilt.apply(delta);
+                }
+                current = rebuilt;
+            }
+        } finally {
+            synchronized (this) {
+                pending = null;
+            }
+        }
+    }
+
+    private synchronized void apply(Delta<S> delta) {
+        if (pending != null) {
+            pending.add(delta);
+        }
+        current = current.apply(delta);
+    }
+
+    record Read<S>(S value, boolean upToDate) {
+    }
+
+    private record Delta<S>(CatalogChange change, UnaryOperator<S> operator) {
+    }
+
+    private record Versioned<S>(CatalogVersions versions, TransactionSnapshot visible, S value) {
+        boolean matches(CatalogVersions other, CatalogTable[] tables) {
+            return versions != null && versions.eTag(tables).equals(other.eTag(tables));
+        }
+
+        Versioned<S> apply(Delta<S> delta) {
+            if (visible != null && visible.includes(delta.change().xactId())) {
+                return this;
+            }
+            return new Versioned<>(advance(delta.change()), visible, delta.operator().apply(value));
+        }
+
+        private CatalogVersions advance(CatalogChange change) {
+            if (versions == null) {
+                return null;
+            }
+            Map<CatalogTable, Long> advanced = new EnumMap<>(CatalogTable.class);
+            advanced.putAll(versions.versions());
+            change.tables().forEach(table -> advanced.merge(table, 1L, Long::sum));
+            return new CatalogVersions(advanced);
+        }
+    }
+}
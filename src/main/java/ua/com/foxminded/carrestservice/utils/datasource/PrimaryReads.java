@@ -0,0 +1,20 @@
+package ua.com.foxminded.carrestservice.utils.datasource;
+
+public class PrimaryReads {
+    private static final ThreadLocal<Boolean> FORCED = new ThreadLocal<>();
+
+    private PrimaryReads() {
+    }
+
+    public static void force() {
+        FORCED.set(Boolean.TRUE);
+    }
+
+    public static boolean isForced() {
+        return FORCED.get() != null;
+    }
+
+    public static void clear() {
+        FORCED.remove();
+    }
+}
@@ -0,0 +1,32 @@
+package ua.com.foxminded.carrestservice.utils.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+    public enum Target {
+        PRIMARY,
+        REPLICA
+    }
+
+    private final BooleanSupplier replicaUsable;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, BooleanSupplier replicaUsable) {
+        this.replicaUsable = replicaUsable;
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Target determineCurrentLookupKey() {
+        boolean replicaRead = TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && !PrimaryReads.isForced()
+                && replicaUsable.getAsBoolean();
+        return replicaRead ? Target.REPLICA : Target.PRIMARY;
+    }
+}
@@ -0,0 +1,57 @@
+package ua.com.foxminded.carrestservice.utils.datasource;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+public class ReplicaLagMonitor {
+    private static final String LAG_SQL = """
+            SELECT CASE
+                       WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                       ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp())
+                       END""";
+
+    private final JdbcTemplate replica;
+    private final Duration maxLag;
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+    private volatile boolean usable;
+
+    public ReplicaLagMonitor(DataSource replica, Duration maxLag, Duration checkInterval) {
+        this.replica = new JdbcTemplate(replica);
+        this.maxLag = maxLag;
+        executor.scheduleWithFixedDelay(this::check, 0, checkInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public boolean isReplicaUsable() {
+        return usable;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void check() {
+        boolean wasUsable = usable;
+        try {
+            Double lagSeconds = replica.queryForObject(LAG_SQL, Double.class);
+            usable = lagSeconds != null && lagSeconds * 1000 <= maxLag.toMillis();
+            if (wasUsable != usable) {
+                log.info("Replica lag is {} s, reads are routed to the {}", lagSeconds, usable ? "replica" : "primary");
+            }
+        } catch (DataAccessException e) {
+            usable = false;
+            if (wasUsable) {
+                log.warn("Replica is unavailable, reads are routed to the primary", e);
+            }
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package ua.com.foxminded.carrestservice.utils.exceptions;
 
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -12,4 +14,11 @@ public class CarServiceExceptionHandler {
         ErrorResponse response = new ErrorResponse(ex.getMessage(), System.currentTimeMillis());
         return new ResponseEntity<>(response, ex.getStatus());
     }
-}
\ No newline at end of file
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    private ResponseEntity<ErrorResponse> handleConcurrentUpdate(OptimisticLockingFailureException ex) {
+        ErrorResponse response = new ErrorResponse("Resource was modified concurrently, retry the request",
+                System.currentTimeMillis());
+        return new ResponseEntity<>(response, HttpStatus.CONFLICT);
+    }
+}
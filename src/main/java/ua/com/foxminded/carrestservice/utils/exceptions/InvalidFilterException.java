@@ -0,0 +1,9 @@
+package ua.com.foxminded.carrestservice.utils.exceptions;
+
+import org.springframework.http.HttpStatus;
+
+public class InvalidFilterException extends CarServiceException {
+    public InvalidFilterException(String message) {
+        super(HttpStatus.BAD_REQUEST, message);
+    }
+}
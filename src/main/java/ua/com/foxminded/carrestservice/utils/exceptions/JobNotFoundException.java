@@ -0,0 +1,9 @@
+package ua.com.foxminded.carrestservice.utils.exceptions;
+
+import org.springframework.http.HttpStatus;
+
+public class JobNotFoundException extends CarServiceException {
+    public JobNotFoundException(String message) {
+        super(HttpStatus.NOT_FOUND, message);
+    }
+}
@@ -0,0 +1,9 @@
+package ua.com.foxminded.carrestservice.utils.exceptions;
+
+import org.springframework.http.HttpStatus;
+
+public class SqlBudgetExceededException extends CarServiceException {
+    public SqlBudgetExceededException(String endpoint, int budget) {
+        super(HttpStatus.INTERNAL_SERVER_ERROR, endpoint + " executed more than " + budget + " SQL statements");
+    }
+}
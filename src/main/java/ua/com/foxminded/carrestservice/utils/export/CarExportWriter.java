@@ -0,0 +1,98 @@
+package ua.com.foxminded.carrestservice.utils.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import ua.com.foxminded.carrestservice.dto.CarDTO;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.StringJoiner;
+
+public abstract class CarExportWriter implements Closeable {
+
+    public static CarExportWriter open(ExportFormat format, OutputStream out, ObjectMapper objectMapper) throws IOException {
+        return switch (format) {
+            case NDJSON -> new NdjsonWriter(out, objectMapper);
+            case CSV -> new CsvWriter(out);
+        };
+    }
+
+    public abstract void write(CarDTO car) throws IOException;
+
+    public void writeUnchecked(CarDTO car) {
+        try {
+            write(car);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static class NdjsonWriter extends CarExportWriter {
+        private final JsonGenerator generator;
+        private final ObjectWriter writer;
+
+        private NdjsonWriter(OutputStream out, ObjectMapper objectMapper) throws IOException {
+            this.generator = objectMapper.getFactory().createGenerator(out)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            this.generator.setRootValueSeparator(null);
+            this.writer = objectMapper.writerFor(CarDTO.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        }
+
+        @Override
+        public void write(CarDTO car) throws IOException {
+            writer.writeValue(generator, car);
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void close() throws IOException {
+            generator.close();
+        }
+    }
+
+    private static class CsvWriter extends CarExportWriter {
+        private final Writer writer;
+
+        private CsvWriter(OutputStream out) throws IOException {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            this.writer.write("number,brandName,modelName,productionYear,categories\n");
+        }
+
+        @Override
+        public void write(CarDTO car) throws IOException {
+            writer.write(escape(car.getNumber()));
+            writer.write(',');
+            writer.write(escape(car.getBrandName()));
+            writer.write(',');
+            writer.write(escape(car.getModelName()));
+            writer.write(',');
+            writer.write(String.valueOf(car.getProductionYear()));
+            writer.write(',');
+            writer.write(escape(joinNames(car.getCategories())));
+            writer.write('\n');
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.flush();
+        }
+
+        private static String joinNames(Collection<String> names) {
+            StringJoiner joined = new StringJoiner(";");
+            for (String name : names) {
+                joined.add(name.indexOf(';') < 0 && name.indexOf('"') < 0 ? name : '"' + name.replace("\"", "\"\"") + '"');
+            }
+            return joined.toString();
+        }
+
+        private static String escape(String value) {
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                return value;
+            }
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+    }
+}
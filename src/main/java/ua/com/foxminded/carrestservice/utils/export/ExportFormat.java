@@ -0,0 +1,29 @@
+package ua.com.foxminded.carrestservice.utils.export;
+
+import lombok.Getter;
+import org.springframework.http.MediaType;
+import ua.com.foxminded.carrestservice.utils.exceptions.CarDataException;
+
+import java.util.Locale;
+
+@Getter
+public enum ExportFormat {
+    NDJSON(MediaType.parseMediaType("application/x-ndjson"), "ndjson"),
+    CSV(MediaType.parseMediaType("text/csv"), "csv");
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    ExportFormat(MediaType mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public static ExportFormat of(String format) {
+        try {
+            return valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new CarDataException("Export format should be 'ndjson' or 'csv'!");
+        }
+    }
+}
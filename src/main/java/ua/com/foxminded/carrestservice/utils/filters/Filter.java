@@ -0,0 +1,118 @@
+package ua.com.foxminded.carrestservice.utils.filters;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import ua.com.foxminded.carrestservice.utils.exceptions.InvalidFilterException;
+import ua.com.foxminded.carrestservice.utils.filters.FilterNode.*;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+public final class Filter {
+    public static final Filter NONE = new Filter(FilterTarget.CARS, List.of());
+    private static final int MAX_VALUES = 20;
+    private static final int MIN_PREFIX_LENGTH = 2;
+    private static final Map<String, Optional<String>> SHAPES = new ConcurrentHashMap<>();
+
+    private final FilterTarget target;
+    private final List<FilterNode> nodes;
+
+    private Filter(FilterTarget target, List<FilterNode> nodes) {
+        this.target = target;
+        this.nodes = nodes;
+    }
+
+    public static Filter parse(FilterParams params, FilterTarget target) {
+        List<FilterNode> nodes = new ArrayList<>();
+        List<String> brands = values("brand", params.getBrand());
+        if (!brands.isEmpty()) {
+            nodes.add(new BrandIn(brands));
+        }
+        if (params.getModelPrefix() != null) {
+            nodes.add(new ModelPrefix(prefix("modelPrefix", params.getModelPrefix())));
+        }
+        if (params.getYearFrom() != null || params.getYearTo() != null) {
+            if (params.getYearFrom() != null && params.getYearTo() != null && params.getYearFrom() > params.getYearTo()) {
+                throw new InvalidFilterException("yearFrom should not be greater than yearTo!");
+            }
+            nodes.add(new YearRange(params.getYearFrom(), params.getYearTo()));
+        }
+        List<String> categories = values("category", params.getCategory());
+        if (!categories.isEmpty()) {
+            nodes.add(new Categories(categories, categoryMatchAll(params.getCategoryMatch())));
+        }
+        if (params.getNumberPrefix() != null) {
+            nodes.add(new NumberPrefix(prefix("numberPrefix", params.getNumberPrefix())));
+        }
+
+        nodes.sort(Comparator.comparing(FilterNode::signature));
+        Filter filter = new Filter(target, List.copyOf(nodes));
+        SHAPES.computeIfAbsent(filter.signature(), signature -> filter.rejection())
+                .ifPresent(message -> {
+                    throw new InvalidFilterException(message);
+                });
+        return filter;
+    }
+
+    public boolean isEmpty() {
+        return nodes.isEmpty();
+    }
+
+    public String signature() {
+        return target + nodes.stream().map(FilterNode::signature).collect(Collectors.joining("|", "[", "]"));
+    }
+
+    public Predicate toPredicate(Root<?> root, Path<?> model, CriteriaQuery<?> query, CriteriaBuilder builder) {
+        if (nodes.isEmpty()) {
+            return null;
+        }
+        FilterContext context = new FilterContext(root, model, query, builder);
+        return builder.and(nodes.stream().map(node -> node.toPredicate(context)).toArray(Predicate[]::new));
+    }
+
+    private Optional<String> rejection() {
+        if (target == FilterTarget.MODELS && nodes.stream().anyMatch(NumberPrefix.class::isInstance)) {
+            return Optional.of("numberPrefix can only filter cars");
+        }
+        if (target == FilterTarget.CARS && !nodes.isEmpty() && nodes.stream().noneMatch(FilterNode::indexed)) {
+            return Optional.of("category filter on cars should be combined with brand, modelPrefix, " +
+                    "yearFrom, yearTo or numberPrefix");
+        }
+        return Optional.empty();
+    }
+
+    private static List<String> values(String name, Collection<String> values) {
+        if (values == null) {
+            return List.of();
+        }
+        List<String> distinct = values.stream().map(String::trim).filter(value -> !value.isEmpty()).distinct().toList();
+        if (distinct.size() > MAX_VALUES) {
+            throw new InvalidFilterException(name + " should contain at most " + MAX_VALUES + " values");
+        }
+        return distinct;
+    }
+
+    private static String prefix(String name, String prefix) {
+        if (prefix.length() < MIN_PREFIX_LENGTH) {
+            throw new InvalidFilterException(name + " should contain at least " + MIN_PREFIX_LENGTH + " characters");
+        }
+        return prefix;
+    }
+
+    private static boolean categoryMatchAll(String categoryMatch) {
+        return switch (categoryMatch.toLowerCase()) {
+            case "all" -> true;
+            case "any" -> false;
+            default -> throw new InvalidFilterException("categoryMatch should be 'all' or 'any'");
+        };
+    }
+}
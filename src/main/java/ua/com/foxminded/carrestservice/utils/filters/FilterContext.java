@@ -0,0 +1,9 @@
+package ua.com.foxminded.carrestservice.utils.filters;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+
+record FilterContext(Root<?> root, Path<?> model, CriteriaQuery<?> query, CriteriaBuilder builder) {
+}
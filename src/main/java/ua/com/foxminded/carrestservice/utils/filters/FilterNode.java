@@ -0,0 +1,135 @@
+package ua.com.foxminded.carrestservice.utils.filters;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import ua.com.foxminded.carrestservice.models.Category;
+import ua.com.foxminded.carrestservice.models.Model;
+
+import java.util.List;
+
+public sealed interface FilterNode {
+    String signature();
+
+    boolean indexed();
+
+    Predicate toPredicate(FilterContext context);
+
+    record BrandIn(List<String> names) implements FilterNode {
+        @Override
+        public String signature() {
+            return "brand:" + bucket(names.size());
+        }
+
+        @Override
+        public boolean indexed() {
+            return true;
+        }
+
+        @Override
+        public Predicate toPredicate(FilterContext context) {
+            CriteriaBuilder.In<String> in = context.builder().in(context.model().get("brand").get("name"));
+            names.forEach(in::value);
+            return in;
+        }
+    }
+
+    record ModelPrefix(String prefix) implements FilterNode {
+        @Override
+        public String signature() {
+            return "modelPrefix";
+        }
+
+        @Override
+        public boolean indexed() {
+            return true;
+        }
+
+        @Override
+        public Predicate toPredicate(FilterContext context) {
+            return context.builder().like(context.model().get("name"), likePrefix(prefix), '\\');
+        }
+    }
+
+    record YearRange(Integer from, Integer to) implements FilterNode {
+        @Override
+        public String signature() {
+            return "year:" + (from == null ? "" : "from") + (to == null ? "" : "to");
+        }
+
+        @Override
+        public boolean indexed() {
+            return true;
+        }
+
+        @Override
+        public Predicate toPredicate(FilterContext context) {
+            CriteriaBuilder builder = context.builder();
+            Expression<Integer> year = context.model().get("productionYear");
+            if (from == null) {
+                return builder.lessThanOrEqualTo(year, to);
+            }
+            if (to == null) {
+                return builder.greaterThanOrEqualTo(year, from);
+            }
+            return builder.between(year, from, to);
+        }
+    }
+
+    record Categories(List<String> names, boolean all) implements FilterNode {
+        @Override
+        public String signature() {
+            return "category:" + (all ? "all:" : "any:") + bucket(names.size());
+        }
+
+        @Override
+        public boolean indexed() {
+            return false;
+        }
+
+        @Override
+        public Predicate toPredicate(FilterContext context) {
+            CriteriaBuilder builder = context.builder();
+            Subquery<Long> subquery = context.query().subquery(Long.class);
+            Root<Category> category = subquery.from(Category.class);
+            Join<Category, Model> model = category.join("models");
+            subquery.where(builder.equal(model.get("id"), context.model().get("id")),
+                    category.get("name").in(names));
+
+            if (all) {
+                subquery.select(builder.countDistinct(category.get("id")));
+                return builder.equal(subquery, (long) names.size());
+            }
+            subquery.select(category.get("id"));
+            return builder.exists(subquery);
+        }
+    }
+
+    record NumberPrefix(String prefix) implements FilterNode {
+        @Override
+        public String signature() {
+            return "numberPrefix";
+        }
+
+        @Override
+        public boolean indexed() {
+            return true;
+        }
+
+        @Override
+        public Predicate toPredicate(FilterContext context) {
+            return context.builder().like(context.root().get("number"), likePrefix(prefix), '\\');
+        }
+    }
+
+    private static String likePrefix(String prefix) {
+        return prefix.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+    }
+
+    private static int bucket(int size) {
+        return size == 1 ? 1 : Integer.highestOneBit(size - 1) << 1;
+    }
+}
@@ -0,0 +1,20 @@
+package ua.com.foxminded.carrestservice.utils.filters;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class FilterParams {
+    private List<String> brand;
+    private String modelPrefix;
+    private Integer yearFrom;
+    private Integer yearTo;
+    private List<String> category;
+    private String categoryMatch = "any";
+    private String numberPrefix;
+}
@@ -0,0 +1,6 @@
+package ua.com.foxminded.carrestservice.utils.filters;
+
+public enum FilterTarget {
+    CARS,
+    MODELS
+}
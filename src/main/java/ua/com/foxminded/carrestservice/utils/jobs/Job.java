@@ -0,0 +1,80 @@
+package ua.com.foxminded.carrestservice.utils.jobs;
+
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Getter
+public class Job {
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    private final UUID id = UUID.randomUUID();
+    private final String type;
+    private final Instant createdAt = Instant.now();
+    private final int maxReportSize;
+    private final Map<String, Long> counters = new ConcurrentHashMap<>();
+    private final List<JobReportEntry> report = Collections.synchronizedList(new ArrayList<>());
+    private volatile Status status = Status.QUEUED;
+    private volatile String phase;
+    private volatile long processed;
+    private volatile long total;
+    private volatile String message;
+    private volatile Instant finishedAt;
+
+    public Job(String type, int maxReportSize) {
+        this.type = type;
+        this.maxReportSize = maxReportSize;
+    }
+
+    public void startPhase(String phase, long total) {
+        this.phase = phase;
+        this.total = total;
+        this.processed = 0;
+    }
+
+    public void progress(long processed) {
+        this.processed = processed;
+    }
+
+    public void count(String counter, long value) {
+        counters.merge(counter, value, Long::sum);
+    }
+
+    public void report(JobReportEntry entry) {
+        if (report.size() < maxReportSize) {
+            report.add(entry);
+        }
+    }
+
+    public List<JobReportEntry> getReport() {
+        synchronized (report) {
+            return List.copyOf(report);
+        }
+    }
+
+    public boolean isFinished() {
+        return status == Status.COMPLETED || status == Status.FAILED;
+    }
+
+    void running() {
+        status = Status.RUNNING;
+    }
+
+    void completed() {
+        finishedAt = Instant.now();
+        status = Status.COMPLETED;
+    }
+
+    void failed(String message) {
+        this.message = message;
+        finishedAt = Instant.now();
+        status = Status.FAILED;
+    }
+}
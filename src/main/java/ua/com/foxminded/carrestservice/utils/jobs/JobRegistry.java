@@ -0,0 +1,70 @@
+package ua.com.foxminded.carrestservice.utils.jobs;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ua.com.foxminded.carrestservice.utils.exceptions.JobNotFoundException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+@Slf4j
+@Component
+public class JobRegistry {
+    private final Map<UUID, Job> jobs = new ConcurrentHashMap<>();
+    private final ExecutorService executor;
+    private final Duration retention;
+    private final int maxReportSize;
+
+    public JobRegistry(@Value("${car-service.jobs.threads}") int threads,
+                       @Value("${car-service.jobs.retention}") Duration retention,
+                       @Value("${car-service.jobs.max-report-size}") int maxReportSize) {
+        this.executor = Executors.newFixedThreadPool(threads);
+        this.retention = retention;
+        this.maxReportSize = maxReportSize;
+    }
+
+    public Job submit(String type, Consumer<Job> task) {
+        evictFinished();
+        Job job = new Job(type, maxReportSize);
+        jobs.put(job.getId(), job);
+        executor.execute(() -> run(job, task));
+        return job;
+    }
+
+    public Job find(UUID id) {
+        Job job = jobs.get(id);
+        if (job == null) {
+            throw new JobNotFoundException("Job " + id + " was not found!");
+        }
+        return job;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void run(Job job, Consumer<Job> task) {
+        job.running();
+        try {
+            task.accept(job);
+            job.completed();
+        } catch (RuntimeException e) {
+            log.error("Job {} of type {} failed", job.getId(), job.getType(), e);
+            job.failed(e.getMessage());
+        }
+    }
+
+    private void evictFinished() {
+        Instant threshold = Instant.now().minus(retention);
+        jobs.values().removeIf(job -> job.isFinished() && job.getFinishedAt().isBefore(threshold));
+    }
+}
@@ -0,0 +1,4 @@
+package ua.com.foxminded.carrestservice.utils.jobs;
+
+public record JobReportEntry(long line, String key, String reason) {
+}
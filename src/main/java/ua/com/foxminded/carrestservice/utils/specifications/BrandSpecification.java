@@ -20,6 +20,6 @@ public class BrandSpecification implements Specification<Brand> {
             query.orderBy(builder.asc(path));
         }
 
-        return null;
+        return PurgeFilter.visibleBrand(builder, root);
     }
 }
@@ -3,14 +3,28 @@ package ua.com.foxminded.carrestservice.utils.specifications;
 import jakarta.persistence.criteria.*;
 import org.springframework.data.jpa.domain.Specification;
 import ua.com.foxminded.carrestservice.models.Car;
+import ua.com.foxminded.carrestservice.repositories.views.CarView;
 import ua.com.foxminded.carrestservice.utils.exceptions.InvalidSortKeyException;
+import ua.com.foxminded.carrestservice.utils.filters.Filter;
 
 public class CarSpecification implements Specification<Car> {
 
     private final SortCriteria sortCriteria;
+    private final KeysetCursor after;
+    private final Filter filter;
 
     public CarSpecification(SortCriteria sortCriteria) {
+        this(sortCriteria, null);
+    }
+
+    public CarSpecification(SortCriteria sortCriteria, KeysetCursor after) {
+        this(sortCriteria, after, Filter.NONE);
+    }
+
+    public CarSpecification(SortCriteria sortCriteria, KeysetCursor after, Filter filter) {
         this.sortCriteria = sortCriteria;
+        this.after = after;
+        this.filter = filter;
     }
 
     @Override
@@ -22,13 +36,27 @@ public class CarSpecification implements Specification<Car> {
             case "year" -> root.get("model").get("productionYear");
             default -> throw new InvalidSortKeyException("Invalid sort key");
         };
+        Path<Long> id = root.get("id");
 
-        if (sortCriteria.getDirection().equalsIgnoreCase("DESC")) {
-            query.orderBy(builder.desc(path));
+        if (KeysetCursor.isDescending(sortCriteria)) {
+            query.orderBy(builder.desc(path), builder.desc(id));
         } else {
-            query.orderBy(builder.asc(path));
+            query.orderBy(builder.asc(path), builder.asc(id));
         }
 
-        return null;
+        Predicate visible = PurgeFilter.and(builder, PurgeFilter.visibleModel(builder, root.get("model")),
+                filter.toPredicate(root, root.get("model"), query, builder));
+        return PurgeFilter.and(builder, visible, after == null ? null : after.toSeekPredicate(builder, path, id));
+    }
+
+    public KeysetCursor cursorAfter(CarView car) {
+        Comparable<?> value = switch (sortCriteria.getKey()) {
+            case "brand" -> car.brandName();
+            case "number" -> car.number();
+            case "model" -> car.modelName();
+            case "year" -> car.productionYear();
+            default -> throw new InvalidSortKeyException("Invalid sort key");
+        };
+        return new KeysetCursor(sortCriteria, value, car.id());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,74 @@
+package ua.com.foxminded.carrestservice.utils.specifications;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import lombok.Getter;
+import ua.com.foxminded.carrestservice.utils.exceptions.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+@Getter
+public class KeysetCursor {
+    private static final String SEPARATOR = "\n";
+
+    private final String key;
+    private final String direction;
+    private final Comparable<?> value;
+    private final Long id;
+
+    public KeysetCursor(SortCriteria sortCriteria, Comparable<?> value, Long id) {
+        this.key = sortCriteria.getKey();
+        this.direction = isDescending(sortCriteria) ? "DESC" : "ASC";
+        this.value = value;
+        this.id = id;
+    }
+
+    public static KeysetCursor decode(String token, SortCriteria sortCriteria) {
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split(SEPARATOR, 4);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Invalid cursor");
+        }
+
+        if (parts.length != 4) {
+            throw new InvalidCursorException("Invalid cursor");
+        }
+        if (!parts[0].equals(sortCriteria.getKey()) || !parts[1].equalsIgnoreCase(sortCriteria.getDirection())) {
+            throw new InvalidCursorException("Cursor does not match the requested filter and sort direction");
+        }
+
+        try {
+            Long id = Long.valueOf(parts[2]);
+            Comparable<?> value = parts[0].equals("year") ? Integer.valueOf(parts[3]) : parts[3];
+            return new KeysetCursor(sortCriteria, value, id);
+        } catch (NumberFormatException e) {
+            throw new InvalidCursorException("Invalid cursor");
+        }
+    }
+
+    public String encode() {
+        String raw = key + SEPARATOR + direction + SEPARATOR + id + SEPARATOR + value;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public Predicate toSeekPredicate(CriteriaBuilder builder, Path<?> sortPath, Path<Long> idPath) {
+        Expression<Comparable> path = (Expression<Comparable>) sortPath;
+        Comparable lastValue = value;
+
+        if (direction.equals("DESC")) {
+            return builder.or(builder.lessThan(path, lastValue),
+                    builder.and(builder.equal(path, lastValue), builder.lessThan(idPath, id)));
+        }
+        return builder.or(builder.greaterThan(path, lastValue),
+                builder.and(builder.equal(path, lastValue), builder.greaterThan(idPath, id)));
+    }
+
+    static boolean isDescending(SortCriteria sortCriteria) {
+        return sortCriteria.getDirection().equalsIgnoreCase("DESC");
+    }
+}
@@ -0,0 +1,37 @@
+package ua.com.foxminded.carrestservice.utils.specifications;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import ua.com.foxminded.carrestservice.models.Model;
+
+import java.util.Collection;
+
+public record ModelScope(Long brandId, Long categoryId, Collection<Long> modelIds) {
+    public static final ModelScope ALL = new ModelScope(null, null, null);
+
+    public static ModelScope ofBrand(Long brandId) {
+        return new ModelScope(brandId, null, null);
+    }
+
+    public static ModelScope ofCategory(Long categoryId) {
+        return new ModelScope(null, categoryId, null);
+    }
+
+    public static ModelScope ofModels(Collection<Long> modelIds) {
+        return new ModelScope(null, null, modelIds);
+    }
+
+    Predicate toPredicate(Root<Model> root, CriteriaBuilder builder) {
+        if (brandId != null) {
+            return builder.equal(root.get("brand").get("id"), brandId);
+        }
+        if (categoryId != null) {
+            return builder.equal(root.join("categories").get("id"), categoryId);
+        }
+        if (modelIds != null) {
+            return root.get("id").in(modelIds);
+        }
+        return null;
+    }
+}
@@ -3,14 +3,34 @@ package ua.com.foxminded.carrestservice.utils.specifications;
 import jakarta.persistence.criteria.*;
 import org.springframework.data.jpa.domain.Specification;
 import ua.com.foxminded.carrestservice.models.Model;
+import ua.com.foxminded.carrestservice.repositories.views.ModelView;
 import ua.com.foxminded.carrestservice.utils.exceptions.InvalidSortKeyException;
+import ua.com.foxminded.carrestservice.utils.filters.Filter;
 
 public class ModelSpecification implements Specification<Model> {
 
     private final SortCriteria sortCriteria;
+    private final KeysetCursor after;
+    private final ModelScope scope;
+    private final Filter filter;
 
     public ModelSpecification(SortCriteria sortCriteria) {
+        this(sortCriteria, null);
+    }
+
+    public ModelSpecification(SortCriteria sortCriteria, KeysetCursor after) {
+        this(sortCriteria, after, ModelScope.ALL);
+    }
+
+    public ModelSpecification(SortCriteria sortCriteria, KeysetCursor after, ModelScope scope) {
+        this(sortCriteria, after, scope, Filter.NONE);
+    }
+
+    public ModelSpecification(SortCriteria sortCriteria, KeysetCursor after, ModelScope scope, Filter filter) {
         this.sortCriteria = sortCriteria;
+        this.after = after;
+        this.scope = scope;
+        this.filter = filter;
     }
 
     @Override
@@ -21,13 +41,26 @@ public class ModelSpecification implements Specification<Model> {
             case "year" -> root.get("productionYear");
             default -> throw new InvalidSortKeyException("Invalid sort key");
         };
+        Path<Long> id = root.get("id");
 
-        if (sortCriteria.getDirection().equalsIgnoreCase("DESC")) {
-            query.orderBy(builder.desc(path));
+        if (KeysetCursor.isDescending(sortCriteria)) {
+            query.orderBy(builder.desc(path), builder.desc(id));
         } else {
-            query.orderBy(builder.asc(path));
+            query.orderBy(builder.asc(path), builder.asc(id));
         }
 
-        return null;
+        Predicate scoped = PurgeFilter.and(builder, PurgeFilter.visibleModel(builder, root), scope.toPredicate(root, builder));
+        Predicate visible = PurgeFilter.and(builder, scoped, filter.toPredicate(root, root, query, builder));
+        return PurgeFilter.and(builder, visible, after == null ? null : after.toSeekPredicate(builder, path, id));
+    }
+
+    public KeysetCursor cursorAfter(ModelView model) {
+        Comparable<?> value = switch (sortCriteria.getKey()) {
+            case "brand" -> model.brandName();
+            case "model" -> model.name();
+            case "year" -> model.productionYear();
+            default -> throw new InvalidSortKeyException("Invalid sort key");
+        };
+        return new KeysetCursor(sortCriteria, value, model.id());
     }
-}
\ No newline at end of file
+}
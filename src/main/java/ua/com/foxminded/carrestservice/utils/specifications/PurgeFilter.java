@@ -0,0 +1,22 @@
+package ua.com.foxminded.carrestservice.utils.specifications;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+
+class PurgeFilter {
+    private PurgeFilter() {
+    }
+
+    static Predicate visibleBrand(CriteriaBuilder builder, Path<?> brand) {
+        return builder.isFalse(brand.get("purging"));
+    }
+
+    static Predicate visibleModel(CriteriaBuilder builder, Path<?> model) {
+        return builder.and(builder.isFalse(model.get("purging")), visibleBrand(builder, model.get("brand")));
+    }
+
+    static Predicate and(CriteriaBuilder builder, Predicate visible, Predicate predicate) {
+        return predicate == null ? visible : builder.and(visible, predicate);
+    }
+}
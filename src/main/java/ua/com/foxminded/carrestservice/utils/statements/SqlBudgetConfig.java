@@ -0,0 +1,42 @@
+package ua.com.foxminded.carrestservice.utils.statements;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.stat.internal.StatisticsInitiator;
+import org.hibernate.stat.spi.StatisticsFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class SqlBudgetConfig implements WebMvcConfigurer {
+    private final int defaultMaxStatements;
+    private final int repeatThreshold;
+    private final boolean failOnExceeded;
+
+    public SqlBudgetConfig(@Value("${car-service.sql-budget.default-max-statements}") int defaultMaxStatements,
+                           @Value("${car-service.sql-budget.repeat-threshold}") int repeatThreshold,
+                           @Value("${car-service.sql-budget.fail-on-exceeded}") boolean failOnExceeded) {
+        this.defaultMaxStatements = defaultMaxStatements;
+        this.repeatThreshold = repeatThreshold;
+        this.failOnExceeded = failOnExceeded;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementRecording() {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementInspector());
+            properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, SqlTimingListener.class.getName());
+            properties.put(AvailableSettings.GENERATE_STATISTICS, "true");
+            properties.put(AvailableSettings.LOG_SESSION_METRICS, "false");
+            properties.put(StatisticsInitiator.STATS_BUILDER, (StatisticsFactory) SqlRowCountingStatistics::new);
+        };
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new SqlBudgetInterceptor(defaultMaxStatements, repeatThreshold, failOnExceeded));
+    }
+}
@@ -0,0 +1,53 @@
+package ua.com.foxminded.carrestservice.utils.statements;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+@Slf4j
+public class SqlBudgetInterceptor implements AsyncHandlerInterceptor {
+    private final int defaultMaxStatements;
+    private final int repeatThreshold;
+    private final boolean failOnExceeded;
+
+    public SqlBudgetInterceptor(int defaultMaxStatements, int repeatThreshold, boolean failOnExceeded) {
+        this.defaultMaxStatements = defaultMaxStatements;
+        this.repeatThreshold = repeatThreshold;
+        this.failOnExceeded = failOnExceeded;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod handlerMethod) {
+            SqlBudget budget = handlerMethod.getMethodAnnotation(SqlBudget.class);
+            String endpoint = handlerMethod.getBeanType().getSimpleName() + "#" + handlerMethod.getMethod().getName();
+            SqlStatementRecorder.start(endpoint, budget == null ? defaultMaxStatements : budget.maxStatements(), failOnExceeded);
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        SqlStatementRecorder.stop(repeatThreshold).ifPresent(report -> record(request, report));
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        SqlStatementRecorder.stop(repeatThreshold).ifPresent(report -> record(request, report));
+    }
+
+    private void record(HttpServletRequest request, SqlStatementReport report) {
+        request.setAttribute(SqlStatementReport.ATTRIBUTE, report);
+        if (report.isOverBudget()) {
+            log.warn("{} {} executed {} SQL statements, budget is {}", request.getMethod(), report.endpoint(),
+                    report.statements(), report.budget());
+        }
+        report.repeatedStatements().forEach((sql, count) ->
+                log.warn("{} {} executed the same SQL statement {} times, possible N+1: {}", request.getMethod(),
+                        report.endpoint(), count, sql));
+        log.debug("{} {} executed {} SQL statements in {} ms and read {} rows", request.getMethod(), report.endpoint(),
+                report.statements(), report.executionTime().toMillis(), report.rows());
+    }
+}
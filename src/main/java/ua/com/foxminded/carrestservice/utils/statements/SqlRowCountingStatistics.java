@@ -0,0 +1,16 @@
+package ua.com.foxminded.carrestservice.utils.statements;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.internal.StatisticsImpl;
+
+public class SqlRowCountingStatistics extends StatisticsImpl {
+    public SqlRowCountingStatistics(SessionFactoryImplementor sessionFactory) {
+        super(sessionFactory);
+    }
+
+    @Override
+    public void queryExecuted(String query, int rows, long time) {
+        super.queryExecuted(query, rows, time);
+        SqlStatementRecorder.current().ifPresent(recorder -> recorder.rowsRead(rows));
+    }
+}
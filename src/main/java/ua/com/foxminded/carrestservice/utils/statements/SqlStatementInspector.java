@@ -0,0 +1,11 @@
+package ua.com.foxminded.carrestservice.utils.statements;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+public class SqlStatementInspector implements StatementInspector {
+    @Override
+    public String inspect(String sql) {
+        SqlStatementRecorder.current().ifPresent(recorder -> recorder.statementPrepared(sql));
+        return sql;
+    }
+}
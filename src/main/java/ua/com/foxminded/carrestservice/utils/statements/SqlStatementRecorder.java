@@ -0,0 +1,72 @@
+package ua.com.foxminded.carrestservice.utils.statements;
+
+import ua.com.foxminded.carrestservice.utils.exceptions.SqlBudgetExceededException;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+public class SqlStatementRecorder {
+    private static final ThreadLocal<SqlStatementRecorder> CURRENT = new ThreadLocal<>();
+
+    private final String endpoint;
+    private final int budget;
+    private final boolean failOnExceeded;
+    private final Map<String, Integer> statementCounts = new HashMap<>();
+    private int statements;
+    private long rows;
+    private long executionNanos;
+    private long executionStart;
+
+    private SqlStatementRecorder(String endpoint, int budget, boolean failOnExceeded) {
+        this.endpoint = endpoint;
+        this.budget = budget;
+        this.failOnExceeded = failOnExceeded;
+    }
+
+    public static void start(String endpoint, int budget, boolean failOnExceeded) {
+        CURRENT.set(new SqlStatementRecorder(endpoint, budget, failOnExceeded));
+    }
+
+    public static Optional<SqlStatementRecorder> current() {
+        return Optional.ofNullable(CURRENT.get());
+    }
+
+    public static Optional<SqlStatementReport> stop(int repeatThreshold) {
+        Optional<SqlStatementRecorder> recorder = current();
+        CURRENT.remove();
+        return recorder.map(r -> r.report(repeatThreshold));
+    }
+
+    void statementPrepared(String sql) {
+        statements++;
+        statementCounts.merge(sql, 1, Integer::sum);
+        if (failOnExceeded && statements > budget) {
+            throw new SqlBudgetExceededException(endpoint, budget);
+        }
+    }
+
+    void executionStarted() {
+        executionStart = System.nanoTime();
+    }
+
+    void executionEnded() {
+        if (executionStart != 0) {
+            executionNanos += System.nanoTime() - executionStart;
+            executionStart = 0;
+        }
+    }
+
+    void rowsRead(long count) {
+        rows += count;
+    }
+
+    private SqlStatementReport report(int repeatThreshold) {
+        Map<String, Integer> repeated = statementCounts.entrySet().stream()
+                .filter(entry -> entry.getValue() >= repeatThreshold)
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+        return new SqlStatementReport(endpoint, statements, rows, Duration.ofNanos(executionNanos), budget, repeated);
+    }
+}
@@ -0,0 +1,17 @@
+package ua.com.foxminded.carrestservice.utils.statements;
+
+import java.time.Duration;
+import java.util.Map;
+
+public record SqlStatementReport(String endpoint, int statements, long rows, Duration executionTime, int budget,
+                                 Map<String, Integer> repeatedStatements) {
+    public static final String ATTRIBUTE = SqlStatementReport.class.getName();
+
+    public boolean isOverBudget() {
+        return statements > budget;
+    }
+
+    public boolean hasRepeatedStatements() {
+        return !repeatedStatements.isEmpty();
+    }
+}
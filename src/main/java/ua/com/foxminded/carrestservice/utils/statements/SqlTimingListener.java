@@ -0,0 +1,25 @@
+package ua.com.foxminded.carrestservice.utils.statements;
+
+import org.hibernate.BaseSessionEventListener;
+
+public class SqlTimingListener extends BaseSessionEventListener {
+    @Override
+    public void jdbcExecuteStatementStart() {
+        SqlStatementRecorder.current().ifPresent(SqlStatementRecorder::executionStarted);
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        SqlStatementRecorder.current().ifPresent(SqlStatementRecorder::executionEnded);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        SqlStatementRecorder.current().ifPresent(SqlStatementRecorder::executionStarted);
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        SqlStatementRecorder.current().ifPresent(SqlStatementRecorder::executionEnded);
+    }
+}
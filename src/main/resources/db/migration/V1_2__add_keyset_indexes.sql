@@ -0,0 +1,9 @@
+CREATE INDEX brands_name_id_idx ON brands (name, brand_id);
+
+CREATE INDEX models_name_id_idx ON models (name, model_id);
+
+CREATE INDEX models_production_year_id_idx ON models (production_year, model_id);
+
+CREATE INDEX models_brand_ref_idx ON models (brand_ref);
+
+CREATE INDEX cars_model_ref_id_idx ON cars (model_ref, car_id);
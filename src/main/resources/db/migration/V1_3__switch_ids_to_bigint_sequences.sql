@@ -0,0 +1,18 @@
+ALTER TABLE category_model ALTER COLUMN category_ref TYPE bigint;
+ALTER TABLE category_model ALTER COLUMN model_ref TYPE bigint;
+
+ALTER TABLE brands ALTER COLUMN brand_id TYPE bigint;
+ALTER SEQUENCE brands_brand_id_seq AS bigint INCREMENT BY 50;
+SELECT setval('brands_brand_id_seq', COALESCE(MAX(brand_id), 0) + 50, false) FROM brands;
+
+ALTER TABLE categories ALTER COLUMN category_id TYPE bigint;
+ALTER SEQUENCE categories_category_id_seq AS bigint INCREMENT BY 50;
+SELECT setval('categories_category_id_seq', COALESCE(MAX(category_id), 0) + 50, false) FROM categories;
+
+ALTER TABLE models ALTER COLUMN model_id TYPE bigint;
+ALTER SEQUENCE models_model_id_seq AS bigint INCREMENT BY 50;
+SELECT setval('models_model_id_seq', COALESCE(MAX(model_id), 0) + 50, false) FROM models;
+
+ALTER TABLE cars ALTER COLUMN car_id TYPE bigint;
+ALTER SEQUENCE cars_car_id_seq AS bigint INCREMENT BY 50;
+SELECT setval('cars_car_id_seq', COALESCE(MAX(car_id), 0) + 50, false) FROM cars;
@@ -0,0 +1,42 @@
+ALTER TABLE brands ADD COLUMN version bigint NOT NULL DEFAULT 0;
+ALTER TABLE categories ADD COLUMN version bigint NOT NULL DEFAULT 0;
+ALTER TABLE models ADD COLUMN version bigint NOT NULL DEFAULT 0;
+ALTER TABLE cars ADD COLUMN version bigint NOT NULL DEFAULT 0;
+
+CREATE TABLE catalog_versions
+(
+    table_name varchar(64) PRIMARY KEY,
+    version    bigint NOT NULL DEFAULT 0
+);
+
+INSERT INTO catalog_versions (table_name)
+VALUES ('brands'), ('categories'), ('models'), ('category_model'), ('cars');
+
+CREATE FUNCTION bump_catalog_version() RETURNS trigger
+    LANGUAGE plpgsql AS
+$$
+BEGIN
+    UPDATE catalog_versions SET version = version + 1 WHERE table_name = TG_TABLE_NAME;
+    RETURN NULL;
+END;
+$$;
+
+CREATE TRIGGER brands_catalog_version
+    AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON brands
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_catalog_version();
+
+CREATE TRIGGER categories_catalog_version
+    AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON categories
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_catalog_version();
+
+CREATE TRIGGER models_catalog_version
+    AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON models
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_catalog_version();
+
+CREATE TRIGGER category_model_catalog_version
+    AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON category_model
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_catalog_version();
+
+CREATE TRIGGER cars_catalog_version
+    AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON cars
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_catalog_version();
@@ -0,0 +1,2 @@
+ALTER TABLE brands ADD COLUMN purging boolean NOT NULL DEFAULT false;
+ALTER TABLE models ADD COLUMN purging boolean NOT NULL DEFAULT false;
@@ -0,0 +1,5 @@
+CREATE INDEX models_brand_ref_name_id_idx ON models (brand_ref, name, model_id);
+
+DROP INDEX models_brand_ref_idx;
+
+CREATE INDEX category_model_model_ref_idx ON category_model (model_ref);
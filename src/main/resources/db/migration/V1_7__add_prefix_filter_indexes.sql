@@ -0,0 +1,3 @@
+CREATE INDEX models_name_pattern_idx ON models (name text_pattern_ops);
+
+CREATE INDEX cars_number_pattern_idx ON cars (number text_pattern_ops);
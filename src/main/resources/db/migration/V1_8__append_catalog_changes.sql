@@ -0,0 +1,27 @@
+CREATE TABLE catalog_changes
+(
+    table_name varchar(64) NOT NULL,
+    xact_id    xid8        NOT NULL DEFAULT pg_current_xact_id(),
+    weight     bigint      NOT NULL DEFAULT 1,
+    PRIMARY KEY (table_name, xact_id)
+);
+
+INSERT INTO catalog_changes (table_name, weight)
+SELECT table_name, version
+FROM catalog_versions;
+
+CREATE OR REPLACE FUNCTION bump_catalog_version() RETURNS trigger
+    LANGUAGE plpgsql AS
+$$
+BEGIN
+    INSERT INTO catalog_changes (table_name) VALUES (TG_TABLE_NAME) ON CONFLICT DO NOTHING;
+    RETURN NULL;
+END;
+$$;
+
+DROP TABLE catalog_versions;
+
+CREATE VIEW catalog_versions AS
+SELECT table_name, sum(weight)::bigint AS version
+FROM catalog_changes
+GROUP BY table_name;
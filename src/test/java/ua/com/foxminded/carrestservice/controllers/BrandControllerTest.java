@@ -2,28 +2,46 @@ package ua.com.foxminded.carrestservice.controllers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 import ua.com.foxminded.carrestservice.dto.BrandDTO;
 import ua.com.foxminded.carrestservice.models.Brand;
+import ua.com.foxminded.carrestservice.repositories.versions.CatalogTable;
+import ua.com.foxminded.carrestservice.repositories.versions.CatalogVersions;
+import ua.com.foxminded.carrestservice.repositories.views.BrandView;
+import ua.com.foxminded.carrestservice.repositories.views.ModelView;
 import ua.com.foxminded.carrestservice.security.SecurityConfig;
 import ua.com.foxminded.carrestservice.services.BrandService;
+import ua.com.foxminded.carrestservice.services.CatalogVersionService;
+import ua.com.foxminded.carrestservice.services.ModelService;
+import ua.com.foxminded.carrestservice.services.PurgeService;
 import ua.com.foxminded.carrestservice.utils.DTOconverters.BrandDTOConverter;
+import ua.com.foxminded.carrestservice.utils.cache.ResponseCache;
+import ua.com.foxminded.carrestservice.utils.exceptions.BrandNotFoundException;
+import ua.com.foxminded.carrestservice.utils.jobs.Job;
+import ua.com.foxminded.carrestservice.utils.specifications.KeysetCursor;
+import ua.com.foxminded.carrestservice.utils.specifications.SortCriteria;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -32,14 +50,23 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 @WebMvcTest(BrandController.class)
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
-@Import(SecurityConfig.class)
+@Import({SecurityConfig.class, ResponseCache.class})
 public class BrandControllerTest {
     @MockBean
     private BrandService brandService;
+    @MockBean
+    private ModelService modelService;
+    @MockBean
+    private PurgeService purgeService;
+    @MockBean
+    private CatalogVersionService catalogVersionService;
 
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private ResponseCache responseCache;
+
     private Brand brand1;
     private Brand brand2;
 
@@ -50,16 +77,86 @@ public class BrandControllerTest {
         brand2 = new Brand("brand_Two");
     }
 
+    @BeforeEach
+    public void clearResponseCache() {
+        responseCache.evictAll();
+    }
+
+    @BeforeEach
+    public void stubCatalogVersions() {
+        when(catalogVersionService.findVersions()).thenReturn(new CatalogVersions(Map.of(CatalogTable.BRANDS, 7L)));
+    }
+
     @Test
     public void whenGetAllBrandsShouldReturnListOfAllDTOBrands() throws Exception {
-        List<Brand> brands = Arrays.asList(brand1, brand2);
-        when(brandService.findAll(any(), any())).thenReturn(brands);
+        List<BrandView> brands = Arrays.asList(new BrandView(1L, brand1.getName()), new BrandView(2L, brand2.getName()));
+        when(brandService.findAllViews(any(), any())).thenReturn(new SliceImpl<>(brands));
 
         mockMvc.perform(get("/api/v1/brands"))
                 .andDo(print())
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$", hasSize(2)))
-                .andExpect(jsonPath("$[0].brandName", is(brand1.getName())));
+                .andExpect(jsonPath("$[0].brandName", is(brand1.getName())))
+                .andExpect(header().string("ETag", "\"7\""))
+                .andExpect(header().string("Cache-Control", "max-age=300, must-revalidate, public"));
+    }
+
+    @Test
+    public void whenGetBrandModelsShouldReturnModelsOfTheBrandWithNextCursor() throws Exception {
+        List<ModelView> models = List.of(new ModelView(10L, "A4", 2019, brand1.getName(), Set.of()),
+                new ModelView(11L, "A6", 2019, brand1.getName(), Set.of()),
+                new ModelView(12L, "Q5", 2020, brand1.getName(), Set.of()));
+        when(brandService.findIdByName(brand1.getName())).thenReturn(Optional.of(1L));
+        when(modelService.findAllViews(any(), any())).thenReturn(new SliceImpl<>(models, PageRequest.of(0, 3), true));
+
+        mockMvc.perform(get("/api/v1/brands/{brandName}/models", brand1.getName()))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(3)))
+                .andExpect(jsonPath("$[0].modelName", is("A4")))
+                .andExpect(header().string("X-Has-Next", "true"))
+                .andExpect(header().string("X-Next-Cursor",
+                        new KeysetCursor(new SortCriteria("model", "ASC"), "Q5", 12L).encode()));
+    }
+
+    @Test
+    public void whenGetModelsOfUnknownBrandShouldReturnNotFoundWithoutLoadingModels() throws Exception {
+        when(brandService.findIdByName("Unknown")).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/v1/brands/{brandName}/models", "Unknown"))
+                .andDo(print())
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message", is("Brand was not found!")));
+        verify(modelService, never()).findAllViews(any(), any());
+    }
+
+    @Test
+    public void whenGetAllBrandsWithCurrentETagShouldReturnNotModifiedWithoutLoadingBrands() throws Exception {
+        mockMvc.perform(get("/api/v1/brands").header("If-None-Match", "\"7\""))
+                .andDo(print())
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"7\""))
+                .andExpect(content().string(""));
+        verify(brandService, never()).findAllViews(any(), any());
+    }
+
+    @Test
+    public void whenGetOneBrandWithCurrentETagShouldReturnNotModified() throws Exception {
+        Brand brand = new Brand("brand_Three");
+        brand.setId(3L);
+        brand.setVersion(2L);
+        when(brandService.findByName(brand.getName())).thenReturn(Optional.of(brand));
+
+        mockMvc.perform(get("/api/v1/brands/{brandName}", brand.getName()).header("If-None-Match", "\"3.2\""))
+                .andDo(print())
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        mockMvc.perform(get("/api/v1/brands/{brandName}", brand.getName()).header("If-None-Match", "\"3.1\""))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3.2\""))
+                .andExpect(jsonPath("$.brandName", is(brand.getName())));
     }
 
     @Test
@@ -75,27 +172,28 @@ public class BrandControllerTest {
 
     @Test
     @WithMockUser
-    public void whenDeleteBrandWithValidParamShouldDeleteBrandFromDbAndReturnNoContentStatus() throws Exception {
+    public void whenDeleteBrandWithValidParamShouldStartPurgeJobAndReturnAccepted() throws Exception {
         String brandName = brand1.getName();
-        when(brandService.deleteByName(brandName)).thenReturn(1);
+        Job job = new Job("brand-purge", 10);
+        when(purgeService.purgeBrand(brandName)).thenReturn(job);
 
         mockMvc.perform(delete("/api/v1/brands/{brandName}", brandName))
                 .andDo(print())
-                .andExpect(status().isNoContent())
-                .andExpect(content().string(""));
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/v1/jobs/" + job.getId()))
+                .andExpect(jsonPath("$.type", is("brand-purge")))
+                .andExpect(jsonPath("$.status", is("QUEUED")));
     }
 
     @Test
     @WithMockUser
-    public void whenDeleteBrandWithInvalidParamShouldDeleteBrandFromDbAndReturnBadRequest() throws Exception {
+    public void whenDeleteBrandWithInvalidParamShouldReturnNotFound() throws Exception {
         String brandName = brand1.getName();
-        when(brandService.deleteByName(brandName)).thenReturn(0);
+        when(purgeService.purgeBrand(brandName)).thenThrow(new BrandNotFoundException(brandName + " was not found!"));
 
         mockMvc.perform(delete("/api/v1/brands/{brandName}", brandName))
                 .andDo(print())
-                .andExpect(status().isBadRequest())
-                .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_PLAIN))
-                .andExpect(content().string(brandName + " was not deleted!"));
+                .andExpect(status().isNotFound());
     }
 
     @Test
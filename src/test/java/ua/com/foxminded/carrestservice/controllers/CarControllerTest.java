@@ -2,40 +2,73 @@ package ua.com.foxminded.carrestservice.controllers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import ua.com.foxminded.carrestservice.dto.CarDTO;
 import ua.com.foxminded.carrestservice.models.Brand;
 import ua.com.foxminded.carrestservice.models.Car;
 import ua.com.foxminded.carrestservice.models.Model;
+import ua.com.foxminded.carrestservice.repositories.versions.CatalogTable;
+import ua.com.foxminded.carrestservice.repositories.versions.CatalogVersions;
+import ua.com.foxminded.carrestservice.repositories.views.CarView;
+import ua.com.foxminded.carrestservice.repositories.views.RowCount;
 import ua.com.foxminded.carrestservice.security.SecurityConfig;
 import ua.com.foxminded.carrestservice.services.CarService;
+import ua.com.foxminded.carrestservice.services.CatalogVersionService;
 import ua.com.foxminded.carrestservice.services.ModelService;
 import ua.com.foxminded.carrestservice.utils.DTOconverters.CarDTOConverter;
+import ua.com.foxminded.carrestservice.utils.cache.CarNearCache;
+import ua.com.foxminded.carrestservice.utils.cache.PlateSuggestIndex;
+import ua.com.foxminded.carrestservice.utils.cache.ResponseCache;
 import ua.com.foxminded.carrestservice.utils.exceptions.CarDataException;
+import ua.com.foxminded.carrestservice.utils.exceptions.CarNotFoundException;
+import ua.com.foxminded.carrestservice.utils.exceptions.InvalidFilterException;
+import ua.com.foxminded.carrestservice.utils.specifications.KeysetCursor;
+import ua.com.foxminded.carrestservice.utils.specifications.SortCriteria;
+import ua.com.foxminded.carrestservice.utils.statements.SqlStatementInspector;
 
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+import static ua.com.foxminded.carrestservice.utils.SqlStatementMatchers.noRepeatedStatements;
+import static ua.com.foxminded.carrestservice.utils.SqlStatementMatchers.repeatedStatement;
+import static ua.com.foxminded.carrestservice.utils.SqlStatementMatchers.statementsAtMost;
 
 @WebMvcTest(CarController.class)
+@TestPropertySource(properties = "car-service.sql-budget.fail-on-exceeded=true")
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
-@Import(SecurityConfig.class)
+@Import({SecurityConfig.class, CarNearCache.class, ResponseCache.class})
 public class CarControllerTest {
 
     @MockBean
@@ -44,9 +77,25 @@ public class CarControllerTest {
     @MockBean
     private ModelService modelService;
 
+    @MockBean
+    private CatalogVersionService catalogVersionService;
+
+    @MockBean
+    private PlateSuggestIndex plateSuggestIndex;
+
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private ResponseCache responseCache;
+
+    @Autowired
+    private CarController carController;
+
+    private static final String CAR_VIEWS_SQL = "select c1_0.car_id,c1_0.number from cars c1_0 where c1_0.model_ref=?";
+
+    private final SqlStatementInspector sqlInspector = new SqlStatementInspector();
+
     private Car car1;
     private Car car2;
 
@@ -57,16 +106,227 @@ public class CarControllerTest {
         car2 = new Car(2L, "UN-4422", new Model("X-110", new Brand("Brand-I"), 1994));
     }
 
+    @BeforeEach
+    public void clearResponseCache() {
+        responseCache.evictAll();
+    }
+
+    @BeforeEach
+    public void stubCatalogVersions() {
+        when(catalogVersionService.findVersions()).thenReturn(new CatalogVersions(Map.of()));
+    }
+
     @Test
     public void whenGetCarsShouldReturnListOfAllDTOCars() throws Exception {
-        List<Car> cars = List.of(car1, car2);
-        when(carService.findAll(any(), any())).thenReturn(cars);
+        List<CarView> cars = List.of(toView(car1), toView(car2));
+        when(carService.findAllViews(any(), any())).thenReturn(new SliceImpl<>(cars));
+
+        mockMvc.perform(get("/api/v1/cars"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].number", is(car1.getNumber())))
+                .andExpect(header().string("X-Has-Next", "false"))
+                .andExpect(header().doesNotExist("X-Total-Count"))
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+        verify(carService, never()).countAllViews();
+    }
+
+    @Test
+    public void whenGetSameCarsPageRepeatedlyShouldServeCachedResponse() throws Exception {
+        when(carService.findAllViews(any(), any())).thenReturn(new SliceImpl<>(List.of(toView(car1), toView(car2))));
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/api/v1/cars").param("page", "0"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("X-Has-Next", "false"))
+                    .andExpect(jsonPath("$", hasSize(2)));
+        }
+
+        verify(carService, times(1)).findAllViews(any(), any());
+    }
+
+    @Test
+    public void whenCatalogVersionChangesShouldRecomputeCachedCarsPage() throws Exception {
+        when(carService.findAllViews(any(), any()))
+                .thenReturn(new SliceImpl<>(List.of(toView(car1), toView(car2))))
+                .thenReturn(new SliceImpl<>(List.of(toView(car2))));
+
+        mockMvc.perform(get("/api/v1/cars"))
+                .andExpect(jsonPath("$", hasSize(2)));
+        when(catalogVersionService.findVersions()).thenReturn(new CatalogVersions(Map.of(CatalogTable.CARS, 1L)));
+        mockMvc.perform(get("/api/v1/cars"))
+                .andExpect(jsonPath("$", hasSize(1)));
+
+        verify(carService, times(2)).findAllViews(any(), any());
+    }
+
+    @Test
+    public void whenGetCarsAcceptingGzipShouldReturnCompressedBody() throws Exception {
+        List<CarView> cars = IntStream.range(0, 50)
+                .mapToObj(i -> toView(new Car((long) i, "UN-" + (1000 + i), car1.getModel())))
+                .toList();
+        when(carService.findAllViews(any(), any())).thenReturn(new SliceImpl<>(cars));
+
+        MvcResult result = mockMvc.perform(get("/api/v1/cars").header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn();
+
+        try (GZIPInputStream body = new GZIPInputStream(new ByteArrayInputStream(result.getResponse().getContentAsByteArray()))) {
+            CarDTO[] dtos = new ObjectMapper().readValue(body, CarDTO[].class);
+            assertEquals(50, dtos.length);
+        }
+    }
+
+    @Test
+    public void whenGetCarsAcceptingGzipShouldTagCompressedBodySeparatelyAndRevalidateBothTags() throws Exception {
+        List<CarView> cars = IntStream.range(0, 50)
+                .mapToObj(i -> toView(new Car((long) i, "UN-" + (1000 + i), car1.getModel())))
+                .toList();
+        when(carService.findAllViews(any(), any())).thenReturn(new SliceImpl<>(cars));
 
+        mockMvc.perform(get("/api/v1/cars").header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0.0.0.0.0-gzip\""));
         mockMvc.perform(get("/api/v1/cars"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0.0.0.0.0\""));
+
+        mockMvc.perform(get("/api/v1/cars").header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"0.0.0.0.0-gzip\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0.0.0.0.0-gzip\""));
+        mockMvc.perform(get("/api/v1/cars").header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                        .header(HttpHeaders.IF_NONE_MATCH, "W/\"0.0.0.0.0\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0.0.0.0.0\""));
+        verify(carService, times(2)).findAllViews(any(), any());
+    }
+
+    @Test
+    public void whenGetCarsWithIncludeTotalShouldReturnTotalCountHeaders() throws Exception {
+        List<CarView> cars = List.of(toView(car1), toView(car2));
+        when(carService.findAllViews(any(), any())).thenReturn(new SliceImpl<>(cars));
+        when(carService.countAllViews()).thenReturn(new RowCount(420000L, true));
+
+        mockMvc.perform(get("/api/v1/cars").param("includeTotal", "true"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Total-Count", "420000"))
+                .andExpect(header().string("X-Total-Count-Estimated", "true"));
+    }
+
+    @Test
+    public void whenGetCarsWithFilterShouldNotReportTableTotal() throws Exception {
+        List<CarView> cars = List.of(toView(car1), toView(car2));
+        when(carService.findAllViews(any(), any())).thenReturn(new SliceImpl<>(cars));
+
+        mockMvc.perform(get("/api/v1/cars")
+                        .param("brand", "Toyota", "Honda")
+                        .param("category", "Suv")
+                        .param("yearFrom", "2015")
+                        .param("includeTotal", "true"))
                 .andDo(print())
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$", hasSize(2)))
-                .andExpect(jsonPath("$[0].number", is(car1.getNumber())));
+                .andExpect(header().doesNotExist("X-Total-Count"));
+        verify(carService, never()).countAllViews();
+    }
+
+    @Test
+    public void whenGetCarsFilteredOnlyByCategoryShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/v1/cars").param("category", "Suv", "Sedan").param("categoryMatch", "all"))
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is("category filter on cars should be combined with brand, " +
+                        "modelPrefix, yearFrom, yearTo or numberPrefix")));
+        verify(carService, never()).findAllViews(any(), any());
+    }
+
+    @Test
+    public void whenGetCarsWithShortNumberPrefixShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/v1/cars").param("numberPrefix", "A"))
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is("numberPrefix should contain at least 2 characters")));
+        verify(carService, never()).findAllViews(any(), any());
+    }
+
+    @Test
+    public void whenGetCarsShouldStayWithinSqlBudget() throws Exception {
+        List<CarView> cars = List.of(toView(car1), toView(car2));
+        when(carService.findAllViews(any(), any())).thenAnswer(invocation -> {
+            sqlInspector.inspect(CAR_VIEWS_SQL);
+            return new SliceImpl<>(cars);
+        });
+
+        mockMvc.perform(get("/api/v1/cars"))
+                .andExpect(status().isOk())
+                .andExpect(statementsAtMost(1))
+                .andExpect(noRepeatedStatements());
+    }
+
+    @Test
+    public void whenGetCarsExceedsSqlBudgetShouldReturnInternalServerError() throws Exception {
+        when(carService.findAllViews(any(), any())).thenAnswer(invocation -> {
+            for (int i = 0; i < 6; i++) {
+                sqlInspector.inspect(CAR_VIEWS_SQL + " offset " + i);
+            }
+            return new SliceImpl<>(List.of(toView(car1)));
+        });
+
+        mockMvc.perform(get("/api/v1/cars"))
+                .andDo(print())
+                .andExpect(status().isInternalServerError())
+                .andExpect(jsonPath("$.message", is("CarController#getCars executed more than 5 SQL statements")));
+    }
+
+    @Test
+    public void whenGetCarsRepeatsStatementShouldReportIt() throws Exception {
+        when(carService.findAllViews(any(), any())).thenAnswer(invocation -> {
+            for (int i = 0; i < 5; i++) {
+                sqlInspector.inspect(CAR_VIEWS_SQL);
+            }
+            return new SliceImpl<>(List.of(toView(car1)));
+        });
+
+        mockMvc.perform(get("/api/v1/cars"))
+                .andExpect(status().isOk())
+                .andExpect(statementsAtMost(5))
+                .andExpect(repeatedStatement(CAR_VIEWS_SQL, 5));
+    }
+
+    @Test
+    public void whenGetCarsReturnsFullPageShouldReturnNextCursorHeader() throws Exception {
+        Car car3 = new Car(3L, "UN-5555", new Model("X-7", new Brand("Brand-II"), 2001));
+        List<CarView> cars = List.of(toView(car1), toView(car2), toView(car3));
+        when(carService.findAllViews(any(), any())).thenReturn(new SliceImpl<>(cars, PageRequest.of(0, 3), true));
+
+        String cursor = new KeysetCursor(new SortCriteria("brand", "ASC"), "Brand-II", 3L).encode();
+
+        mockMvc.perform(get("/api/v1/cars"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(3)))
+                .andExpect(header().string("X-Has-Next", "true"))
+                .andExpect(header().string("X-Next-Cursor", cursor));
+
+        mockMvc.perform(get("/api/v1/cars").param("after", cursor))
+                .andDo(print())
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    public void whenGetCarsWithCursorOfAnotherSortKeyShouldReturnBadRequest() throws Exception {
+        String cursor = new KeysetCursor(new SortCriteria("number", "ASC"), "UN-1234", 1L).encode();
+
+        mockMvc.perform(get("/api/v1/cars").param("after", cursor))
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is("Cursor does not match the requested filter and sort direction")));
     }
 
     @Test
@@ -80,6 +340,35 @@ public class CarControllerTest {
                 .andExpect(jsonPath("$.number", is(number)));
     }
 
+    @Test
+    public void whenGetCarByNumberRepeatedlyShouldServeItFromNearCache() throws Exception {
+        String number = car2.getNumber();
+        when(carService.findByNumber(number)).thenReturn(car2);
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/api/v1/cars/{number}", number))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.modelName", is(car2.getModel().getName())));
+        }
+
+        verify(carService, times(1)).findByNumber(number);
+    }
+
+    @Test
+    public void whenGetUnknownCarNumberRepeatedlyShouldNotLookItUpAgain() throws Exception {
+        String number = "UN-0000";
+        when(carService.findByNumber(number)).thenThrow(new CarNotFoundException("Car with number '" + number + "' was not found"));
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/api/v1/cars/{number}", number))
+                    .andExpect(status().isNotFound())
+                    .andExpect(jsonPath("$.message", is("Car with number '" + number + "' was not found")));
+        }
+
+        verify(carService, times(1)).findByNumber(number);
+        verify(catalogVersionService, times(1)).findVersions();
+    }
+
     @Test
     @WithMockUser
     public void whenDeleteCarByNumberWithValidNumberShouldDeleteCarFromDbAndReturnNoContentStatus() throws Exception {
@@ -121,7 +410,7 @@ public class CarControllerTest {
         int year = car1.getModel().getProductionYear();
         CarDTO carDTO = new CarDTO(number, brand, model, year, Set.of());
 
-        when(modelService.findByNameAndProductionYearAndBrandName(model, year, brand)).thenReturn(Optional.of(new Model()));
+        when(modelService.findIdByNameAndProductionYearAndBrandName(model, year, brand)).thenReturn(Optional.of(1L));
         when(carService.deleteByNumber(number)).thenReturn(0);
 
         mockMvc.perform(post("/api/v1/cars")
@@ -135,6 +424,146 @@ public class CarControllerTest {
         verify(carService).save(savedCar);
     }
 
+    @Test
+    public void whenGetExportShouldStreamAllCarsAsNdjson() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<CarView> consumer = invocation.getArgument(0);
+            consumer.accept(toView(car1));
+            consumer.accept(toView(car2));
+            return null;
+        }).when(carService).exportViews(any());
+
+        MvcResult result = mockMvc.perform(get("/api/v1/cars/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(content().string(
+                        "{\"number\":\"UN-1234\",\"brandName\":\"Brand-I\",\"modelName\":\"X-2\",\"productionYear\":1991,\"categories\":[]}\n" +
+                        "{\"number\":\"UN-4422\",\"brandName\":\"Brand-I\",\"modelName\":\"X-110\",\"productionYear\":1994,\"categories\":[]}\n"));
+    }
+
+    @Test
+    public void whenGetExportAsCsvShouldQuoteCategoryNamesContainingSeparator() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<CarView> consumer = invocation.getArgument(0);
+            consumer.accept(new CarView(1L, "UN-1234", 1L, "X-2", 1991, "Brand, I", Set.of("Off;road")));
+            consumer.accept(new CarView(2L, "UN-4422", 2L, "X-110", 1994, "Brand-I", Set.of("Sedan")));
+            return null;
+        }).when(carService).exportViews(any());
+
+        MvcResult result = mockMvc.perform(get("/api/v1/cars/export").param("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(content().string(
+                        "number,brandName,modelName,productionYear,categories\n" +
+                        "UN-1234,\"Brand, I\",X-2,1991,\"\"\"Off;road\"\"\"\n" +
+                        "UN-4422,Brand-I,X-110,1994,Sedan\n"));
+    }
+
+    @Test
+    public void whenGetSuggestShouldReturnMatchingNumbersWithoutQueries() throws Exception {
+        when(plateSuggestIndex.suggest("un", 2)).thenReturn(List.of("UN-1234", "UN-4422"));
+
+        mockMvc.perform(get("/api/v1/cars/suggest").param("prefix", "un").param("limit", "2"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0]", is("UN-1234")))
+                .andExpect(jsonPath("$[1]", is("UN-4422")));
+        verifyNoInteractions(carService, catalogVersionService);
+    }
+
+    @Test
+    public void whenGetSuggestWithInvalidPrefixShouldReturnBadRequest() throws Exception {
+        when(plateSuggestIndex.suggest("--", 10))
+                .thenThrow(new InvalidFilterException("prefix should contain at least one letter or digit"));
+
+        mockMvc.perform(get("/api/v1/cars/suggest").param("prefix", "--"))
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is("prefix should contain at least one letter or digit")));
+    }
+
+    @Test
+    public void whenGetExportWithUnknownFormatShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/v1/cars/export").param("format", "xml"))
+                .andDo(print())
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Tag("low-heap")
+    public void whenExportLargeCatalogShouldStreamWithoutBufferingRows() throws Exception {
+        int rows = 3_000_000;
+        doAnswer(invocation -> {
+            Consumer<CarView> consumer = invocation.getArgument(0);
+            for (long i = 0; i < rows; i++) {
+                consumer.accept(new CarView(i, "UN-" + i, 1L, "X-2", 1991, "Brand-I", Set.of("Sedan", "Coupe")));
+            }
+            return null;
+        }).when(carService).exportViews(any());
+
+        long[] lines = new long[1];
+        OutputStream out = new OutputStream() {
+            @Override
+            public void write(int b) {
+                if (b == '\n') {
+                    lines[0]++;
+                }
+            }
+
+            @Override
+            public void write(byte[] bytes, int offset, int length) {
+                for (int i = offset; i < offset + length; i++) {
+                    write(bytes[i]);
+                }
+            }
+        };
+
+        carController.exportCars("csv").getBody().writeTo(out);
+
+        assertEquals(rows + 1, lines[0]);
+    }
+
+    @Test
+    @WithMockUser
+    public void whenPostBatchShouldSaveNewCarsAndReturnResultForEveryCar() throws Exception {
+        String brand = car1.getModel().getBrand().getName();
+        String model = car1.getModel().getName();
+        int year = car1.getModel().getProductionYear();
+        List<CarDTO> carDTOs = List.of(
+                new CarDTO("UN-1234", brand, model, year, Set.of()),
+                new CarDTO("UN-4422", brand, model, year, Set.of()),
+                new CarDTO("UN", brand, model, year, Set.of()),
+                new CarDTO("UN-1234", brand, model, year, Set.of()),
+                new CarDTO("UN-7777", brand, "Unknown", year, Set.of()));
+
+        when(modelService.findIdByNameAndProductionYearAndBrandName(model, year, brand)).thenReturn(Optional.of(1L));
+        when(carService.saveAllNew(anyList())).thenReturn(Set.of("UN-4422"));
+
+        mockMvc.perform(post("/api/v1/cars/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(new ObjectMapper().writeValueAsString(carDTOs)))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(5)))
+                .andExpect(jsonPath("$[0].status", is("CREATED")))
+                .andExpect(jsonPath("$[1].status", is("DUPLICATE_NUMBER")))
+                .andExpect(jsonPath("$[2].status", is("INVALID")))
+                .andExpect(jsonPath("$[3].status", is("DUPLICATE_NUMBER")))
+                .andExpect(jsonPath("$[4].status", is("UNKNOWN_MODEL")));
+
+        verify(carService).saveAllNew(argThat(cars -> cars.size() == 2));
+    }
+
     @Test
     @WithMockUser
     public void whenPutUpdateCarWithValidParamShouldUpdateCarInDbAndReturnOk() throws Exception {
@@ -179,4 +608,10 @@ public class CarControllerTest {
 
         verify(carService).updateNumber(any(), any());
     }
+
+    private static CarView toView(Car car) {
+        Model model = car.getModel();
+        return new CarView(car.getId(), car.getNumber(), model.getId(), model.getName(),
+                model.getProductionYear(), model.getBrand().getName(), Set.of());
+    }
 }
\ No newline at end of file
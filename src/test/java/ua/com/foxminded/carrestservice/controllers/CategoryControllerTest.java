@@ -2,28 +2,39 @@ package ua.com.foxminded.carrestservice.controllers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 import ua.com.foxminded.carrestservice.dto.CategoryDTO;
 import ua.com.foxminded.carrestservice.models.Category;
+import ua.com.foxminded.carrestservice.repositories.versions.CatalogVersions;
+import ua.com.foxminded.carrestservice.repositories.views.CategoryView;
+import ua.com.foxminded.carrestservice.repositories.views.ModelView;
 import ua.com.foxminded.carrestservice.security.SecurityConfig;
+import ua.com.foxminded.carrestservice.services.CatalogVersionService;
 import ua.com.foxminded.carrestservice.services.CategoryService;
+import ua.com.foxminded.carrestservice.services.ModelService;
 import ua.com.foxminded.carrestservice.utils.DTOconverters.CategoryDTOConverter;
+import ua.com.foxminded.carrestservice.utils.cache.ResponseCache;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -32,14 +43,21 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 @WebMvcTest(CategoryController.class)
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
-@Import(SecurityConfig.class)
+@Import({SecurityConfig.class, ResponseCache.class})
 public class CategoryControllerTest {
     @MockBean
     private CategoryService service;
+    @MockBean
+    private ModelService modelService;
+    @MockBean
+    private CatalogVersionService catalogVersionService;
 
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private ResponseCache responseCache;
+
     private Category category1;
     private Category category2;
 
@@ -50,10 +68,20 @@ public class CategoryControllerTest {
         category2 = new Category("Category_Two");
     }
 
+    @BeforeEach
+    public void clearResponseCache() {
+        responseCache.evictAll();
+    }
+
+    @BeforeEach
+    public void stubCatalogVersions() {
+        when(catalogVersionService.findVersions()).thenReturn(new CatalogVersions(Map.of()));
+    }
+
     @Test
     public void getAllCategoriesShouldReturnListOfAllDTOCategories() throws Exception {
-        List<Category> categories = Arrays.asList(category1, category2);
-        when(service.findAll(any(), any())).thenReturn(categories);
+        List<CategoryView> categories = Arrays.asList(new CategoryView(1L, category1.getName()), new CategoryView(2L, category2.getName()));
+        when(service.findAllViews(any(), any())).thenReturn(new SliceImpl<>(categories));
 
         mockMvc.perform(get("/api/v1/categories")
                         .contentType(MediaType.APPLICATION_JSON))
@@ -63,6 +91,32 @@ public class CategoryControllerTest {
                 .andExpect(jsonPath("$[0].categoryName", is(category1.getName())));
     }
 
+    @Test
+    public void getCategoryModelsShouldReturnModelsOfTheCategory() throws Exception {
+        List<ModelView> models = List.of(new ModelView(10L, "Q5", 2020, "Audi", Set.of(category1.getName())));
+        when(service.findIdsByNames(Set.of(category1.getName()))).thenReturn(Map.of(category1.getName(), Optional.of(1L)));
+        when(modelService.findAllViews(any(), any())).thenReturn(new SliceImpl<>(models));
+
+        mockMvc.perform(get("/api/v1/categories/{category}/models", category1.getName()))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].modelName", is("Q5")))
+                .andExpect(header().string("X-Has-Next", "false"))
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+    }
+
+    @Test
+    public void getModelsOfUnknownCategoryShouldReturnNotFound() throws Exception {
+        when(service.findIdsByNames(Set.of("Unknown"))).thenReturn(Map.of("Unknown", Optional.empty()));
+
+        mockMvc.perform(get("/api/v1/categories/{category}/models", "Unknown"))
+                .andDo(print())
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message", is("Category Unknown was not found!")));
+        verify(modelService, never()).findAllViews(any(), any());
+    }
+
     @Test
     public void getOneCategoryShouldReturnOneCategoryDTOByName() throws Exception {
         when(service.findByName(category1.getName())).thenReturn(Optional.ofNullable(category1));
@@ -0,0 +1,75 @@
+package ua.com.foxminded.carrestservice.controllers;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import ua.com.foxminded.carrestservice.security.SecurityConfig;
+import ua.com.foxminded.carrestservice.services.ImportService;
+import ua.com.foxminded.carrestservice.utils.jobs.Job;
+
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ImportController.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Import(SecurityConfig.class)
+public class ImportControllerTest {
+    @MockBean
+    private ImportService importService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @WithMockUser
+    public void whenPostCarsCsvShouldStartImportJobAndReturnAccepted() throws Exception {
+        Job job = new Job("car-import", 10);
+        when(importService.importCars(any())).thenReturn(job);
+
+        mockMvc.perform(post("/api/v1/imports/cars")
+                        .contentType("text/csv")
+                        .content("number,brandName,modelName,productionYear\nUN-1234,Audi,R8,2020\n"))
+                .andDo(print())
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/v1/jobs/" + job.getId()))
+                .andExpect(jsonPath("$.type", is("car-import")))
+                .andExpect(jsonPath("$.status", is("QUEUED")));
+
+        verify(importService).importCars(any());
+    }
+
+    @Test
+    @WithMockUser
+    public void whenPostModelsCsvShouldStartImportJobAndReturnAccepted() throws Exception {
+        Job job = new Job("model-import", 10);
+        when(importService.importModels(any())).thenReturn(job);
+
+        mockMvc.perform(post("/api/v1/imports/models")
+                        .contentType("text/csv")
+                        .content("brandName,modelName,productionYear,categories\nAudi,R8,2020,Coupe\n"))
+                .andDo(print())
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/v1/jobs/" + job.getId()))
+                .andExpect(jsonPath("$.type", is("model-import")));
+    }
+
+    @Test
+    public void whenPostCsvWithoutAuthenticationShouldReturnUnauthorized() throws Exception {
+        mockMvc.perform(post("/api/v1/imports/cars")
+                        .contentType("text/csv")
+                        .content("UN-1234,Audi,R8,2020\n"))
+                .andDo(print())
+                .andExpect(status().isUnauthorized());
+
+        verify(importService, never()).importCars(any());
+    }
+}
@@ -0,0 +1,74 @@
+package ua.com.foxminded.carrestservice.controllers;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+import ua.com.foxminded.carrestservice.security.SecurityConfig;
+import ua.com.foxminded.carrestservice.utils.exceptions.JobNotFoundException;
+import ua.com.foxminded.carrestservice.utils.jobs.Job;
+import ua.com.foxminded.carrestservice.utils.jobs.JobRegistry;
+import ua.com.foxminded.carrestservice.utils.jobs.JobReportEntry;
+
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(JobController.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Import(SecurityConfig.class)
+public class JobControllerTest {
+    @MockBean
+    private JobRegistry jobRegistry;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    public void whenGetJobShouldReturnItsProgressAndCounters() throws Exception {
+        Job job = new Job("car-import", 10);
+        job.startPhase("STAGING", 2048);
+        job.progress(1024);
+        job.count("rejected", 2);
+        when(jobRegistry.find(job.getId())).thenReturn(job);
+
+        mockMvc.perform(get("/api/v1/jobs/{id}", job.getId()))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.phase", is("STAGING")))
+                .andExpect(jsonPath("$.processed", is(1024)))
+                .andExpect(jsonPath("$.total", is(2048)))
+                .andExpect(jsonPath("$.counters.rejected", is(2)));
+    }
+
+    @Test
+    public void whenGetJobReportShouldReturnRejectedRowsAsCsv() throws Exception {
+        Job job = new Job("car-import", 10);
+        job.report(new JobReportEntry(3, "UN-17", "Car with this number already exists!"));
+        when(jobRegistry.find(job.getId())).thenReturn(job);
+
+        mockMvc.perform(get("/api/v1/jobs/{id}/report", job.getId()))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(content().string("line,key,reason\n3,\"UN-17\",\"Car with this number already exists!\"\n"));
+    }
+
+    @Test
+    public void whenGetUnknownJobShouldReturnNotFound() throws Exception {
+        UUID id = UUID.randomUUID();
+        when(jobRegistry.find(id)).thenThrow(new JobNotFoundException("Job " + id + " was not found!"));
+
+        mockMvc.perform(get("/api/v1/jobs/{id}", id))
+                .andDo(print())
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message", is("Job " + id + " was not found!")));
+    }
+}
@@ -2,33 +2,54 @@ package ua.com.foxminded.carrestservice.controllers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 import ua.com.foxminded.carrestservice.dto.ModelDTO;
 import ua.com.foxminded.carrestservice.models.Brand;
 import ua.com.foxminded.carrestservice.models.Model;
+import ua.com.foxminded.carrestservice.repositories.versions.CatalogTable;
+import ua.com.foxminded.carrestservice.repositories.versions.CatalogVersions;
+import ua.com.foxminded.carrestservice.repositories.views.ModelView;
 import ua.com.foxminded.carrestservice.security.SecurityConfig;
 import ua.com.foxminded.carrestservice.services.BrandService;
+import ua.com.foxminded.carrestservice.services.CatalogVersionService;
 import ua.com.foxminded.carrestservice.services.CategoryService;
 import ua.com.foxminded.carrestservice.services.ModelService;
+import ua.com.foxminded.carrestservice.services.PurgeService;
 import ua.com.foxminded.carrestservice.utils.DTOconverters.ModelDTOConverter;
+import ua.com.foxminded.carrestservice.utils.cache.CategoryBitmapIndex.Match;
+import ua.com.foxminded.carrestservice.utils.cache.CategoryBitmapIndex.ModelIdPage;
+import ua.com.foxminded.carrestservice.utils.cache.ModelNameIndex.NameMatches;
+import ua.com.foxminded.carrestservice.utils.cache.ResponseCache;
+import ua.com.foxminded.carrestservice.utils.exceptions.InvalidFilterException;
+import ua.com.foxminded.carrestservice.utils.exceptions.ModelNotFoundException;
+import ua.com.foxminded.carrestservice.utils.jobs.Job;
+import ua.com.foxminded.carrestservice.utils.specifications.KeysetCursor;
+import ua.com.foxminded.carrestservice.utils.specifications.SortCriteria;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
 import static org.hamcrest.Matchers.*;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
@@ -36,17 +57,25 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 @WebMvcTest(ModelController.class)
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
-@Import(SecurityConfig.class)
+@Import({SecurityConfig.class, ResponseCache.class})
 public class ModelControllerTest {
     @MockBean
     private ModelService modelService;
     @MockBean
+    private PurgeService purgeService;
+    @MockBean
     private BrandService brandService;
     @MockBean
     private CategoryService categoryService;
+    @MockBean
+    private CatalogVersionService catalogVersionService;
 
     @Autowired
     private MockMvc mockMvc;
+
+    @Autowired
+    private ResponseCache responseCache;
+
     private Model model1;
     private Model model2;
 
@@ -57,10 +86,21 @@ public class ModelControllerTest {
         model2 = new Model("Test_model_Two", new Brand("Test_Brand"), 1992);
     }
 
+    @BeforeEach
+    public void clearResponseCache() {
+        responseCache.evictAll();
+    }
+
+    @BeforeEach
+    public void stubCatalogVersions() {
+        when(catalogVersionService.findVersions()).thenReturn(new CatalogVersions(Map.of(
+                CatalogTable.BRANDS, 4L, CatalogTable.CATEGORIES, 5L, CatalogTable.CATEGORY_MODEL, 6L)));
+    }
+
     @Test
     public void whenGetModelsShouldReturnListOfAllDTOModels() throws Exception {
-        List<Model> models = Arrays.asList(model1, model2);
-        when(modelService.findAll(any(), any())).thenReturn(models);
+        List<ModelView> models = Arrays.asList(toView(1L, model1), toView(2L, model2));
+        when(modelService.findAllViews(any(), any())).thenReturn(new SliceImpl<>(models));
 
         mockMvc.perform(get("/api/v1/models"))
                 .andDo(print())
@@ -69,6 +109,162 @@ public class ModelControllerTest {
                 .andExpect(jsonPath("$[0].modelName", is(model1.getName())));
     }
 
+    @Test
+    public void whenGetModelsWithinYearRangeShouldNotReportTableTotal() throws Exception {
+        List<ModelView> models = Arrays.asList(toView(1L, model1), toView(2L, model2));
+        when(modelService.findAllViews(any(), any())).thenReturn(new SliceImpl<>(models));
+
+        mockMvc.perform(get("/api/v1/models")
+                        .param("yearFrom", "1990")
+                        .param("yearTo", "2000")
+                        .param("includeTotal", "true"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(header().doesNotExist("X-Total-Count"));
+        verify(modelService, never()).countAllViews();
+    }
+
+    @Test
+    public void whenGetModelsWithInvertedYearRangeShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/v1/models")
+                        .param("yearFrom", "2000")
+                        .param("yearTo", "1990"))
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is("yearFrom should not be greater than yearTo!")));
+        verify(modelService, never()).findAllViews(any(), any());
+    }
+
+    @Test
+    public void whenGetModelsByNumberPrefixShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/v1/models").param("numberPrefix", "AA"))
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is("numberPrefix can only filter cars")));
+        verify(modelService, never()).findAllViews(any(), any());
+    }
+
+    @Test
+    public void whenGetModelsWithUnknownCategoryMatchShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/v1/models").param("category", "Suv").param("categoryMatch", "none"))
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is("categoryMatch should be 'all' or 'any'")));
+        verify(modelService, never()).findAllViews(any(), any());
+    }
+
+    @Test
+    public void whenGetModelsByCategoriesShouldReturnIndexedPageInIdOrder() throws Exception {
+        when(categoryService.findIdsByNames(Set.of("Suv", "Hybrid", "Electric"))).thenReturn(Map.of(
+                "Suv", Optional.of(1L), "Hybrid", Optional.of(2L), "Electric", Optional.of(3L)));
+        when(modelService.findIdsByCategories(new Match(Set.of(1L, 2L), Set.of(), Set.of(3L)), 10L, 3))
+                .thenReturn(new ModelIdPage(List.of(12L, 15L, 17L), true, 40L, true));
+        when(modelService.findAllViewsByIds(List.of(12L, 15L, 17L)))
+                .thenReturn(List.of(toView(12L, model2), toView(15L, model1), toView(17L, model2)));
+
+        mockMvc.perform(get("/api/v1/models/by-categories")
+                        .param("all", "Suv", "Hybrid")
+                        .param("none", "Electric")
+                        .param("after", idCursor(10L)))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(3)))
+                .andExpect(jsonPath("$[0].modelName", is(model2.getName())))
+                .andExpect(header().string("X-Has-Next", "true"))
+                .andExpect(header().string("X-Next-Cursor", idCursor(17L)))
+                .andExpect(header().string("X-Total-Count", "40"));
+    }
+
+    @Test
+    public void whenGetModelsByCategoriesFromStaleIndexShouldNotCacheResponse() throws Exception {
+        when(categoryService.findIdsByNames(Set.of("Suv"))).thenReturn(Map.of("Suv", Optional.of(1L)));
+        when(modelService.findIdsByCategories(new Match(Set.of(), Set.of(1L), Set.of()), null, 3))
+                .thenReturn(new ModelIdPage(List.of(12L), false, 1L, false));
+        when(modelService.findAllViewsByIds(List.of(12L))).thenReturn(List.of(toView(12L, model2)));
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/api/v1/models/by-categories").param("any", "Suv"))
+                    .andDo(print())
+                    .andExpect(status().isOk())
+                    .andExpect(header().doesNotExist("ETag"))
+                    .andExpect(header().string("Cache-Control", "no-store"));
+        }
+        verify(modelService, times(2)).findIdsByCategories(any(), any(), anyInt());
+    }
+
+    @Test
+    public void whenGetModelsByCategoriesWithInvalidCursorShouldReturnBadRequest() throws Exception {
+        when(categoryService.findIdsByNames(Set.of("Suv"))).thenReturn(Map.of("Suv", Optional.of(1L)));
+
+        mockMvc.perform(get("/api/v1/models/by-categories").param("any", "Suv").param("after", "10"))
+                .andDo(print())
+                .andExpect(status().isBadRequest());
+        verify(modelService, never()).findIdsByCategories(any(), any(), anyInt());
+    }
+
+    @Test
+    public void whenGetModelsByCategoriesWithoutCategoriesShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/v1/models/by-categories"))
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is("At least one of all, any or none categories should be given")));
+        verify(modelService, never()).findIdsByCategories(any(), any(), anyInt());
+    }
+
+    @Test
+    public void whenGetModelsByUnknownCategoryShouldReturnNotFound() throws Exception {
+        when(categoryService.findIdsByNames(Set.of("Nope"))).thenReturn(Map.of("Nope", Optional.empty()));
+
+        mockMvc.perform(get("/api/v1/models/by-categories").param("any", "Nope"))
+                .andDo(print())
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message", is("Category Nope was not found!")));
+        verify(modelService, never()).findIdsByCategories(any(), any(), anyInt());
+    }
+
+    @Test
+    public void whenSearchModelsShouldReturnModelsInRankOrder() throws Exception {
+        when(modelService.findIdsByName("Camri", 10)).thenReturn(new NameMatches(List.of(15L, 12L), true));
+        when(modelService.findAllViewsByIds(List.of(15L, 12L)))
+                .thenReturn(List.of(toView(15L, model1), toView(12L, model2)));
+
+        mockMvc.perform(get("/api/v1/models/search").param("q", "Camri"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].modelName", is(model1.getName())))
+                .andExpect(jsonPath("$[1].modelName", is(model2.getName())))
+                .andExpect(header().exists("ETag"));
+    }
+
+    @Test
+    public void whenSearchModelsFromStaleIndexShouldNotCacheResponse() throws Exception {
+        when(modelService.findIdsByName("Camri", 10)).thenReturn(new NameMatches(List.of(15L), false));
+        when(modelService.findAllViewsByIds(List.of(15L))).thenReturn(List.of(toView(15L, model1)));
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/api/v1/models/search").param("q", "Camri"))
+                    .andDo(print())
+                    .andExpect(status().isOk())
+                    .andExpect(header().doesNotExist("ETag"))
+                    .andExpect(header().string("Cache-Control", "no-store"));
+        }
+        verify(modelService, times(2)).findIdsByName("Camri", 10);
+    }
+
+    @Test
+    public void whenSearchModelsWithTooShortQueryShouldReturnBadRequest() throws Exception {
+        when(modelService.findIdsByName("x", 10))
+                .thenThrow(new InvalidFilterException("q should contain at least 2 letters or digits"));
+
+        mockMvc.perform(get("/api/v1/models/search").param("q", "x"))
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is("q should contain at least 2 letters or digits")));
+        verify(modelService, never()).findAllViewsByIds(any());
+    }
+
     @Test
     public void whenGetOneModelShouldReturnOneDTOModel() throws Exception {
         String brand = model1.getBrand().getName();
@@ -86,39 +282,55 @@ public class ModelControllerTest {
                 .andExpect(jsonPath("$.modelName", is(model)));
     }
 
+    @Test
+    public void whenGetOneModelWithCurrentETagShouldReturnNotModified() throws Exception {
+        Model found = new Model("Test_model_Three", new Brand("Test_Brand"), 1993);
+        found.setId(3L);
+        found.setVersion(1L);
+        when(modelService.findByNameAndProductionYearAndBrandName(found.getName(), 1993, "Test_Brand"))
+                .thenReturn(Optional.of(found));
+
+        mockMvc.perform(get("/api/v1/models/{brand}/{model}/{year}", "Test_Brand", found.getName(), 1993)
+                        .header("If-None-Match", "\"3.1-4.5.6\""))
+                .andDo(print())
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"3.1-4.5.6\""))
+                .andExpect(content().string(""));
+    }
+
     @Test
     @WithMockUser
-    public void whenDeleteModelWithValidParamsShouldDeleteModelFromDbAndReturnNoContentStatus() throws Exception {
+    public void whenDeleteModelWithValidParamsShouldStartPurgeJobAndReturnAccepted() throws Exception {
         String brand = model1.getBrand().getName();
         String model = model1.getName();
         int year = model1.getProductionYear();
+        Job job = new Job("model-purge", 10);
 
-        when(modelService.delete(brand, year, model))
-                .thenReturn(1);
+        when(purgeService.purgeModel(brand, year, model))
+                .thenReturn(job);
 
         mockMvc.perform(delete("/api/v1/models/{brand}/{model}/{year}",
                         brand, model, year))
                 .andDo(print())
-                .andExpect(status().isNoContent())
-                .andExpect(content().string(""));
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/v1/jobs/" + job.getId()))
+                .andExpect(jsonPath("$.type", is("model-purge")));
     }
 
     @Test
     @WithMockUser
-    public void whenDeleteModelWithInvalidParamsShouldReturnBadRequest() throws Exception {
+    public void whenDeleteModelWithInvalidParamsShouldReturnNotFound() throws Exception {
         String brand = model1.getBrand().getName();
         String model = model1.getName();
         int year = model1.getProductionYear();
 
-        when(modelService.delete(brand, year, model))
-                .thenReturn(0);
+        when(purgeService.purgeModel(brand, year, model))
+                .thenThrow(new ModelNotFoundException("Model was not found."));
 
         mockMvc.perform(delete("/api/v1/models/{brand}/{model}/{year}",
                         brand, model, year))
                 .andDo(print())
-                .andExpect(status().isBadRequest())
-                .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_PLAIN))
-                .andExpect(content().string("Model was not found."));
+                .andExpect(status().isNotFound());
     }
 
     @Test
@@ -130,7 +342,7 @@ public class ModelControllerTest {
         ModelDTO modelDTO = new ModelDTO(brand, "New model", year, Set.of());
 
         when(modelService.findByNameAndProductionYearAndBrandName(model, year, brand)).thenReturn(Optional.ofNullable(model1));
-        when(brandService.findByName(brand)).thenReturn(Optional.of(new Brand(brand)));
+        when(brandService.findIdByName(brand)).thenReturn(Optional.of(1L));
 
         mockMvc.perform(put("/api/v1/models/{brand}/{model}/{year}",
                         brand, model, year)
@@ -152,8 +364,7 @@ public class ModelControllerTest {
         int year = model1.getProductionYear();
         ModelDTO modelDTO = new ModelDTO(brand, "New_model", year, Set.of());
 
-        when(modelService.findByNameAndProductionYearAndBrandName(model, year, brand)).thenReturn(Optional.ofNullable(model1));
-        when(brandService.findByName(brand)).thenReturn(Optional.of(new Brand(brand)));
+        when(brandService.findIdByName(brand)).thenReturn(Optional.of(1L));
 
         mockMvc.perform(post("/api/v1/models")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -162,7 +373,17 @@ public class ModelControllerTest {
                 .andExpect(status().isCreated())
                 .andExpect(header().string("Location", String.format("/models/%s/%s/%d", brand, modelDTO.getModelName(), year)));
 
-        Model savedModel = ModelDTOConverter.convertFromDTO(modelDTO);
-        verify(modelService).save(savedModel);
+        verify(modelService).save(argThat(saved -> saved.getName().equals(modelDTO.getModelName())
+                && saved.getProductionYear() == year
+                && saved.getBrand().getId() == 1L
+                && saved.getCategories().isEmpty()));
+    }
+
+    private static ModelView toView(Long id, Model model) {
+        return new ModelView(id, model.getName(), model.getProductionYear(), model.getBrand().getName(), Set.of());
+    }
+
+    private static String idCursor(Long id) {
+        return new KeysetCursor(new SortCriteria("id", "ASC"), id, id).encode();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,102 @@
+package ua.com.foxminded.carrestservice.repositories;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import ua.com.foxminded.carrestservice.models.Brand;
+import ua.com.foxminded.carrestservice.models.Car;
+import ua.com.foxminded.carrestservice.models.Category;
+import ua.com.foxminded.carrestservice.models.Model;
+import ua.com.foxminded.carrestservice.utils.statements.SqlStatementRecorder;
+import ua.com.foxminded.carrestservice.utils.statements.SqlStatementReport;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static ua.com.foxminded.carrestservice.utils.SqlStatementMatchers.assertNoRepeatedStatements;
+import static ua.com.foxminded.carrestservice.utils.SqlStatementMatchers.assertStatementsAtMost;
+
+public class CarRepositoryTest extends PostgresRepositoryTest {
+    private static final int REPEAT_THRESHOLD = 5;
+
+    @Autowired
+    private CarRepository carRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private final List<Long> carIds = new ArrayList<>();
+    private Model model;
+
+    @BeforeEach
+    public void setUp() {
+        Brand brand = entityManager.persist(new Brand("Brand-N1"));
+        Category category = new Category("Category-N1");
+        for (int i = 0; i < 6; i++) {
+            Model current = entityManager.persist(new Model("N-" + i, brand, 2001));
+            category.getModels().add(current);
+            carIds.add(entityManager.persist(new Car(null, "NP-" + i + "-1", current)).getId());
+            carIds.add(entityManager.persist(new Car(null, "NP-" + i + "-2", current)).getId());
+            model = current;
+        }
+        entityManager.persist(category);
+        entityManager.flush();
+        entityManager.clear();
+        entityManager.getEntityManager().getEntityManagerFactory().getCache().evictAll();
+    }
+
+    @Test
+    public void whenFindByModelShouldFetchModelAndBrandInOneStatement() {
+        SqlStatementReport report = record(() -> carRepository.findByModel(model, PageRequest.of(0, 10))
+                .forEach(car -> assertEquals("Brand-N1", car.getModel().getBrand().getName())));
+
+        assertStatementsAtMost(report, 1);
+        assertNoRepeatedStatements(report);
+    }
+
+    @Test
+    public void whenFindByNumberShouldFetchModelBrandAndCategoriesInOneStatement() {
+        SqlStatementReport report = record(() -> {
+            Car car = carRepository.findByNumber("NP-5-1").orElseThrow();
+            assertEquals("Brand-N1", car.getModel().getBrand().getName());
+            assertEquals(1, car.getModel().getCategories().size());
+            assertTrue(car.toString().contains("NP-5-1"));
+        });
+
+        assertStatementsAtMost(report, 1);
+        assertNoRepeatedStatements(report);
+    }
+
+    @Test
+    public void whenDetachedModelIsPrintedShouldNotTouchLazyBrand() {
+        Model detached = entityManager.find(Model.class, model.getId());
+        entityManager.clear();
+
+        SqlStatementReport report = record(() -> assertTrue(detached.toString().contains("N-5")));
+
+        assertStatementsAtMost(report, 0);
+    }
+
+    @Test
+    public void whenCarsAreLoadedWithoutFetchPlanShouldReportRepeatedModelStatements() {
+        SqlStatementReport report = record(() -> carRepository.findAllById(carIds)
+                .forEach(car -> car.getModel().getBrand().getName()));
+
+        assertTrue(report.statements() > REPEAT_THRESHOLD);
+        assertTrue(report.hasRepeatedStatements());
+    }
+
+    private static SqlStatementReport record(Runnable work) {
+        SqlStatementRecorder.start(CarRepositoryTest.class.getSimpleName(), Integer.MAX_VALUE, false);
+        try {
+            work.run();
+            return SqlStatementRecorder.stop(REPEAT_THRESHOLD).orElseThrow();
+        } finally {
+            SqlStatementRecorder.stop(REPEAT_THRESHOLD);
+        }
+    }
+}
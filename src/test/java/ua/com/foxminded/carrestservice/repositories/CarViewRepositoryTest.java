@@ -0,0 +1,48 @@
+package ua.com.foxminded.carrestservice.repositories;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ua.com.foxminded.carrestservice.repositories.views.CarView;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class CarViewRepositoryTest extends PostgresRepositoryTest {
+    private static final int ROWS = 1_000_000;
+
+    @Autowired
+    private CarRepository carRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @Tag("low-heap")
+    public void whenStreamingLargeCatalogShouldNotBufferRows() {
+        jdbcTemplate.update("INSERT INTO brands (name) VALUES ('Brand-S1')");
+        jdbcTemplate.update("""
+                INSERT INTO models (name, brand_ref, production_year)
+                SELECT 'S-1', brand_id, 2001 FROM brands WHERE name = 'Brand-S1'""");
+        jdbcTemplate.update("""
+                INSERT INTO category_model (category_ref, model_ref)
+                SELECT c.category_id, m.model_id FROM categories c, models m WHERE m.name = 'S-1'""");
+        jdbcTemplate.update("""
+                INSERT INTO cars (number, model_ref)
+                SELECT 'SP-' || n, model_id FROM models, generate_series(1, ?) AS n WHERE name = 'S-1'""", ROWS);
+        long categories = jdbcTemplate.queryForObject("SELECT count(*) FROM categories", Long.class);
+
+        AtomicLong streamed = new AtomicLong();
+        try (Stream<CarView> views = carRepository.streamAllViews(1000)) {
+            views.filter(view -> view.modelName().equals("S-1")).forEach(view -> {
+                assertEquals(categories, view.categories().size());
+                streamed.incrementAndGet();
+            });
+        }
+
+        assertEquals(ROWS, streamed.get());
+    }
+}
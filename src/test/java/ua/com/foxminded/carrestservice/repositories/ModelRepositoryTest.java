@@ -0,0 +1,114 @@
+package ua.com.foxminded.carrestservice.repositories;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ua.com.foxminded.carrestservice.utils.specifications.KeysetCursor;
+import ua.com.foxminded.carrestservice.utils.specifications.ModelScope;
+import ua.com.foxminded.carrestservice.utils.specifications.ModelSpecification;
+import ua.com.foxminded.carrestservice.utils.specifications.SortCriteria;
+import ua.com.foxminded.carrestservice.utils.statements.SqlStatementRecorder;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ModelRepositoryTest extends PostgresRepositoryTest {
+    private static final int PAGE = 20;
+    private static final SortCriteria BY_NAME = new SortCriteria("model", "ASC");
+
+    @Autowired
+    private ModelRepository modelRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long brandId;
+    private long categoryId;
+
+    @BeforeEach
+    public void setUp() {
+        jdbcTemplate.update("INSERT INTO brands (name) SELECT 'Brand-E' || n FROM generate_series(1, 200) AS n");
+        jdbcTemplate.update("INSERT INTO categories (name) SELECT 'Category-E' || n FROM generate_series(1, 50) AS n");
+        jdbcTemplate.update("""
+                INSERT INTO models (name, brand_ref, production_year)
+                SELECT 'E-' || n, b.brand_id, 1990 + n % 30
+                FROM brands b, generate_series(1, 100) AS n
+                WHERE b.name LIKE 'Brand-E%'""");
+        jdbcTemplate.update("""
+                INSERT INTO category_model (category_ref, model_ref)
+                SELECT c.category_id, m.model_id
+                FROM models m
+                         JOIN categories c ON c.name = 'Category-E' || (1 + m.model_id % 50)
+                WHERE m.name LIKE 'E-%'""");
+        jdbcTemplate.execute("ANALYZE brands, categories, models, category_model");
+        brandId = jdbcTemplate.queryForObject("SELECT brand_id FROM brands WHERE name = 'Brand-E7'", Long.class);
+        categoryId = jdbcTemplate.queryForObject("SELECT category_id FROM categories WHERE name = 'Category-E7'", Long.class);
+    }
+
+    @Test
+    public void whenListingModelsOfBrandShouldScanBrandNameIndexWithoutSort() {
+        KeysetCursor cursor = new KeysetCursor(BY_NAME, "E-50", 1L);
+
+        for (String plan : List.of(
+                explain(new ModelSpecification(BY_NAME, null, ModelScope.ofBrand(brandId)), brandId, 0, PAGE + 1),
+                explain(new ModelSpecification(BY_NAME, cursor, ModelScope.ofBrand(brandId)),
+                        brandId, "E-50", "E-50", 1L, 0, PAGE + 1))) {
+            assertTrue(plan.contains("Index Scan using models_brand_ref_name_id_idx on models"), plan);
+            assertFalse(plan.contains("Sort"), plan);
+        }
+    }
+
+    @Test
+    public void whenListingModelsOfCategoryShouldScanCategoryModelIndex() {
+        KeysetCursor cursor = new KeysetCursor(BY_NAME, "E-50", 1L);
+
+        for (String plan : List.of(
+                explain(new ModelSpecification(BY_NAME, null, ModelScope.ofCategory(categoryId)), categoryId, 0, PAGE + 1),
+                explain(new ModelSpecification(BY_NAME, cursor, ModelScope.ofCategory(categoryId)),
+                        categoryId, "E-50", "E-50", 1L, 0, PAGE + 1))) {
+            assertTrue(plan.contains("Index Only Scan using category_model_pk on category_model"), plan);
+            assertFalse(plan.contains("Seq Scan on models"), plan);
+        }
+    }
+
+    private String explain(ModelSpecification specification, Object... parameters) {
+        SqlStatementRecorder.start(ModelRepositoryTest.class.getSimpleName(), Integer.MAX_VALUE, false);
+        String sql;
+        try {
+            modelRepository.findAllViews(specification, PageRequest.of(0, PAGE));
+        } finally {
+            sql = SqlStatementRecorder.stop(1).orElseThrow().repeatedStatements().keySet().stream()
+                    .filter(statement -> statement.contains("order by"))
+                    .findFirst()
+                    .orElseThrow();
+        }
+
+        StringBuilder numbered = new StringBuilder();
+        int placeholders = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') {
+                numbered.append('$').append(++placeholders);
+            } else {
+                numbered.append(c);
+            }
+        }
+        assertEquals(parameters.length, placeholders, sql);
+
+        jdbcTemplate.execute("PREPARE listing AS " + numbered);
+        try {
+            String arguments = Arrays.stream(parameters)
+                    .map(parameter -> parameter instanceof String text ? "'" + text.replace("'", "''") + "'" : parameter.toString())
+                    .collect(Collectors.joining(", "));
+            return String.join("\n", jdbcTemplate.queryForList("EXPLAIN EXECUTE listing(" + arguments + ")", String.class));
+        } finally {
+            jdbcTemplate.execute("DEALLOCATE listing");
+        }
+    }
+}
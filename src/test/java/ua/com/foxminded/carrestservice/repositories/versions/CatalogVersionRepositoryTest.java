@@ -0,0 +1,94 @@
+package ua.com.foxminded.carrestservice.repositories.versions;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ua.com.foxminded.carrestservice.repositories.PostgresRepositoryTest;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static ua.com.foxminded.carrestservice.repositories.versions.CatalogTable.CARS;
+import static ua.com.foxminded.carrestservice.repositories.versions.CatalogTable.CATEGORIES;
+
+@Import(CatalogVersionRepository.class)
+public class CatalogVersionRepositoryTest extends PostgresRepositoryTest {
+    @Autowired
+    private CatalogVersionRepository versionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    public void whenTransactionChangesTableSeveralTimesShouldBumpItsVersionOnce() {
+        CatalogVersions before = versionRepository.findVersions();
+
+        jdbcTemplate.update("INSERT INTO categories (name) VALUES ('Versioned-1')");
+        jdbcTemplate.update("INSERT INTO categories (name) VALUES ('Versioned-2')");
+        CatalogVersions after = versionRepository.findVersions();
+
+        assertEquals(before.versionOf(CATEGORIES) + 1, after.versionOf(CATEGORIES));
+        assertEquals(before.versionOf(CARS), after.versionOf(CARS));
+    }
+
+    @Test
+    public void whenTransactionChangesTablesShouldReportItsOwnChange() {
+        TransactionSnapshot snapshot = versionRepository.findTransactionSnapshot();
+
+        jdbcTemplate.update("INSERT INTO categories (name) VALUES ('Changed-1')");
+        CatalogChange change = versionRepository.findCurrentChange();
+
+        assertEquals(Set.of(CATEGORIES), change.tables());
+        assertFalse(snapshot.includes(change.xactId()));
+        assertTrue(snapshot.includes(snapshot.xmin() - 1));
+    }
+
+    @Test
+    public void whenChangesAreCompactedShouldKeepVersionsInOneRowPerTable() {
+        jdbcTemplate.update("INSERT INTO categories (name) VALUES ('Compacted-1')");
+        CatalogVersions before = versionRepository.findVersions();
+
+        versionRepository.compactChanges();
+
+        assertEquals(before, versionRepository.findVersions());
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM catalog_changes WHERE table_name = 'categories'", Integer.class));
+    }
+
+    @Test
+    public void whenConcurrentTransactionsChangeSameTableShouldNotWaitForEachOther() throws SQLException {
+        long before = versionRepository.findVersions().versionOf(CATEGORIES);
+        try (Connection first = dataSource.getConnection(); Connection second = dataSource.getConnection()) {
+            first.setAutoCommit(false);
+            second.setAutoCommit(false);
+            execute(second, "SET lock_timeout = '1s'");
+
+            execute(first, "INSERT INTO categories (name) VALUES ('Concurrent-1')");
+            execute(second, "INSERT INTO categories (name) VALUES ('Concurrent-2')");
+            first.commit();
+            second.commit();
+
+            assertEquals(before + 2, versionRepository.findVersions().versionOf(CATEGORIES));
+        } finally {
+            try (Connection cleanup = dataSource.getConnection()) {
+                execute(cleanup, "DELETE FROM categories WHERE name LIKE 'Concurrent-%'");
+            }
+        }
+    }
+
+    private static void execute(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package ua.com.foxminded.carrestservice.utils;
+
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+import ua.com.foxminded.carrestservice.utils.statements.SqlStatementReport;
+
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SqlStatementMatchers {
+    public static ResultMatcher statementsAtMost(int maxStatements) {
+        return result -> assertStatementsAtMost(report(result), maxStatements);
+    }
+
+    public static ResultMatcher noRepeatedStatements() {
+        return result -> assertNoRepeatedStatements(report(result));
+    }
+
+    public static ResultMatcher repeatedStatement(String sql, int times) {
+        return result -> assertRepeatedStatement(report(result), sql, times);
+    }
+
+    public static void assertStatementsAtMost(SqlStatementReport report, int maxStatements) {
+        assertTrue(report.statements() <= maxStatements, () -> report.endpoint() + " executed "
+                + report.statements() + " SQL statements, expected at most " + maxStatements);
+    }
+
+    public static void assertNoRepeatedStatements(SqlStatementReport report) {
+        assertTrue(!report.hasRepeatedStatements(), () -> report.endpoint()
+                + " repeated SQL statements " + report.repeatedStatements());
+    }
+
+    public static void assertRepeatedStatement(SqlStatementReport report, String sql, int times) {
+        assertTrue(Integer.valueOf(times).equals(report.repeatedStatements().get(sql)), () -> report.endpoint()
+                + " repeated SQL statements " + report.repeatedStatements());
+    }
+
+    private static SqlStatementReport report(MvcResult result) {
+        return assertInstanceOf(SqlStatementReport.class, result.getRequest().getAttribute(SqlStatementReport.ATTRIBUTE),
+                "Request was not recorded by the SQL budget interceptor");
+    }
+}
@@ -0,0 +1,113 @@
+package ua.com.foxminded.carrestservice.utils.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ua.com.foxminded.carrestservice.models.Brand;
+import ua.com.foxminded.carrestservice.models.Car;
+import ua.com.foxminded.carrestservice.models.Model;
+import ua.com.foxminded.carrestservice.repositories.versions.CatalogVersions;
+import ua.com.foxminded.carrestservice.utils.exceptions.CarNotFoundException;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CarNearCacheTest {
+    private static final String NUMBER = "UN-1234";
+    private CarNearCache cache;
+    private ExecutorService executor;
+
+    @BeforeEach
+    public void setUp() {
+        cache = new CarNearCache(new ObjectMapper(), 100, Duration.ofMinutes(1), 100, Duration.ofMinutes(1));
+        executor = Executors.newSingleThreadExecutor();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void whenCarIsLoadedTwiceShouldServeSecondFromCache() {
+        AtomicInteger loads = new AtomicInteger();
+        Function<String, Car> loader = number -> {
+            loads.incrementAndGet();
+            return car(1L);
+        };
+
+        cache.find(NUMBER, CarNearCacheTest::versions, loader);
+        cache.find(NUMBER, CarNearCacheTest::versions, loader);
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void whenCarIsEvictedDuringLoadShouldNotCacheStaleCar() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch evicted = new CountDownLatch(1);
+        Future<CarNearCache.CachedCar> stale = executor.submit(() -> cache.find(NUMBER, CarNearCacheTest::versions, number -> {
+            loading.countDown();
+            await(evicted);
+            return car(1L);
+        }));
+
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+        cache.evict(NUMBER);
+        evicted.countDown();
+        assertTrue(stale.get(5, TimeUnit.SECONDS).eTag().startsWith("\"7.1-"));
+
+        CarNearCache.CachedCar fresh = cache.find(NUMBER, CarNearCacheTest::versions, number -> car(2L));
+
+        assertTrue(fresh.eTag().startsWith("\"7.2-"));
+    }
+
+    @Test
+    public void whenCarIsEvictedDuringMissingLoadShouldNotCacheMiss() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch evicted = new CountDownLatch(1);
+        Future<?> miss = executor.submit(() -> cache.find(NUMBER, CarNearCacheTest::versions, number -> {
+            loading.countDown();
+            await(evicted);
+            throw new CarNotFoundException("Car was not found.");
+        }));
+
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+        cache.evict(NUMBER);
+        evicted.countDown();
+        Exception thrown = assertThrows(Exception.class, () -> miss.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(CarNotFoundException.class, thrown.getCause());
+
+        CarNearCache.CachedCar created = cache.find(NUMBER, CarNearCacheTest::versions, number -> car(1L));
+
+        assertTrue(created.eTag().startsWith("\"7.1-"));
+    }
+
+    private static Car car(Long version) {
+        Car car = new Car(7L, NUMBER, new Model("X-2", new Brand("Brand-I"), 1991));
+        car.setVersion(version);
+        return car;
+    }
+
+    private static CatalogVersions versions() {
+        return new CatalogVersions(Map.of());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
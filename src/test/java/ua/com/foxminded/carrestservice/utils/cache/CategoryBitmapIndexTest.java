@@ -0,0 +1,137 @@
+package ua.com.foxminded.carrestservice.utils.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import ua.com.foxminded.carrestservice.repositories.CategoryMembershipRepository;
+import ua.com.foxminded.carrestservice.repositories.CategoryMembershipRepository.CategoryLink;
+import ua.com.foxminded.carrestservice.repositories.versions.CatalogChange;
+import ua.com.foxminded.carrestservice.repositories.versions.CatalogVersionRepository;
+import ua.com.foxminded.carrestservice.repositories.versions.CatalogVersions;
+import ua.com.foxminded.carrestservice.repositories.versions.TransactionSnapshot;
+import ua.com.foxminded.carrestservice.utils.cache.CategoryBitmapIndex.Match;
+import ua.com.foxminded.carrestservice.utils.cache.CategoryBitmapIndex.ModelIdPage;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+import static ua.com.foxminded.carrestservice.repositories.versions.CatalogTable.CATEGORY_MODEL;
+import static ua.com.foxminded.carrestservice.repositories.versions.CatalogTable.MODELS;
+
+public class CategoryBitmapIndexTest {
+    private static final long SUV = 1L;
+    private static final long HYBRID = 2L;
+    private static final long ELECTRIC = 3L;
+
+    private CategoryMembershipRepository membershipRepository;
+    private CatalogVersionRepository versionRepository;
+    private SimpleMeterRegistry registry;
+    private CategoryBitmapIndex index;
+
+    @BeforeEach
+    public void setUp() {
+        membershipRepository = mock(CategoryMembershipRepository.class);
+        versionRepository = mock(CatalogVersionRepository.class);
+        registry = new SimpleMeterRegistry();
+        when(membershipRepository.streamModelIds(anyInt())).thenAnswer(invocation -> Stream.of(1L, 2L, 3L, 4L, 5L, 6L));
+        when(membershipRepository.streamLinks(anyInt())).thenAnswer(invocation -> Stream.of(
+                new CategoryLink(SUV, 1L), new CategoryLink(SUV, 2L), new CategoryLink(SUV, 3L), new CategoryLink(SUV, 4L),
+                new CategoryLink(HYBRID, 2L), new CategoryLink(HYBRID, 3L), new CategoryLink(HYBRID, 5L),
+                new CategoryLink(ELECTRIC, 3L), new CategoryLink(ELECTRIC, 6L)));
+        when(versionRepository.findVersions()).thenReturn(versions(1L, 1L));
+        when(versionRepository.findTransactionSnapshot()).thenReturn(new TransactionSnapshot(10L, 10L, Set.of()));
+        when(versionRepository.findCurrentChange()).thenReturn(new CatalogChange(11L, Set.of(MODELS, CATEGORY_MODEL)));
+        index = new CategoryBitmapIndex(membershipRepository, versionRepository,
+                mock(PlatformTransactionManager.class), registry, 100, Duration.ofSeconds(30));
+        index.refresh();
+    }
+
+    @Test
+    public void whenMatchingAllAndNoneShouldIntersectAndSubtractCategories() {
+        ModelIdPage page = index.findModelIds(versions(1L, 1L), new Match(Set.of(SUV, HYBRID), Set.of(), Set.of(ELECTRIC)), null, 10);
+
+        assertEquals(List.of(2L), page.ids());
+        assertEquals(1L, page.total());
+        assertFalse(page.hasNext());
+        assertTrue(page.upToDate());
+    }
+
+    @Test
+    public void whenMatchingAnyAndNoneShouldUniteAndSubtractCategories() {
+        ModelIdPage page = index.findModelIds(versions(1L, 1L), new Match(Set.of(), Set.of(HYBRID, ELECTRIC), Set.of(SUV)), null, 10);
+
+        assertEquals(List.of(5L, 6L), page.ids());
+    }
+
+    @Test
+    public void whenMatchingOnlyNoneShouldSubtractFromAllModels() {
+        ModelIdPage page = index.findModelIds(versions(1L, 1L), new Match(Set.of(), Set.of(), Set.of(SUV)), null, 10);
+
+        assertEquals(List.of(5L, 6L), page.ids());
+    }
+
+    @Test
+    public void whenPagingAfterIdShouldReturnNextIdsAndTotal() {
+        ModelIdPage page = index.findModelIds(versions(1L, 1L), new Match(Set.of(SUV), Set.of(), Set.of()), 1L, 2);
+
+        assertEquals(List.of(2L, 3L), page.ids());
+        assertTrue(page.hasNext());
+        assertEquals(4L, page.total());
+    }
+
+    @Test
+    public void whenModelOrCategoryIsRecordedShouldApplyDeltaWithoutRebuild() {
+        index.recordModel(7L, Set.of(SUV, ELECTRIC));
+        index.recordModel(3L, Set.of(SUV));
+        index.recordCategoryDelete(HYBRID);
+
+        assertEquals(List.of(7L), index.findModelIds(versions(1L, 1L),
+                new Match(Set.of(SUV, ELECTRIC), Set.of(), Set.of()), null, 10).ids());
+        assertEquals(List.of(), index.findModelIds(versions(1L, 1L),
+                new Match(Set.of(), Set.of(HYBRID), Set.of()), null, 10).ids());
+        verify(membershipRepository, times(1)).streamLinks(anyInt());
+    }
+
+    @Test
+    public void whenModelIsRecordedShouldAdvanceVersionsAndStayUpToDate() {
+        index.recordModel(7L, Set.of(ELECTRIC));
+        when(versionRepository.findVersions()).thenReturn(versions(2L, 2L));
+        index.refresh();
+
+        ModelIdPage page = index.findModelIds(versions(2L, 2L), new Match(Set.of(ELECTRIC), Set.of(), Set.of()), null, 10);
+
+        assertEquals(List.of(3L, 6L, 7L), page.ids());
+        assertTrue(page.upToDate());
+        verify(membershipRepository, times(1)).streamLinks(anyInt());
+    }
+
+    @Test
+    public void whenCatalogVersionIsAheadShouldServeLastSnapshotUntilRefreshed() {
+        when(versionRepository.findVersions()).thenReturn(versions(1L, 2L));
+        when(membershipRepository.streamLinks(anyInt())).thenAnswer(invocation -> Stream.of(new CategoryLink(SUV, 5L)));
+
+        ModelIdPage stale = index.findModelIds(versions(1L, 2L), new Match(Set.of(SUV), Set.of(), Set.of()), null, 10);
+        index.refresh();
+        ModelIdPage fresh = index.findModelIds(versions(1L, 2L), new Match(Set.of(SUV), Set.of(), Set.of()), null, 10);
+
+        assertEquals(List.of(1L, 2L, 3L, 4L), stale.ids());
+        assertFalse(stale.upToDate());
+        assertEquals(List.of(5L), fresh.ids());
+        assertTrue(fresh.upToDate());
+        verify(membershipRepository, times(2)).streamLinks(anyInt());
+        assertEquals(2L, registry.get("category.index.rebuild").timer().count());
+        assertEquals(6.0, registry.get("category.index.models").gauge().value());
+        assertTrue(registry.get("category.index.memory").gauge().value() > 0);
+    }
+
+    private static CatalogVersions versions(long models, long links) {
+        return new CatalogVersions(Map.of(MODELS, models, CATEGORY_MODEL, links));
+    }
+}
@@ -0,0 +1,148 @@
+package ua.com.foxminded.carrestservice.utils.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import ua.com.foxminded.carrestservice.repositories.ModelNameRepository.ModelName;
+import ua.com.foxminded.carrestservice.repositories.ModelNameRepository;
+import ua.com.foxminded.carrestservice.repositories.versions.CatalogChange;
+import ua.com.foxminded.carrestservice.repositories.versions.CatalogVersionRepository;
+import ua.com.foxminded.carrestservice.repositories.versions.CatalogVersions;
+import ua.com.foxminded.carrestservice.repositories.versions.TransactionSnapshot;
+import ua.com.foxminded.carrestservice.utils.cache.ModelNameIndex.NameMatches;
+import ua.com.foxminded.carrestservice.utils.exceptions.InvalidFilterException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+import static ua.com.foxminded.carrestservice.repositories.versions.CatalogTable.BRANDS;
+import static ua.com.foxminded.carrestservice.repositories.versions.CatalogTable.MODELS;
+
+public class ModelNameIndexTest {
+    private ModelNameRepository nameRepository;
+    private CatalogVersionRepository versionRepository;
+    private SimpleMeterRegistry registry;
+    private ModelNameIndex index;
+
+    @BeforeEach
+    public void setUp() {
+        nameRepository = mock(ModelNameRepository.class);
+        versionRepository = mock(CatalogVersionRepository.class);
+        registry = new SimpleMeterRegistry();
+        when(nameRepository.streamNames(anyInt())).thenAnswer(invocation -> Stream.of(
+                new ModelName(1L, "Toyota", "Camry"), new ModelName(2L, "Toyota", "Corolla"),
+                new ModelName(3L, "Tesla", "Model 3"), new ModelName(4L, "Tesla", "Model S"),
+                new ModelName(5L, "Honda", "Civic"), new ModelName(6L, "Toyota", "Camry")));
+        when(versionRepository.findVersions()).thenReturn(versions(1L));
+        when(versionRepository.findTransactionSnapshot()).thenReturn(new TransactionSnapshot(10L, 10L, Set.of()));
+        when(versionRepository.findCurrentChange())
+                .thenReturn(new CatalogChange(11L, Set.of(MODELS)), new CatalogChange(12L, Set.of(MODELS)));
+        index = newIndex(2);
+        index.refresh();
+    }
+
+    @Test
+    public void whenSearchWithTypoShouldReturnSimilarModelsBestFirst() {
+        assertEquals(List.of(1L, 6L), index.search(versions(1L), "Camri", 10).ids());
+        assertEquals(List.of(3L, 4L), index.search(versions(1L), "Model3", 10).ids());
+        assertEquals(List.of(1L, 6L, 2L), index.search(versions(1L), "toyota camri", 10).ids());
+        assertEquals(List.of(1L), index.search(versions(1L), "Camri", 1).ids());
+        assertEquals(List.of(), index.search(versions(1L), "Zaporozhets", 10).ids());
+    }
+
+    @Test
+    public void whenModelIsRecordedShouldApplyDeltaWithoutRebuild() {
+        index.recordModel(7L, "Lada", "Niva");
+        index.recordModel(1L, "Toyota", "Supra");
+        when(versionRepository.findVersions()).thenReturn(versions(3L));
+        index.refresh();
+
+        NameMatches matches = index.search(versions(3L), "Nivva", 10);
+        assertEquals(List.of(7L), matches.ids());
+        assertTrue(matches.upToDate());
+        assertEquals(List.of(6L), index.search(versions(3L), "Camry", 10).ids());
+        assertEquals(List.of(1L), index.search(versions(3L), "Supra", 10).ids());
+        verify(nameRepository, times(1)).streamNames(anyInt());
+    }
+
+    @Test
+    public void whenOverlayExceedsThresholdShouldCompactWithSameResults() {
+        double terms = registry.get("model.search.terms").gauge().value();
+
+        index.recordModel(7L, "Lada", "Niva");
+        index.recordModel(8L, "Lada", "Vesta");
+        index.recordModel(1L, "Toyota", "Supra");
+
+        assertEquals(List.of(7L), index.search(versions(1L), "Nivva", 10).ids());
+        assertEquals(List.of(1L), index.search(versions(1L), "Supra", 10).ids());
+        assertEquals(8.0, registry.get("model.search.models").gauge().value());
+        assertEquals(terms + 6, registry.get("model.search.terms").gauge().value());
+    }
+
+    @Test
+    public void whenCatalogVersionIsAheadShouldServeLastSnapshotUntilRefreshed() {
+        when(versionRepository.findVersions()).thenReturn(versions(2L));
+        when(nameRepository.streamNames(anyInt())).thenAnswer(invocation -> Stream.of(new ModelName(5L, "Honda", "Civic Type R")));
+
+        NameMatches stale = index.search(versions(2L), "Camry", 10);
+        index.refresh();
+        NameMatches fresh = index.search(versions(2L), "Civic Type R", 10);
+
+        assertEquals(List.of(1L, 6L), stale.ids());
+        assertFalse(stale.upToDate());
+        assertEquals(List.of(5L), fresh.ids());
+        assertTrue(fresh.upToDate());
+        assertEquals(2L, registry.get("model.search.rebuild").timer().count());
+        assertEquals(1.0, registry.get("model.search.models").gauge().value());
+    }
+
+    @Test
+    public void whenQueryIsTooShortOrLimitIsOutOfRangeShouldThrow() {
+        assertThrows(InvalidFilterException.class, () -> index.search(versions(1L), " c-", 10));
+        assertThrows(InvalidFilterException.class, () -> index.search(versions(1L), "Camry", 0));
+        assertThrows(InvalidFilterException.class, () -> index.search(versions(1L), "Camry", 51));
+    }
+
+    @Test
+    public void whenSearchingLargeCatalogShouldFindMisspelledModel() {
+        Random random = new Random(42);
+        List<ModelName> names = IntStream.range(0, 100_000)
+                .mapToObj(id -> new ModelName(id, "Brand-" + id % 100, randomName(random)))
+                .toList();
+        when(nameRepository.streamNames(anyInt())).thenAnswer(invocation -> names.stream());
+        index = newIndex(256);
+        index.refresh();
+        ModelName target = names.get(31_337);
+        String typo = target.modelName().substring(0, 6) + "x" + target.modelName().substring(7);
+
+        List<Long> found = index.search(versions(1L), typo, 10).ids();
+
+        assertEquals(target.modelId(), found.get(0));
+    }
+
+    private ModelNameIndex newIndex(int compactionThreshold) {
+        return new ModelNameIndex(nameRepository, versionRepository, mock(PlatformTransactionManager.class),
+                registry, 100, compactionThreshold, 50, 0.4, Duration.ofSeconds(30));
+    }
+
+    private static String randomName(Random random) {
+        StringBuilder name = new StringBuilder();
+        for (int i = 0; i < 10; i++) {
+            name.append((char) ('a' + random.nextInt(26)));
+        }
+        return name.toString();
+    }
+
+    private static CatalogVersions versions(long models) {
+        return new CatalogVersions(Map.of(BRANDS, 1L, MODELS, models));
+    }
+}
@@ -0,0 +1,115 @@
+package ua.com.foxminded.carrestservice.utils.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import ua.com.foxminded.carrestservice.repositories.CarRepository;
+import ua.com.foxminded.carrestservice.repositories.versions.CatalogChange;
+import ua.com.foxminded.carrestservice.repositories.versions.CatalogVersionRepository;
+import ua.com.foxminded.carrestservice.repositories.versions.CatalogVersions;
+import ua.com.foxminded.carrestservice.repositories.versions.TransactionSnapshot;
+import ua.com.foxminded.carrestservice.utils.exceptions.InvalidFilterException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import static ua.com.foxminded.carrestservice.repositories.versions.CatalogTable.CARS;
+
+public class PlateSuggestIndexTest {
+    private CarRepository carRepository;
+    private CatalogVersionRepository versionRepository;
+    private SimpleMeterRegistry registry;
+    private PlateSuggestIndex index;
+
+    @BeforeEach
+    public void setUp() {
+        carRepository = mock(CarRepository.class);
+        versionRepository = mock(CatalogVersionRepository.class);
+        registry = new SimpleMeterRegistry();
+        when(carRepository.streamAllNumbers()).thenAnswer(invocation ->
+                Stream.of("UN-4422", "AA 1234 BB", "UN-1234", "un-1000", "AB-0001", "UA-7777"));
+        when(versionRepository.findVersions()).thenReturn(versions(1L));
+        when(versionRepository.findTransactionSnapshot()).thenReturn(new TransactionSnapshot(10L, 10L, Set.of()));
+        when(versionRepository.findCurrentChange()).thenReturn(new CatalogChange(11L, Set.of(CARS)));
+        index = new PlateSuggestIndex(carRepository, versionRepository, mock(PlatformTransactionManager.class),
+                registry, Duration.ofSeconds(30), 2, 10);
+        index.refresh();
+    }
+
+    @Test
+    public void whenSuggestShouldReturnNumbersMatchingNormalizedPrefixInOrder() {
+        assertEquals(List.of("un-1000", "UN-1234", "UN-4422"), index.suggest("un", 10));
+        assertEquals(List.of("UN-1234"), index.suggest("un 12", 10));
+        assertEquals(List.of("AA 1234 BB"), index.suggest("aa12", 10));
+        assertEquals(List.of("un-1000", "UN-1234"), index.suggest("UN", 2));
+        assertEquals(List.of(), index.suggest("ZZ", 10));
+    }
+
+    @Test
+    public void whenNumbersAreRecordedShouldApplyDeltaWithoutRebuild() {
+        index.recordNumbers(List.of("UN-2000"), List.of("UN-1234"));
+        when(versionRepository.findVersions()).thenReturn(versions(2L));
+        index.refresh();
+
+        assertEquals(List.of("un-1000", "UN-2000", "UN-4422"), index.suggest("un", 10));
+        verify(carRepository, times(1)).streamAllNumbers();
+    }
+
+    @Test
+    public void whenNumbersAreRecordedDuringRebuildShouldReplayOnlyUnseenOnes() {
+        when(versionRepository.findVersions()).thenReturn(versions(3L));
+        when(versionRepository.findTransactionSnapshot()).thenReturn(new TransactionSnapshot(12L, 13L, Set.of()));
+        when(versionRepository.findCurrentChange())
+                .thenReturn(new CatalogChange(11L, Set.of(CARS)), new CatalogChange(13L, Set.of(CARS)));
+        when(carRepository.streamAllNumbers()).thenAnswer(invocation -> {
+            index.recordNumbers(List.of("UN-2000"), List.of());
+            index.recordNumbers(List.of("UN-3000"), List.of());
+            return Stream.of("UN-1234", "UN-2000");
+        });
+        index.refresh();
+        when(versionRepository.findVersions()).thenReturn(versions(4L));
+        index.refresh();
+
+        assertEquals(List.of("UN-1234", "UN-2000", "UN-3000"), index.suggest("un", 10));
+        verify(carRepository, times(2)).streamAllNumbers();
+    }
+
+    @Test
+    public void whenOverlayExceedsThresholdShouldCompactWithSameResults() {
+        index.recordNumbers(List.of("UN-2000"), List.of());
+        index.recordNumbers(List.of("UN-0500"), List.of("UN-4422"));
+        index.recordNumbers(List.of("UN-4422"), List.of("UN-2000"));
+
+        assertEquals(List.of("UN-0500", "un-1000", "UN-1234", "UN-4422"), index.suggest("un", 10));
+        assertEquals(7.0, registry.get("plate.suggest.numbers").gauge().value());
+    }
+
+    @Test
+    public void whenCatalogVersionChangesShouldRebuildOnRefreshAndDropDeltas() {
+        index.recordNumbers(List.of("UN-3000"), List.of());
+        when(versionRepository.findVersions()).thenReturn(versions(3L));
+        when(carRepository.streamAllNumbers()).thenAnswer(invocation -> Stream.of("UN-1234", "UN-2000"));
+        index.refresh();
+
+        assertEquals(List.of("UN-1234", "UN-2000"), index.suggest("un", 10));
+        assertEquals(2L, registry.get("plate.suggest.rebuild").timer().count());
+        assertTrue(registry.get("plate.suggest.memory").gauge().value() > 0);
+    }
+
+    @Test
+    public void whenPrefixHasNoLettersOrDigitsOrLimitIsOutOfRangeShouldThrow() {
+        assertThrows(InvalidFilterException.class, () -> index.suggest(" - ", 10));
+        assertThrows(InvalidFilterException.class, () -> index.suggest("un", 0));
+        assertThrows(InvalidFilterException.class, () -> index.suggest("un", 11));
+    }
+
+    private static CatalogVersions versions(long cars) {
+        return new CatalogVersions(Map.of(CARS, cars));
+    }
+}
@@ -0,0 +1,94 @@
+package ua.com.foxminded.carrestservice.utils.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.mockito.Mockito.*;
+
+public class ReadWriteRoutingDataSourceTest {
+    private final AtomicBoolean replicaUsable = new AtomicBoolean(true);
+    private DataSource primary;
+    private DataSource replica;
+    private DataSource dataSource;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        primary = localDataSource();
+        replica = localDataSource();
+        dataSource = new LazyConnectionDataSourceProxy(
+                new ReadWriteRoutingDataSource(primary, replica, replicaUsable::get));
+        clearInvocations(primary, replica);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        PrimaryReads.clear();
+    }
+
+    @Test
+    public void whenTransactionIsReadOnlyShouldUseReplica() throws SQLException {
+        runQuery(true);
+
+        verify(replica).getConnection();
+        verify(primary, never()).getConnection();
+    }
+
+    @Test
+    public void whenTransactionIsReadWriteShouldUsePrimary() throws SQLException {
+        runQuery(false);
+
+        verify(primary).getConnection();
+        verify(replica, never()).getConnection();
+    }
+
+    @Test
+    public void whenReplicaLagsShouldFallBackToPrimary() throws SQLException {
+        replicaUsable.set(false);
+
+        runQuery(true);
+
+        verify(primary).getConnection();
+        verify(replica, never()).getConnection();
+    }
+
+    @Test
+    public void whenPrimaryReadsAreForcedShouldUsePrimary() throws SQLException {
+        PrimaryReads.force();
+
+        runQuery(true);
+
+        verify(primary).getConnection();
+        verify(replica, never()).getConnection();
+    }
+
+    private void runQuery(boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transaction.setReadOnly(readOnly);
+        transaction.executeWithoutResult(status -> {
+            try {
+                DataSourceUtils.getConnection(dataSource).createStatement();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    private static DataSource localDataSource() throws SQLException {
+        DataSource dataSource = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.getAutoCommit()).thenReturn(true);
+        when(connection.getTransactionIsolation()).thenReturn(Connection.TRANSACTION_READ_COMMITTED);
+        return dataSource;
+    }
+}